@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import charactersheet.sheets.Sheet;
+import charactersheet.ui.SheetConfiguration;
+import charactersheet.util.FontManager;
+import charactersheet.util.HeapUsage;
+import charactersheet.util.ImageCache;
+import charactersheet.util.RenderContext;
+import charactersheet.util.SheetRenderer;
+import javafx.application.Platform;
+import jsonant.parse.JSONParser;
+import jsonant.value.JSONObject;
+
+/**
+ * Renders character sheets for many heroes without the user interface
+ */
+public class BatchRenderer {
+
+	public static class Result {
+		public final Path hero;
+		public final File file;
+		public final long nanos;
+		public final RenderContext context;
+		public final Exception error;
+
+		private Result(final Path hero, final File file, final long nanos, final RenderContext context, final Exception error) {
+			this.hero = hero;
+			this.file = file;
+			this.nanos = nanos;
+			this.context = context;
+			this.error = error;
+		}
+	}
+
+	private static List<Sheet> createSheets(final JSONObject hero, final JSONObject settings) throws ReflectiveOperationException {
+		final List<Sheet> available = new ArrayList<>();
+		for (final Class<? extends Sheet> sheetClass : SheetConfiguration.sheetControllers) {
+			final Sheet sheet = sheetClass.getConstructor().newInstance();
+			sheet.load();
+			sheet.setHero(hero);
+			sheet.loadSettings(settings.getObjOrDefault(sheet.toString(), new JSONObject(null)));
+			available.add(sheet);
+		}
+
+		final List<Sheet> checked = new ArrayList<>();
+		for (final String key : settings.keySet()) {
+			for (final Sheet sheet : available) {
+				if (key.equals(sheet.toString())) {
+					checked.add(sheet);
+				}
+			}
+		}
+		if (checked.isEmpty()) {
+			for (final Sheet sheet : available) {
+				if (sheet.check()) {
+					checked.add(sheet);
+				}
+			}
+		}
+		return checked;
+	}
+
+	private static JSONObject loadJSON(final Path file) throws IOException {
+		try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return JSONParser.parse(reader);
+		}
+	}
+
+	public static void main(final String[] args) {
+		int argIndex = 0;
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		boolean sectionStatistics = false;
+		while (argIndex < args.length && args[argIndex].startsWith("-")) {
+			if ("-j".equals(args[argIndex]) && argIndex + 1 < args.length) {
+				parallelism = Integer.parseInt(args[argIndex + 1]);
+				argIndex += 2;
+			} else if ("-dpi".equals(args[argIndex]) && argIndex + 1 < args.length) {
+				ImageCache.setMaxDPI(Float.parseFloat(args[argIndex + 1]));
+				argIndex += 2;
+			} else if ("-s".equals(args[argIndex])) {
+				sectionStatistics = true;
+				++argIndex;
+			} else {
+				break;
+			}
+		}
+
+		if (args.length - argIndex < 3) {
+			System.err.println("Verwendung: BatchRenderer [-j Threads] [-dpi Auflösung] [-s] <Einstellungen.json> <Ausgabeverzeichnis> <Held.json>...");
+			System.err.println("  -dpi: Bilder auf diese Auflösung ihrer Druckgröße verkleinern");
+			System.err.println("  -s: Zeit und Allokation je Bogen und Abschnitt ausgeben");
+			System.exit(1);
+		}
+
+		final JSONObject settings;
+		try {
+			final JSONObject settingsFile = loadJSON(Path.of(args[argIndex]));
+			settings = settingsFile.containsKey("Heldenbogen") ? settingsFile.getObj("Heldenbogen") : settingsFile;
+		} catch (final IOException e) {
+			e.printStackTrace();
+			System.exit(1);
+			return;
+		}
+		final File outputDirectory = new File(args[argIndex + 1]);
+		outputDirectory.mkdirs();
+		final List<Path> heroes = new ArrayList<>();
+		for (int i = argIndex + 2; i < args.length; ++i) {
+			heroes.add(Path.of(args[i]));
+		}
+
+		Platform.startup(() -> {});
+
+		final List<Result> results;
+		final long total;
+		final long peakHeap;
+		try (final HeapUsage heap = new HeapUsage()) {
+			final long start = System.nanoTime();
+			results = render(heroes, settings, outputDirectory, parallelism);
+			total = System.nanoTime() - start;
+			peakHeap = heap.getPeak();
+		}
+
+		int failed = 0;
+		for (final Result result : results) {
+			if (result.error != null) {
+				++failed;
+				System.out.println(result.hero + ": Fehler (" + result.error + ")");
+			} else {
+				System.out.println(String.format(Locale.ROOT, "%s: %.1f ms, %d Bilder wiederverwendet (%d kB eingespart), %d/%d Ressourcenzugriffe und %d/%d Heldenwerte zwischengespeichert",
+						result.hero, result.nanos / 1e6, result.context.images.getReused(), result.context.images.getSavedBytes() / 1024,
+						result.context.resources.getHits(), result.context.resources.getHits() + result.context.resources.getMisses(),
+						result.context.heroValues.getHits(), result.context.heroValues.getHits() + result.context.heroValues.getMisses()));
+				final int combatHits = result.context.heroValues.getCombatHits();
+				final int combatMisses = result.context.heroValues.getCombatMisses();
+				System.out.println(String.format(Locale.ROOT, "  Kampfwerte: %d Kombinationen, %d Werte berechnet, %d von %d Abfragen zwischengespeichert (%.0f %%)",
+						result.context.heroValues.getCombatCombinations(), combatMisses, combatHits, combatHits + combatMisses,
+						100.0 * combatHits / Math.max(1, combatHits + combatMisses)));
+				System.out.println(String.format(Locale.ROOT, "  Voraussetzungstexte: %d/%d zwischengespeichert", result.context.getRequirementStringHits(),
+						result.context.getRequirementStringHits() + result.context.getRequirementStringMisses()));
+				for (final Map.Entry<String, Long> timing : result.context.timings.entrySet()) {
+					System.out.println(String.format(Locale.ROOT, "  %s: %.2f ms", timing.getKey(), timing.getValue() / 1e6));
+				}
+				if (sectionStatistics) {
+					System.out.print(result.context.getStatisticsTable());
+				}
+			}
+		}
+		System.out.println(String.format(Locale.ROOT, "%d Helden (%d Fehler) in %.2f s, %.2f Helden/s", results.size(), failed, total / 1e9,
+				results.size() / (total / 1e9)));
+		System.out.println(String.format(Locale.ROOT, "Schriften: %.1f ms geladen, %.1f ms durch Zwischenspeicher eingespart (%.1f ms pro Held)",
+				FontManager.getParseNanos() / 1e6, FontManager.getSavedNanos() / 1e6, FontManager.getSavedNanos() / 1e6 / Math.max(1, results.size())));
+		System.out.println(String.format(Locale.ROOT, "Höchste Heap-Belegung: %.1f MB (%s)", peakHeap / 1048576.0,
+				settings.getBoolOrDefault("Speicherschonend", false) ? "speicherschonend" : "im Arbeitsspeicher"));
+
+		Platform.exit();
+	}
+
+	public static List<Result> render(final List<Path> heroes, final JSONObject settings, final File outputDirectory, final int parallelism) {
+		final boolean fill = !"Nicht".equals(settings.getStringOrDefault("Ausfüllen", "Unveränderliches"));
+		final boolean fillAll = "Alles".equals(settings.getStringOrDefault("Ausfüllen", "Unveränderliches"));
+		final boolean showName = settings.getBoolOrDefault("Name", false);
+		final boolean showDate = settings.getBoolOrDefault("Datum", false);
+		final boolean lowMemory = settings.getBoolOrDefault("Speicherschonend", false);
+
+		final List<Callable<Result>> tasks = new ArrayList<>(heroes.size());
+		for (final Path heroFile : heroes) {
+			tasks.add(() -> {
+				final String fileName = heroFile.getFileName().toString().replaceFirst("\\.json$", "") + ".pdf";
+				final File file = new File(outputDirectory, fileName);
+				final long start = System.nanoTime();
+				try {
+					final JSONObject hero = loadJSON(heroFile);
+					final RenderContext context = SheetRenderer.create(file, createSheets(hero, settings), fill, fillAll, showName, showDate, lowMemory);
+					return new Result(heroFile, file, System.nanoTime() - start, context, null);
+				} catch (final Exception e) {
+					return new Result(heroFile, file, System.nanoTime() - start, null, e);
+				}
+			});
+		}
+
+		final ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			final List<Result> results = new ArrayList<>(heroes.size());
+			for (final Future<Result> future : pool.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (final InterruptedException | ExecutionException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private BatchRenderer() {}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import com.sun.management.ThreadMXBean;
+
+import charactersheet.sheets.Sheet;
+import charactersheet.ui.SheetConfiguration;
+import charactersheet.util.RenderContext;
+import charactersheet.util.SheetRenderer;
+import dsatool.resources.ResourceManager;
+import javafx.application.Platform;
+import jsonant.parse.JSONParser;
+import jsonant.value.JSONArray;
+import jsonant.value.JSONObject;
+
+/**
+ * Measures every sheet on its own with an empty sheet, a given hero and a hero with all spells and many items.
+ * Reports documents per second, allocated bytes per document and the size of the document.
+ */
+public class SheetBenchmark {
+
+	private static final int MAXIMAL_ITEMS = 300;
+
+	private static JSONObject createMaximalHero(final JSONObject hero) {
+		final JSONObject maximal = hero.clone(null);
+
+		final JSONObject spells = maximal.getObjOrDefault("Zauber", new JSONObject(maximal));
+		final JSONObject spellData = ResourceManager.getResource("data/Zauber");
+		for (final String spellName : spellData.keySet()) {
+			final JSONObject spell = spellData.getObj(spellName);
+			if (spell.containsKey("Auswahl") || spell.containsKey("Freitext") || spells.containsKey(spellName)) {
+				continue;
+			}
+			final JSONObject actualSpell = new JSONObject(spells);
+			for (final String representation : spell.getObjOrDefault("Repräsentationen", new JSONObject(null)).keySet()) {
+				final JSONObject actualRepresentation = new JSONObject(actualSpell);
+				actualRepresentation.put("ZfW", 10);
+				actualSpell.put(representation, actualRepresentation);
+			}
+			spells.put(spellName, actualSpell);
+		}
+		maximal.put("Zauber", spells);
+
+		final JSONArray items = maximal.getObjOrDefault("Besitz", new JSONObject(null)).getArrOrDefault("Ausrüstung", new JSONArray(null));
+		final int originalItems = items.size();
+		for (int i = 0; originalItems > 0 && items.size() < MAXIMAL_ITEMS; ++i) {
+			items.add(items.getObj(i % originalItems).clone(items));
+		}
+
+		return maximal;
+	}
+
+	private static JSONObject loadJSON(final Path file) throws IOException {
+		try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return JSONParser.parse(reader);
+		}
+	}
+
+	public static void main(final String[] args) {
+		int warmup = 5;
+		int iterations = 20;
+		int argIndex = 0;
+		while (argIndex < args.length - 1 && args[argIndex].startsWith("-")) {
+			switch (args[argIndex]) {
+				case "-w" -> warmup = Integer.parseInt(args[argIndex + 1]);
+				case "-i" -> iterations = Integer.parseInt(args[argIndex + 1]);
+				default -> argIndex = args.length;
+			}
+			argIndex += 2;
+		}
+		if (argIndex != args.length - 1) {
+			System.err.println("Verwendung: SheetBenchmark [-w Aufwärmrunden] [-i Messrunden] <Held.json>");
+			System.exit(1);
+		}
+
+		Platform.startup(() -> {});
+
+		final Map<String, JSONObject> fixtures = new LinkedHashMap<>();
+		try {
+			final JSONObject hero = loadJSON(Path.of(args[argIndex]));
+			fixtures.put("Leer", null);
+			fixtures.put("Durchschnitt", hero);
+			fixtures.put("Maximal", createMaximalHero(hero));
+		} catch (final IOException e) {
+			e.printStackTrace();
+			System.exit(1);
+			return;
+		}
+
+		System.out.println(String.format(Locale.ROOT, "%-20s %-14s %10s %14s %12s", "Bogen", "Held", "Dok./s", "kB alloziert", "kB Ausgabe"));
+		for (final Class<? extends Sheet> sheetClass : SheetConfiguration.sheetControllers) {
+			for (final Map.Entry<String, JSONObject> fixture : fixtures.entrySet()) {
+				try {
+					measure(sheetClass, fixture.getKey(), fixture.getValue(), warmup, iterations);
+				} catch (final Exception e) {
+					System.out.println(sheetClass.getSimpleName() + " " + fixture.getKey() + ": Fehler (" + e + ")");
+				}
+			}
+		}
+
+		Platform.exit();
+	}
+
+	private static void measure(final Class<? extends Sheet> sheetClass, final String fixture, final JSONObject hero, final int warmup,
+			final int iterations) throws ReflectiveOperationException, IOException {
+		final Sheet sheet = sheetClass.getConstructor().newInstance();
+		sheet.load();
+		sheet.setHero(hero);
+
+		for (int i = 0; i < warmup; ++i) {
+			render(sheet);
+		}
+
+		final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		final long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+		final long start = System.nanoTime();
+		int size = 0;
+		for (int i = 0; i < iterations; ++i) {
+			size = render(sheet);
+		}
+		final long nanos = System.nanoTime() - start;
+		final long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+		System.out.println(String.format(Locale.ROOT, "%-20s %-14s %10.2f %14d %12d", sheet, fixture, iterations / (nanos / 1e9),
+				allocated / iterations / 1024, size / 1024));
+	}
+
+	private static int render(final Sheet sheet) throws IOException {
+		try (final PDDocument document = new PDDocument()) {
+			if (!SheetRenderer.createSheets(document, new RenderContext(document), List.of(sheet), true, true, false, false, null)) {
+				throw new IOException("Bogen konnte nicht fehlerfrei erstellt werden");
+			}
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			document.save(out);
+			return out.size();
+		}
+	}
+
+	private SheetBenchmark() {}
+}
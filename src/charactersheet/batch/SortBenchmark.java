@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.batch;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import charactersheet.util.CollationKeys;
+import dsatool.resources.ResourceManager;
+import jsonant.value.JSONObject;
+
+/**
+ * Compares sorting the names of talents, spells, rituals and liturgies with one shared collator and with {@link CollationKeys}, on one and on several
+ * threads
+ */
+public class SortBenchmark {
+
+	private static void addNames(final List<String> names, final JSONObject data, final boolean grouped) {
+		for (final String name : data.keySet()) {
+			if (grouped) {
+				addNames(names, data.getObj(name), false);
+			} else {
+				names.add(name);
+			}
+		}
+	}
+
+	public static void main(final String[] args) throws InterruptedException, ExecutionException {
+		int iterations = 200;
+		int threads = Runtime.getRuntime().availableProcessors();
+		for (int i = 0; i < args.length - 1; i += 2) {
+			switch (args[i]) {
+				case "-i" -> iterations = Integer.parseInt(args[i + 1]);
+				case "-t" -> threads = Integer.parseInt(args[i + 1]);
+				default -> {
+					System.err.println("Verwendung: SortBenchmark [-i Messrunden] [-t Threads]");
+					System.exit(1);
+				}
+			}
+		}
+
+		final List<String> names = new ArrayList<>();
+		addNames(names, ResourceManager.getResource("data/Talente"), true);
+		addNames(names, ResourceManager.getResource("data/Zauber"), false);
+		addNames(names, ResourceManager.getResource("data/Rituale"), true);
+		addNames(names, ResourceManager.getResource("data/Liturgien"), false);
+
+		final Collator collator = Collator.getInstance(Locale.GERMANY);
+		final Comparator<String> shared = collator::compare;
+
+		if (!new ArrayList<>(sort(names, shared)).equals(new ArrayList<>(sort(names, CollationKeys.comparator)))) {
+			System.out.println("Abweichende Reihenfolge!");
+		}
+
+		System.out.println(names.size() + " Namen, " + iterations + " Messrunden");
+		for (final int numThreads : new int[] { 1, threads }) {
+			final double collatorMillis = measure(names, shared, iterations, numThreads);
+			final double keysMillis = measure(names, CollationKeys.comparator, iterations, numThreads);
+			System.out.println(String.format(Locale.ROOT, "%2d Threads: Collator %.1f ms, CollationKeys %.1f ms (%.1fx)", numThreads, collatorMillis,
+					keysMillis, collatorMillis / keysMillis));
+		}
+	}
+
+	private static double measure(final List<String> names, final Comparator<String> comparator, final int iterations, final int numThreads)
+			throws InterruptedException, ExecutionException {
+		for (int i = 0; i < iterations / 10; ++i) {
+			sort(names, comparator);
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			final long start = System.nanoTime();
+			final List<Future<?>> futures = new ArrayList<>(numThreads);
+			for (int thread = 0; thread < numThreads; ++thread) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < iterations; ++i) {
+						sort(names, comparator);
+					}
+				}));
+			}
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+			return (System.nanoTime() - start) / 1e6;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static TreeSet<String> sort(final List<String> names, final Comparator<String> comparator) {
+		final TreeSet<String> sorted = new TreeSet<>(comparator);
+		sorted.addAll(names);
+		return sorted;
+	}
+
+	private SortBenchmark() {}
+}
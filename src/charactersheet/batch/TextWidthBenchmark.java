@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.batch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import charactersheet.util.FontManager;
+import charactersheet.util.TextMeasurer;
+import dsatool.resources.ResourceManager;
+import jsonant.value.JSONObject;
+
+/**
+ * Compares measuring the names and short descriptions of talents, spells and special skills with {@link PDFont#getStringWidth(String)} and with the
+ * {@link TextMeasurer}
+ */
+public class TextWidthBenchmark {
+
+	private static void addTexts(final List<String> texts, final JSONObject data, final boolean grouped) {
+		for (final String name : data.keySet()) {
+			final JSONObject entry = data.getObj(name);
+			if (grouped) {
+				addTexts(texts, entry, false);
+			} else {
+				texts.add(name);
+				if (entry.containsKey("Beschreibung:Kurz")) {
+					texts.add(entry.getString("Beschreibung:Kurz"));
+				}
+			}
+		}
+	}
+
+	public static void main(final String[] args) {
+		int warmup = 20;
+		int iterations = 100;
+		for (int i = 0; i < args.length - 1; i += 2) {
+			switch (args[i]) {
+				case "-w" -> warmup = Integer.parseInt(args[i + 1]);
+				case "-i" -> iterations = Integer.parseInt(args[i + 1]);
+				default -> {
+					System.err.println("Verwendung: TextWidthBenchmark [-w Aufwärmrunden] [-i Messrunden]");
+					System.exit(1);
+				}
+			}
+		}
+
+		final List<String> texts = new ArrayList<>();
+		addTexts(texts, ResourceManager.getResource("data/Talente"), true);
+		addTexts(texts, ResourceManager.getResource("data/Zauber"), false);
+		addTexts(texts, ResourceManager.getResource("data/Sonderfertigkeiten"), true);
+
+		try (final PDDocument document = new PDDocument()) {
+			final PDFont font = FontManager.loadFont(document, FontManager.SERIF);
+			final TextMeasurer measurer = new TextMeasurer();
+
+			float difference = 0;
+			for (final String text : texts) {
+				difference = Math.max(difference, Math.abs(font.getStringWidth(text) - measurer.getStringWidth(font, text)));
+			}
+
+			float fontWidth = 0;
+			float measurerWidth = 0;
+			for (int i = 0; i < warmup; ++i) {
+				fontWidth += measureFont(font, texts);
+				measurerWidth += measureMeasurer(measurer, font, texts);
+			}
+
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; ++i) {
+				fontWidth += measureFont(font, texts);
+			}
+			final long fontNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; ++i) {
+				measurerWidth += measureMeasurer(measurer, font, texts);
+			}
+			final long measurerNanos = System.nanoTime() - start;
+
+			final long count = (long) texts.size() * iterations;
+			System.out.println(String.format(Locale.ROOT, "%d Texte, %d Messrunden", texts.size(), iterations));
+			System.out.println(String.format(Locale.ROOT, "PDFont.getStringWidth: %.1f ns pro Text", fontNanos / (double) count));
+			System.out.println(String.format(Locale.ROOT, "TextMeasurer:          %.1f ns pro Text (%d Zeichen nachgeschlagen)", measurerNanos / (double) count,
+					measurer.getLookups()));
+			System.out.println(String.format(Locale.ROOT, "Größte Abweichung:     %f", difference));
+			System.out.println(String.format(Locale.ROOT, "Gesamtbreiten:         %.0f / %.0f", fontWidth, measurerWidth));
+		} catch (final IOException e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+	private static float measureFont(final PDFont font, final List<String> texts) throws IOException {
+		float width = 0;
+		for (final String text : texts) {
+			width += font.getStringWidth(text);
+		}
+		return width;
+	}
+
+	private static float measureMeasurer(final TextMeasurer measurer, final PDFont font, final List<String> texts) throws IOException {
+		float width = 0;
+		for (final String text : texts) {
+			width += measurer.getStringWidth(font, text);
+		}
+		return width;
+	}
+
+	private TextWidthBenchmark() {}
+}
@@ -26,7 +26,6 @@ import java.util.Queue;
 import org.apache.pdfbox.pdmodel.PDDocument;
 
 import boxtable.cell.Cell;
-import boxtable.cell.ImageCell;
 import boxtable.cell.TableCell;
 import boxtable.cell.TextCell;
 import boxtable.common.Bordered;
@@ -36,12 +35,11 @@ import boxtable.event.EventType;
 import boxtable.table.Column;
 import boxtable.table.Row;
 import boxtable.table.Table;
-import charactersheet.util.FontManager;
+import charactersheet.util.RegisteredImageCell;
 import charactersheet.util.SheetUtil;
 import dsa41basis.util.DSAUtil;
 import dsa41basis.util.DSAUtil.Units;
 import dsa41basis.util.HeroUtil;
-import dsatool.resources.ResourceManager;
 import dsatool.settings.SettingsPage;
 import dsatool.ui.ReactiveSpinner;
 import dsatool.ui.RenameDialog;
@@ -93,7 +91,7 @@ public class AnimalSheet extends Sheet {
 	private Table rightTable;
 	private boolean isSwitched;
 	private float leftHeight;
-	private ImageCell zoneImageCell;
+	private RegisteredImageCell zoneImageCell;
 
 	public AnimalSheet() {
 		super(788);
@@ -269,8 +267,8 @@ public class AnimalSheet extends Sheet {
 
 	private void addAnimalTable(final PDDocument document, final TitledPane animalSection) throws IOException {
 		baseTable = new Table();
-		baseTable.addEventHandler(EventType.BEGIN_PAGE, header);
-		baseTable.addColumn(new Column(571, FontManager.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
+		baseTable.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		baseTable.addColumn(new Column(571, context.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
 
 		@SuppressWarnings("unchecked")
 		final Tuple<JSONObject, SettingsPage> data = (Tuple<JSONObject, SettingsPage>) animalSection.getUserData();
@@ -280,7 +278,7 @@ public class AnimalSheet extends Sheet {
 		separatePage(document, settingsPage, animalSection);
 
 		final String type = settings.getString("Typ").get();
-		SheetUtil.addTitle(baseTable, settingsPage.getString(animalSection, null).get());
+		SheetUtil.addTitle(context, baseTable, settingsPage.getString(animalSection, null).get());
 
 		isMagical = "Vertrautentier".equals(type);
 		isHorse = "Reittier".equals(type);
@@ -299,7 +297,7 @@ public class AnimalSheet extends Sheet {
 
 			final String categoryName = settings.getString(section, null).get();
 
-			try {
+			recordSection(categoryName, () -> {
 				switch (categoryName) {
 					case ATTRIBUTES -> {
 						if (isHorse) {
@@ -327,7 +325,7 @@ public class AnimalSheet extends Sheet {
 						addSmallTable(true, new TableCell(getHorseArmorTable(animal, settings, section)));
 
 						if (settings.getBool(section, ZONE_IMAGE).get()) {
-							zoneImageCell = new ImageCell(new File(Util.getAppDir() + "/resources/images/zones/animals/Pferd.jpg"));
+							zoneImageCell = new RegisteredImageCell(context, new File(Util.getAppDir() + "/resources/images/zones/animals/Pferd.jpg"));
 							zoneImageCell.setColSpan(2).setHAlign(HAlign.CENTER).setVAlign(VAlign.TOP).setPadding(1, 0, 0, 0);
 							leftTable.addRow("");
 							leftTable.addRow(zoneImageCell);
@@ -357,9 +355,7 @@ public class AnimalSheet extends Sheet {
 								settings.getInt(section, ADDITIONAL_ROWS).get()));
 					}
 				}
-			} catch (final Exception e) {
-				ErrorLogger.logError(e);
-			}
+			});
 		}
 
 		if (leftTable != null) {
@@ -368,7 +364,7 @@ public class AnimalSheet extends Sheet {
 
 		baseTable.getRows().remove(baseTable.getRows().size() - 1);
 
-		bottom.bottom = baseTable.render(document, 571, 12, bottom.bottom, 54, 10) - 5;
+		context.bottom.bottom = context.render(baseTable, 571, 12, context.bottom.bottom, 54, 10) - 5;
 	}
 
 	private void addLargeTable(final Table toAdd) {
@@ -382,13 +378,13 @@ public class AnimalSheet extends Sheet {
 	private void addSmallTable(final boolean isRight, final Cell... toAdd) {
 		if (leftTable == null) {
 			leftTable = new Table().setBorder(0, 0, 0, 0);
-			leftTable.addColumn(new Column(102, FontManager.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
-			leftTable.addColumn(new Column(158, FontManager.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
-			leftTable.addColumn(new Column(7, FontManager.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
+			leftTable.addColumn(new Column(102, context.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
+			leftTable.addColumn(new Column(158, context.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
+			leftTable.addColumn(new Column(7, context.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
 
 			rightTable = new Table().setBorder(0, 0, 0, 0);
-			rightTable.addColumn(new Column(304, FontManager.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
-			final Cell emptyDesc = new TextCell(" ", FontManager.serif, 6, 6);
+			rightTable.addColumn(new Column(304, context.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
+			final Cell emptyDesc = new TextCell(" ", context.serif, 6, 6);
 			rightTable.addRow(emptyDesc);
 
 			isSwitched = isRight;
@@ -414,7 +410,7 @@ public class AnimalSheet extends Sheet {
 
 	private void addSmallTables() {
 		final Table rowTable = new Table().setBorder(0, 0, 0, 0);
-		rowTable.addEventHandler(EventType.BEGIN_PAGE, header);
+		rowTable.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
 		rightTable.getRows().remove(rightTable.getRows().size() - 1);
 
@@ -427,13 +423,13 @@ public class AnimalSheet extends Sheet {
 		}
 
 		if (isSwitched) {
-			rowTable.addColumn(new Column(304, FontManager.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
-			rowTable.addColumn(new Column(267, FontManager.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
+			rowTable.addColumn(new Column(304, context.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
+			rowTable.addColumn(new Column(267, context.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
 
 			rowTable.addRow(new TableCell(rightTable), new TableCell(leftTable));
 		} else {
-			rowTable.addColumn(new Column(267, FontManager.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
-			rowTable.addColumn(new Column(304, FontManager.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
+			rowTable.addColumn(new Column(267, context.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
+			rowTable.addColumn(new Column(304, context.serif, 5, HAlign.LEFT).setBorder(0, 0, 0, 0));
 
 			rowTable.addRow(new TableCell(leftTable), new TableCell(rightTable));
 		}
@@ -447,9 +443,9 @@ public class AnimalSheet extends Sheet {
 	}
 
 	@Override
-	public void create(final PDDocument document) throws IOException {
+	protected void create(final PDDocument document) throws IOException {
 		if (settingsPage.getSections().size() > 0) {
-			header = SheetUtil.createHeader("Tierbrief", true, false, false, hero, fill, fillAll, showName, showDate);
+			context.header = SheetUtil.createHeader(context, "Tierbrief", true, false, false, hero, fill, fillAll, showName, showDate);
 
 			startCreate(document);
 
@@ -470,14 +466,14 @@ public class AnimalSheet extends Sheet {
 	private Table getAPRkWTable(final JSONObject animal) {
 		final Table table = new Table().setBorder(0, 0, 0, 0).setNumHeaderRows(0);
 
-		table.addColumn(new Column(18, FontManager.serif, valueSize, HAlign.RIGHT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(43, 43, FontManager.serif, 4, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 1));
-		table.addColumn(new Column(49, FontManager.serif, valueSize, HAlign.RIGHT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(43, 43, FontManager.serif, 4, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 1));
-		table.addColumn(new Column(50, FontManager.serif, valueSize, HAlign.RIGHT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(43, 43, FontManager.serif, 4, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 1));
-		table.addColumn(new Column(30, FontManager.serif, valueSize, HAlign.RIGHT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(28, FontManager.serif, valueSize, HAlign.CENTER).setBorder(1, 1, 0, 1));
+		table.addColumn(new Column(18, context.serif, valueSize, HAlign.RIGHT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(43, 43, context.serif, 4, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 1));
+		table.addColumn(new Column(49, context.serif, valueSize, HAlign.RIGHT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(43, 43, context.serif, 4, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 1));
+		table.addColumn(new Column(50, context.serif, valueSize, HAlign.RIGHT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(43, 43, context.serif, 4, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 1));
+		table.addColumn(new Column(30, context.serif, valueSize, HAlign.RIGHT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(28, context.serif, valueSize, HAlign.CENTER).setBorder(1, 1, 0, 1));
 
 		final JSONObject bio = animal != null ? animal.getObj("Biografie") : null;
 		final JSONObject baseValues = animal != null ? animal.getObj("Basiswerte") : null;
@@ -494,17 +490,17 @@ public class AnimalSheet extends Sheet {
 	private Table getAttacksTable(final JSONObject animal, final SettingsPage settings, final TitledPane section) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
 
-		table.addColumn(new Column(65, 65, FontManager.serif, 4, valueSize, HAlign.LEFT));
-		table.addColumn(new Column(35, 35, FontManager.serif, 4, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(20, 20, FontManager.serif, 4, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(20, 20, FontManager.serif, 4, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(33, 33, FontManager.serif, 4, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(24, 24, FontManager.serif, 4, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 0, FontManager.serif, 4, valueSize, HAlign.LEFT));
+		table.addColumn(new Column(65, 65, context.serif, 4, valueSize, HAlign.LEFT));
+		table.addColumn(new Column(35, 35, context.serif, 4, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(20, 20, context.serif, 4, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(20, 20, context.serif, 4, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(33, 33, context.serif, 4, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(24, 24, context.serif, 4, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 0, context.serif, 4, valueSize, HAlign.LEFT));
 
-		table.addRow(SheetUtil.createTitleCell("Angriff", 1), SheetUtil.createTitleCell("TP", 1), SheetUtil.createTitleCell("AT", 1),
-				SheetUtil.createTitleCell("PA", 1), SheetUtil.createTitleCell(isMagical ? "Kauf" : "Mod", 1), SheetUtil.createTitleCell("DK", 1),
-				SheetUtil.createTitleCell("Besonderes", 1));
+		table.addRow(SheetUtil.createTitleCell(context, "Angriff", 1), SheetUtil.createTitleCell(context, "TP", 1), SheetUtil.createTitleCell(context, "AT", 1),
+				SheetUtil.createTitleCell(context, "PA", 1), SheetUtil.createTitleCell(context, isMagical ? "Kauf" : "Mod", 1), SheetUtil.createTitleCell(context, "DK", 1),
+				SheetUtil.createTitleCell(context, "Besonderes", 1));
 
 		final JSONObject attacks = animal != null ? animal.getObj("Angriffe") : null;
 		if (attacks != null) {
@@ -552,18 +548,18 @@ public class AnimalSheet extends Sheet {
 	private Table getAttributesTable(final JSONObject animal) {
 		final Table table = new Table().setBorder(0, 0, 0, 0);
 
-		table.addColumn(new Column(62, FontManager.serif, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(20, FontManager.serif, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
-		table.addColumn(new Column(20, FontManager.serif, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(62, context.serif, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(20, context.serif, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
+		table.addColumn(new Column(20, context.serif, valueSize, HAlign.CENTER));
 
-		final Cell emptyDesc = new TextCell(" ", FontManager.serif, 6, 6);
-		final Bordered curDesc = new TextCell("Akt.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
-		final Bordered modDesc = new TextCell(isMagical ? "Max." : "Mod.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Cell emptyDesc = new TextCell(" ", context.serif, 6, 6);
+		final Bordered curDesc = new TextCell("Akt.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered modDesc = new TextCell(isMagical ? "Max." : "Mod.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
 		table.addRow(emptyDesc, curDesc, modDesc);
 
 		JSONObject actualAttributes = animal != null ? actualAttributes = animal.getObj("Eigenschaften") : null;
 
-		final JSONObject attributes = ResourceManager.getResource("data/Eigenschaften");
+		final JSONObject attributes = context.resources.getAttributes();
 		TextCell current = null;
 		for (final String attribute : attributes.keySet()) {
 			if (animal != null && fill) {
@@ -586,14 +582,14 @@ public class AnimalSheet extends Sheet {
 	private Table getBaseValuesTable(final JSONObject animal) {
 		final Table table = new Table().setBorder(0, 0, 0, 0);
 
-		table.addColumn(new Column(10, FontManager.serif, valueSize, HAlign.CENTER).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(70, FontManager.serif, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(39, FontManager.serif, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
-		table.addColumn(new Column(39, FontManager.serif, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(10, context.serif, valueSize, HAlign.CENTER).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(70, context.serif, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(39, context.serif, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
+		table.addColumn(new Column(39, context.serif, valueSize, HAlign.CENTER));
 
-		final Cell emptyDesc = new TextCell(" ", FontManager.serif, 6, 6);
-		final Bordered curDesc = new TextCell("Akt.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
-		final Bordered modDesc = new TextCell(isMagical ? "Start" : "Mod.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Cell emptyDesc = new TextCell(" ", context.serif, 6, 6);
+		final Bordered curDesc = new TextCell("Akt.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered modDesc = new TextCell(isMagical ? "Start" : "Mod.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
 		table.addRow(emptyDesc, emptyDesc, curDesc, modDesc, emptyDesc);
 
 		if (animal != null && fill) {
@@ -624,11 +620,11 @@ public class AnimalSheet extends Sheet {
 					: new TextCell(DSAUtil.threeDecimalPlaces.format(actualValue.getDoubleOrDefault("Wert", 0.0)));
 			mod = actualValue.containsKey("Boden")
 					? new TextCell(isMagical ? DSAUtil.threeDecimalPlaces.format(actualValue.getIntOrDefault("Boden:Start", 0))
-							: SheetUtil.threeDecimalPlacesSigned.format(actualValue.getIntOrDefault("Boden:Modifikator", 0))).addText("/")
+							: context.threeDecimalPlacesSigned.format(actualValue.getIntOrDefault("Boden:Modifikator", 0))).addText("/")
 							.addText(DSAUtil.threeDecimalPlaces.format(actualValue.getIntOrDefault(isMagical ? "Luft:Start" : "Luft:Modifikator", 0)))
 							.setEquallySpaced(true)
 					: new TextCell(isMagical ? DSAUtil.threeDecimalPlaces.format(actualValue.getIntOrDefault("Start", 0))
-							: SheetUtil.threeDecimalPlacesSigned.format(actualValue.getIntOrDefault("Modifikator", 0)));
+							: context.threeDecimalPlacesSigned.format(actualValue.getIntOrDefault("Modifikator", 0)));
 			table.addRow("", "Geschwindigkeit", actual, mod);
 
 			if (!isMagical) {
@@ -689,12 +685,12 @@ public class AnimalSheet extends Sheet {
 	private Table getBiographyTable(final JSONObject animal) {
 		final Table table = new Table().setBorder(0, 0, 0, 0);
 
-		table.addColumn(new Column(120, 120, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
-		table.addColumn(new Column(200, 200, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
-		table.addColumn(new Column(80, 80, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
-		table.addColumn(new Column(50, 50, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
-		table.addColumn(new Column(60, 60, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
-		table.addColumn(new Column(60, 60, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
+		table.addColumn(new Column(120, 120, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
+		table.addColumn(new Column(200, 200, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
+		table.addColumn(new Column(80, 80, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
+		table.addColumn(new Column(50, 50, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
+		table.addColumn(new Column(60, 60, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
+		table.addColumn(new Column(60, 60, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0.5f, 0, 0, 0.5f));
 
 		if (animal != null && fill) {
 			final JSONObject bio = animal.getObj("Biografie");
@@ -714,23 +710,23 @@ public class AnimalSheet extends Sheet {
 	private Table getHorseArmorTable(final JSONObject animal, final SettingsPage settings, final TitledPane section) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
 
-		table.addColumn(new Column(86, 86, FontManager.serif, 4, valueSize, HAlign.LEFT));
-		table.addColumn(new Column(20, FontManager.serif, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(40, FontManager.serif, valueSize, HAlign.LEFT));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Rüstung", 1);
-		final Cell beTitle = SheetUtil.createTitleCell("BE", 1);
-		final Cell koTitle = SheetUtil.createTitleCell("Ko", 1);
-		final Cell hTitle = SheetUtil.createTitleCell("H", 1);
-		final Cell brTitle = SheetUtil.createTitleCell("Br", 1);
-		final Cell krTitle = SheetUtil.createTitleCell("Kr", 1);
-		final Cell lTitle = SheetUtil.createTitleCell("L", 1);
-		final Cell notesTitle = SheetUtil.createTitleCell("Besonderes", 1);
+		table.addColumn(new Column(86, 86, context.serif, 4, valueSize, HAlign.LEFT));
+		table.addColumn(new Column(20, context.serif, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(40, context.serif, valueSize, HAlign.LEFT));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Rüstung", 1);
+		final Cell beTitle = SheetUtil.createTitleCell(context, "BE", 1);
+		final Cell koTitle = SheetUtil.createTitleCell(context, "Ko", 1);
+		final Cell hTitle = SheetUtil.createTitleCell(context, "H", 1);
+		final Cell brTitle = SheetUtil.createTitleCell(context, "Br", 1);
+		final Cell krTitle = SheetUtil.createTitleCell(context, "Kr", 1);
+		final Cell lTitle = SheetUtil.createTitleCell(context, "L", 1);
+		final Cell notesTitle = SheetUtil.createTitleCell(context, "Besonderes", 1);
 		table.addRow(nameTitle, beTitle, koTitle, hTitle, brTitle, krTitle, lTitle, notesTitle);
 
 		if (animal != null) {
@@ -787,16 +783,16 @@ public class AnimalSheet extends Sheet {
 	private Table getHorseSkillsTable(final JSONObject animal, final SettingsPage settings, final TitledPane section) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
 
-		table.addColumn(new Column(95, FontManager.serif, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(10, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(10, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(34, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, FontManager.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(95, context.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(10, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(10, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(34, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, context.serif, fontSize, HAlign.LEFT));
 
-		table.addRow(SheetUtil.createTitleCell("Fertigkeit", 1), SheetUtil.createTitleCell("E", 1), SheetUtil.createTitleCell("S", 1),
-				SheetUtil.createTitleCell("Reit-AT", 1).setPadding(0, 0, 0, 0), SheetUtil.createTitleCell("Beschreibung", 1));
+		table.addRow(SheetUtil.createTitleCell(context, "Fertigkeit", 1), SheetUtil.createTitleCell(context, "E", 1), SheetUtil.createTitleCell(context, "S", 1),
+				SheetUtil.createTitleCell(context, "Reit-AT", 1).setPadding(0, 0, 0, 0), SheetUtil.createTitleCell(context, "Beschreibung", 1));
 
-		final JSONObject skills = ResourceManager.getResource("data/Tierfertigkeiten").getObj("Reittiere");
+		final JSONObject skills = context.resources.get("data/Tierfertigkeiten").getObj("Reittiere");
 		final JSONObject actualSkills = animal != null && fill ? animal.getObj("Fertigkeiten") : null;
 		for (final String skillName : skills.keySet()) {
 			final JSONObject skill = skills.getObj(skillName);
@@ -826,16 +822,16 @@ public class AnimalSheet extends Sheet {
 	private Table getHorseStatsTable(final JSONObject animal) {
 		final Table table = new Table().setBorder(0, 0, 0, 0);
 
-		table.addColumn(new Column(57, FontManager.serif, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(20, FontManager.serif, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
-		table.addColumn(new Column(20, FontManager.serif, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(7, FontManager.serif, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(66, FontManager.serif, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(50, FontManager.serif, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
-		table.addColumn(new Column(40, FontManager.serif, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(57, context.serif, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(20, context.serif, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
+		table.addColumn(new Column(20, context.serif, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(7, context.serif, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(66, context.serif, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(50, context.serif, valueSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
+		table.addColumn(new Column(40, context.serif, valueSize, HAlign.CENTER));
 
-		final Bordered curDesc = new TextCell("Akt.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
-		final Bordered modDesc = new TextCell("Mod.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered curDesc = new TextCell("Akt.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered modDesc = new TextCell("Mod.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
 		table.addRow(" ", curDesc, modDesc, " ", " ", curDesc, modDesc);
 
 		if (animal != null && fill) {
@@ -935,11 +931,11 @@ public class AnimalSheet extends Sheet {
 	private Table getInventoryTable(final String inventoryName, final JSONArray inventory, final int additionalRows) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
 
-		table.addColumn(new Column(283, FontManager.serif, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(5, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(283, FontManager.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(283, context.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(5, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(283, context.serif, fontSize, HAlign.LEFT));
 
-		SheetUtil.addTitle(table, inventoryName);
+		SheetUtil.addTitle(context, table, inventoryName);
 
 		int rows = additionalRows + 1;
 		final Queue<JSONObject> equipment = new LinkedList<>();
@@ -963,15 +959,15 @@ public class AnimalSheet extends Sheet {
 		for (int i = 0; i < 2; ++i) {
 			tables[i] = new Table().setFiller(SheetUtil.stripe().invert(true)).setBorder(0, 0, 0, 0);
 
-			tables[i].addColumn(new Column(109, 104, FontManager.serif, 4, fontSize, HAlign.LEFT));
-			tables[i].addColumn(new Column(124, 114, FontManager.serif, 4, fontSize, HAlign.LEFT));
-			tables[i].addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-			tables[i].addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
+			tables[i].addColumn(new Column(109, 104, context.serif, 4, fontSize, HAlign.LEFT));
+			tables[i].addColumn(new Column(124, 114, context.serif, 4, fontSize, HAlign.LEFT));
+			tables[i].addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+			tables[i].addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
 
-			final TextCell nameTitle = new TextCell("Gegenstand", FontManager.serifBold, 8.5f, 8.5f);
-			final TextCell notesTitle = new TextCell("Anmerkungen", FontManager.serifBold, 8.5f, 8.5f);
-			final TextCell weightTitle = new TextCell("Gew.", FontManager.serifBold, 8.5f, 8.5f);
-			final TextCell valueTitle = new TextCell("Wert", FontManager.serifBold, 8.5f, 8.5f);
+			final TextCell nameTitle = new TextCell("Gegenstand", context.serifBold, 8.5f, 8.5f);
+			final TextCell notesTitle = new TextCell("Anmerkungen", context.serifBold, 8.5f, 8.5f);
+			final TextCell weightTitle = new TextCell("Gew.", context.serifBold, 8.5f, 8.5f);
+			final TextCell valueTitle = new TextCell("Wert", context.serifBold, 8.5f, 8.5f);
 
 			tables[i].addRow(nameTitle, notesTitle, weightTitle, valueTitle);
 
@@ -995,13 +991,13 @@ public class AnimalSheet extends Sheet {
 	private Table getProsConsTable(final JSONObject animal, final SettingsPage settings, final TitledPane section) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
 
-		table.addColumn(new Column(88, 88, FontManager.serif, 4, valueSize, HAlign.LEFT));
-		table.addColumn(new Column(25, 25, FontManager.serif, 4, valueSize, HAlign.CENTER));
-		table.addColumn(new Column(180, 180, FontManager.serif, 4, valueSize, HAlign.LEFT));
+		table.addColumn(new Column(88, 88, context.serif, 4, valueSize, HAlign.LEFT));
+		table.addColumn(new Column(25, 25, context.serif, 4, valueSize, HAlign.CENTER));
+		table.addColumn(new Column(180, 180, context.serif, 4, valueSize, HAlign.LEFT));
 
-		table.addRow(SheetUtil.createTitleCell("Vor-/Nachteil", 1), SheetUtil.createTitleCell("Wert", 1), SheetUtil.createTitleCell("Beschreibung", 1));
+		table.addRow(SheetUtil.createTitleCell(context, "Vor-/Nachteil", 1), SheetUtil.createTitleCell(context, "Wert", 1), SheetUtil.createTitleCell(context, "Beschreibung", 1));
 
-		final JSONObject prosCons = ResourceManager.getResource("data/Tiereigenarten")
+		final JSONObject prosCons = context.resources.get("data/Tiereigenarten")
 				.getObj("Reittier".equals(settings.getString("Typ").get()) ? "Reittiere" : "Allgemein");
 		final JSONObject actualProsCons = animal != null ? animal.getObj("Eigenarten") : null;
 		if (actualProsCons != null) {
@@ -1040,24 +1036,24 @@ public class AnimalSheet extends Sheet {
 	private Table getRitualsTable(final JSONObject animal, final SettingsPage settings, final TitledPane section) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
 
-		table.addColumn(new Column(75, 75, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(10, 10, FontManager.serif, fontSize, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(13, 13, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 70, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 30, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 30, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(35, 35, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 25, FontManager.serif, fontSize, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 40, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 0, FontManager.serif, fontSize / 2, fontSize, HAlign.LEFT));
-
-		table.addRow(SheetUtil.createTitleCell("Ritual", 1), SheetUtil.createTitleCell("E", 1), SheetUtil.createTitleCell("K", 1),
-				SheetUtil.createTitleCell("Probe", 1), SheetUtil.createTitleCell("Dauer", 1).setPadding(0, 0, 0, 0),
-				SheetUtil.createTitleCell("Kosten", 1).setPadding(0, 0, 0, 0), SheetUtil.createTitleCell("RW", 1),
-				SheetUtil.createTitleCell("ZO", 1), SheetUtil.createTitleCell("W.-Dauer", 1).setPadding(0, 0, 0, 0),
-				SheetUtil.createTitleCell("Beschreibung", 1));
-
-		final JSONObject rituals = ResourceManager.getResource("data/Tierfertigkeiten").getObj("Vertrautenmagie");
+		table.addColumn(new Column(75, 75, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(10, 10, context.serif, fontSize, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(13, 13, context.serif, fontSize / 2, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 70, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 30, context.serif, fontSize / 2, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 30, context.serif, fontSize / 2, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(35, 35, context.serif, fontSize / 2, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 25, context.serif, fontSize, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 40, context.serif, fontSize / 2, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 0, context.serif, fontSize / 2, fontSize, HAlign.LEFT));
+
+		table.addRow(SheetUtil.createTitleCell(context, "Ritual", 1), SheetUtil.createTitleCell(context, "E", 1), SheetUtil.createTitleCell(context, "K", 1),
+				SheetUtil.createTitleCell(context, "Probe", 1), SheetUtil.createTitleCell(context, "Dauer", 1).setPadding(0, 0, 0, 0),
+				SheetUtil.createTitleCell(context, "Kosten", 1).setPadding(0, 0, 0, 0), SheetUtil.createTitleCell(context, "RW", 1),
+				SheetUtil.createTitleCell(context, "ZO", 1), SheetUtil.createTitleCell(context, "W.-Dauer", 1).setPadding(0, 0, 0, 0),
+				SheetUtil.createTitleCell(context, "Beschreibung", 1));
+
+		final JSONObject rituals = context.resources.get("data/Tierfertigkeiten").getObj("Vertrautenmagie");
 		final JSONObject actualRituals = animal != null && fill ? animal.getObj("Fertigkeiten") : new JSONObject(null);
 
 		for (final String name : rituals.keySet()) {
@@ -1071,7 +1067,7 @@ public class AnimalSheet extends Sheet {
 					DSAUtil.getModificationString(ritual.getObjOrDefault("Ritualdauer", null), Units.TIME, false),
 					DSAUtil.getModificationString(ritual.getObjOrDefault("Ritualkosten", null), Units.NONE, false),
 					DSAUtil.getModificationString(ritual.getObjOrDefault("Reichweite", null), Units.RANGE, false),
-					SheetUtil.getTargetObjectsString(ritual.getArrOrDefault("Zielobjekt", null)),
+					SheetUtil.getTargetObjectsString(context, ritual.getArrOrDefault("Zielobjekt", null)),
 					DSAUtil.getModificationString(ritual.getObjOrDefault("Wirkungsdauer", null), Units.TIME, false),
 					ritual.getStringOrDefault("Beschreibung:Kurz", ""));
 		}
@@ -1136,15 +1132,15 @@ public class AnimalSheet extends Sheet {
 	private Table getSkillsTable(final JSONObject animal, final SettingsPage settings, final TitledPane section) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
 
-		table.addColumn(new Column(70, FontManager.serif, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(10, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(15, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, FontManager.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(70, context.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(10, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(15, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, context.serif, fontSize, HAlign.LEFT));
 
-		table.addRow(SheetUtil.createTitleCell("Fertigkeit", 1), SheetUtil.createTitleCell("E", 1), SheetUtil.createTitleCell("S", 1),
-				SheetUtil.createTitleCell("Beschreibung", 1));
+		table.addRow(SheetUtil.createTitleCell(context, "Fertigkeit", 1), SheetUtil.createTitleCell(context, "E", 1), SheetUtil.createTitleCell(context, "S", 1),
+				SheetUtil.createTitleCell(context, "Beschreibung", 1));
 
-		final JSONObject skills = ResourceManager.getResource("data/Tierfertigkeiten").getObj("Allgemein");
+		final JSONObject skills = context.resources.get("data/Tierfertigkeiten").getObj("Allgemein");
 		final JSONObject actualSkills = animal != null && fill ? animal.getObj("Fertigkeiten") : new JSONObject(null);
 		for (final String skillName : skills.keySet()) {
 			final JSONObject skill = skills.getObj(skillName);
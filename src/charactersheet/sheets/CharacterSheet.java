@@ -27,7 +27,6 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 
 import boxtable.cell.Cell;
-import boxtable.cell.ImageCell;
 import boxtable.cell.TextCell;
 import boxtable.common.Bordered;
 import boxtable.common.HAlign;
@@ -35,7 +34,7 @@ import boxtable.common.VAlign;
 import boxtable.event.EventType;
 import boxtable.table.Column;
 import boxtable.table.Table;
-import charactersheet.util.FontManager;
+import charactersheet.util.RegisteredImageCell;
 import charactersheet.util.SheetUtil;
 import dsa41basis.util.DSAUtil;
 import dsa41basis.util.HeroUtil;
@@ -62,8 +61,8 @@ public class CharacterSheet extends Sheet {
 	private void addAPTable(final PDDocument document) throws IOException {
 		final Table table = new Table().setBorder(0, 0, 0, 0);
 
-		table.addColumn(new Column(45, FontManager.serif, descSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(50, 50, FontManager.serif, 4, fontSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
+		table.addColumn(new Column(45, context.serif, descSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(50, 50, context.serif, 4, fontSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
 
 		JSONObject biography = hero != null ? biography = hero.getObj("Biografie") : null;
 
@@ -75,30 +74,30 @@ public class CharacterSheet extends Sheet {
 		table.addRow("Neu", new TextCell(" ").setBorder(1, 1, 1, 1));
 
 		final PDPage page = document.getPage(document.getNumberOfPages() - 1);
-		bottom.bottom = Math.min(bottom.bottom,
-				table.render(document, 95, settingsPage.getBool(sections.get("Bild"), "").get() ? 300 : 488, page.getMediaBox().getHeight() - 265
+		context.bottom.bottom = Math.min(context.bottom.bottom,
+				context.render(table, 95, settingsPage.getBool(sections.get("Bild"), "").get() ? 300 : 488, page.getMediaBox().getHeight() - 265
 						+ (settingsPage.getBool("Astralenergie").get() ? 0 : 12) + (settingsPage.getBool("Karmaenergie").get() ? 0 : 12), 72, 10) - 5);
 	}
 
 	private void addAttributesTable(final PDDocument document) throws IOException {
 		final Table table = new Table().setBorder(0, 0, 0, 0);
 
-		table.addColumn(new Column(62, FontManager.serif, descSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-
-		final Cell emptyDesc = new TextCell(" ", FontManager.serif, 6, 6);
-		final Bordered curDesc = new TextCell("Akt.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
-		final Bordered modDesc = new TextCell("Mod.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
-		final Bordered startDesc = new TextCell("Start", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
-		final Bordered maxDesc = new TextCell("Max.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
+		table.addColumn(new Column(62, context.serif, descSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+
+		final Cell emptyDesc = new TextCell(" ", context.serif, 6, 6);
+		final Bordered curDesc = new TextCell("Akt.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered modDesc = new TextCell("Mod.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered startDesc = new TextCell("Start", context.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered maxDesc = new TextCell("Max.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
 		table.addRow(emptyDesc, curDesc, modDesc, startDesc, maxDesc);
 
 		JSONObject actualAttributes = hero != null ? actualAttributes = hero.getObj("Eigenschaften") : null;
 
-		final JSONObject attributes = ResourceManager.getResource("data/Eigenschaften");
+		final JSONObject attributes = context.resources.getAttributes();
 		for (final String attribute : attributes.keySet()) {
 			if (hero != null && fill) {
 				final JSONObject actualAttribute = actualAttributes.getObj(attribute);
@@ -113,22 +112,22 @@ public class CharacterSheet extends Sheet {
 		}
 
 		final Bordered so = new TextCell(
-				hero != null && fill ? Integer.toString(HeroUtil.getCurrentValue(hero.getObj("Basiswerte").getObj("Sozialstatus"), false)) : " ").setBorder(1,
+				hero != null && fill ? Integer.toString(context.heroValues.getCurrentValue(hero.getObj("Basiswerte").getObj("Sozialstatus"), false)) : " ").setBorder(1,
 						1, 1, 1);
 		final Bordered empty = new TextCell(" ").setBorder(0, 0, 0, 0);
 		table.addRow("Sozialstatus", so, empty, empty, empty);
 
 		final PDPage page = document.getPage(document.getNumberOfPages() - 1);
-		bottom.bottom = table.render(document, 142, 12, page.getMediaBox().getHeight() - 105, 72, 10) - 12.5f;
+		context.bottom.bottom = context.render(table, 142, 12, page.getMediaBox().getHeight() - 105, 72, 10) - 12.5f;
 	}
 
 	private void addBiographyTable(final PDDocument document) throws IOException {
 		final Table table = new Table().setBorder(0, 0, 0, 0);
 
-		table.addColumn(new Column(145, 145, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
-		table.addColumn(new Column(145, 145, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
-		table.addColumn(new Column(145, 145, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
-		table.addColumn(new Column(135, 135, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
+		table.addColumn(new Column(145, 145, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
+		table.addColumn(new Column(145, 145, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
+		table.addColumn(new Column(145, 145, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
+		table.addColumn(new Column(135, 135, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
 
 		if (hero != null && fill) {
 			final JSONObject bio = hero.getObj("Biografie");
@@ -166,7 +165,7 @@ public class CharacterSheet extends Sheet {
 			table.addRow(culture, size);
 
 			final Cell profession = new TextCell(
-					"Profession: " + HeroUtil.getProfessionString(hero, bio, ResourceManager.getResource("data/Professionen"), true)).setColSpan(3);
+					"Profession: " + HeroUtil.getProfessionString(hero, bio, context.resources.get("data/Professionen"), true)).setColSpan(3);
 			final String weight = "Gewicht: " + bio.getIntOrDefault("Gewicht", 0);
 			table.addRow(profession, weight);
 		} else {
@@ -180,22 +179,22 @@ public class CharacterSheet extends Sheet {
 		}
 
 		final PDPage page = document.getPage(document.getNumberOfPages() - 1);
-		table.render(document, 571, 12, page.getMediaBox().getHeight() - 36, 72, 10);
+		context.render(table, 571, 12, page.getMediaBox().getHeight() - 36, 72, 10);
 	}
 
 	private void addConnectionsTable(final PDDocument document, final TitledPane section) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe()).setNumHeaderRows(2);
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(126, 126, FontManager.serif, 4, rowFontSize, HAlign.LEFT));
-		table.addColumn(new Column(126, 126, FontManager.serif, 4, rowFontSize, HAlign.LEFT));
-		table.addColumn(new Column(0, 319, FontManager.serif, 4, rowFontSize, HAlign.LEFT));
+		table.addColumn(new Column(126, 126, context.serif, 4, rowFontSize, HAlign.LEFT));
+		table.addColumn(new Column(126, 126, context.serif, 4, rowFontSize, HAlign.LEFT));
+		table.addColumn(new Column(0, 319, context.serif, 4, rowFontSize, HAlign.LEFT));
 
-		SheetUtil.addTitle(table, "Verbindungen");
+		SheetUtil.addTitle(context, table, "Verbindungen");
 
-		final Cell connectionTitle = new TextCell("Verbindung", FontManager.serifBold, 8.5f, 8.5f);
-		final Cell placeTitle = new TextCell("Ort", FontManager.serifBold, 8.5f, 8.5f);
-		final Cell descTitle = new TextCell("Beschreibung", FontManager.serifBold, 8.5f, 8.5f);
+		final Cell connectionTitle = new TextCell("Verbindung", context.serifBold, 8.5f, 8.5f);
+		final Cell placeTitle = new TextCell("Ort", context.serifBold, 8.5f, 8.5f);
+		final Cell descTitle = new TextCell("Beschreibung", context.serifBold, 8.5f, 8.5f);
 		table.addRow(connectionTitle, placeTitle, descTitle);
 
 		if (hero != null) {
@@ -211,25 +210,25 @@ public class CharacterSheet extends Sheet {
 			table.addRow("");
 		}
 
-		bottom.bottom = table.render(document, 571, 12, bottom.bottom, 72, 10) - 5;
+		context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, 72, 10) - 5;
 	}
 
 	private void addDerivedValuesTable(final PDDocument document) throws IOException {
 		final Table table = new Table().setBorder(0, 0, 0, 0);
 
-		table.addColumn(new Column(67, FontManager.serif, descSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(75, FontManager.serif, 8, HAlign.RIGHT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(30, FontManager.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(67, context.serif, descSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(75, context.serif, 8, HAlign.RIGHT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER).setBorder(1, 1, 1, 0));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(30, context.serif, fontSize, HAlign.CENTER));
 
-		final Cell emptyDesc = new TextCell(" ", FontManager.serif, 6, 6);
-		final Bordered curDesc = new TextCell("Akt.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
-		final Bordered modDesc = new TextCell("Mod.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
-		final Bordered resultDesc = new TextCell("Ergebnis", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Cell emptyDesc = new TextCell(" ", context.serif, 6, 6);
+		final Bordered curDesc = new TextCell("Akt.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered modDesc = new TextCell("Mod.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered resultDesc = new TextCell("Ergebnis", context.serif, 6, 6).setBorder(0, 0, 0, 0);
 		table.addRow(emptyDesc, emptyDesc, curDesc, modDesc, resultDesc);
 
-		final JSONObject derivedValues = ResourceManager.getResource("data/Basiswerte");
+		final JSONObject derivedValues = context.resources.getBasicValues();
 		for (final String derivedName : new String[] { "Attacke-Basis", "Parade-Basis", "Fernkampf-Basis", "Initiative-Basis", "Artefaktkontrolle" }) {
 			final JSONObject derivedValue = derivedValues.getObj(derivedName);
 			final StringBuilder derivation = new StringBuilder("(");
@@ -256,9 +255,9 @@ public class CharacterSheet extends Sheet {
 			}
 			if (hero != null && fill) {
 				final JSONObject actualValue = hero.getObj("Basiswerte").getObj(derivedName);
-				final String cur = Integer.toString(HeroUtil.deriveValue(derivedValue, hero, actualValue, false));
+				final String cur = Integer.toString(context.heroValues.deriveValue(derivedValue, hero, actualValue, false));
 				final String mod = Util.getSignedIntegerString(actualValue.getIntOrDefault("Modifikator", 0));
-				final String result = DSAUtil.threeDecimalPlaces.format(HeroUtil.deriveValueRaw(derivedValue, hero));
+				final String result = DSAUtil.threeDecimalPlaces.format(context.heroValues.deriveValueRaw(derivedValue, hero));
 				table.addRow(derivedName, new TextCell(derivation.toString()).setPadding(0, 0, 2, 0), cur, mod, result);
 			} else {
 				table.addRow(derivedName, new TextCell(derivation.toString()).setPadding(0, 0, 2, 0), " ");
@@ -268,7 +267,7 @@ public class CharacterSheet extends Sheet {
 		double woundThreshold = 0;
 		int woundModifier = 0;
 		if (hero != null) {
-			woundThreshold = HeroUtil.deriveValueRaw(derivedValues.getObj("Wundschwelle"), hero);
+			woundThreshold = context.heroValues.deriveValueRaw(derivedValues.getObj("Wundschwelle"), hero);
 			final JSONObject woundObj = hero.getObj("Basiswerte").getObj("Wundschwelle");
 			woundModifier = woundObj.getIntOrDefault("Modifikator", 0);
 		}
@@ -287,7 +286,7 @@ public class CharacterSheet extends Sheet {
 
 		if (hero != null && fill) {
 			final JSONObject velocityObj = hero.getObj("Basiswerte").getObj("Geschwindigkeit");
-			final int velocity = HeroUtil.deriveValue(derivedValues.getObj("Geschwindigkeit"), hero, velocityObj, false);
+			final int velocity = context.heroValues.deriveValue(derivedValues.getObj("Geschwindigkeit"), hero, velocityObj, false);
 			final int velocityModifier = velocityObj.getIntOrDefault("Modifikator", 0);
 			final Bordered cur = new TextCell(Integer.toString(velocity)).setBorder(1, 1, 1, 1);
 			final String mod = Util.getSignedIntegerString(velocityModifier);
@@ -298,29 +297,29 @@ public class CharacterSheet extends Sheet {
 		}
 
 		final PDPage page = document.getPage(document.getNumberOfPages() - 1);
-		bottom.bottom = Math.min(bottom.bottom, table.render(document, 212, 183, page.getMediaBox().getHeight() - 105, 72, 10) - 12.5f);
+		context.bottom.bottom = Math.min(context.bottom.bottom, context.render(table, 212, 183, page.getMediaBox().getHeight() - 105, 72, 10) - 12.5f);
 	}
 
 	private void addEnergiesTable(final PDDocument document) throws IOException {
 		final Table table = new Table().setBorder(0, 0, 0, 0);
 
-		table.addColumn(new Column(62, FontManager.serif, descSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(70, FontManager.serif, 8, HAlign.RIGHT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(45, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(30, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER).setBorder(0, 1, 1, 1));
-
-		final Cell emptyDesc = new TextCell(" ", FontManager.serif, 6, 6);
-		final Bordered buyDesc = new TextCell("Kauf", FontManager.serif, 6, 6).addText("/").addText("Max.").setEquallySpaced(true).setBorder(0, 0, 0, 0);
-		final Bordered permDesc = new TextCell("Perm.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
-		final Bordered modDesc = new TextCell("Mod.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
-		final Bordered resultDesc = new TextCell("Start", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
-		final Bordered curDesc = new TextCell("Akt.", FontManager.serif, 6, 6).setBorder(0, 0, 0, 0);
+		table.addColumn(new Column(62, context.serif, descSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(70, context.serif, 8, HAlign.RIGHT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(45, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(30, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER).setBorder(0, 1, 1, 1));
+
+		final Cell emptyDesc = new TextCell(" ", context.serif, 6, 6);
+		final Bordered buyDesc = new TextCell("Kauf", context.serif, 6, 6).addText("/").addText("Max.").setEquallySpaced(true).setBorder(0, 0, 0, 0);
+		final Bordered permDesc = new TextCell("Perm.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered modDesc = new TextCell("Mod.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered resultDesc = new TextCell("Start", context.serif, 6, 6).setBorder(0, 0, 0, 0);
+		final Bordered curDesc = new TextCell("Akt.", context.serif, 6, 6).setBorder(0, 0, 0, 0);
 		table.addRow(emptyDesc, emptyDesc, buyDesc, permDesc, modDesc, resultDesc, curDesc);
 
-		final JSONObject derivedValues = ResourceManager.getResource("data/Basiswerte");
+		final JSONObject derivedValues = context.resources.getBasicValues();
 		for (final String derivedName : new String[] { "Lebensenergie", "Ausdauer", "Magieresistenz", "Astralenergie", "Karmaenergie" }) {
 			final JSONObject derivedValue = derivedValues.getObjOrDefault(derivedName, new JSONObject(null));
 			if (!settingsPage.getBool("Astralenergie").get() && "Astralenergie".equals(derivedName)
@@ -355,13 +354,13 @@ public class CharacterSheet extends Sheet {
 				if (actualValue != null) {
 					if (derivedValue.containsKey("Zukauf:Maximum")) {
 						final String buy = actualValue.getIntOrDefault("Kauf", 0).toString();
-						final String max = Integer.toString(HeroUtil.deriveValue(derivedValue.getObj("Zukauf:Maximum"), hero, null, false));
+						final String max = Integer.toString(context.heroValues.deriveValue(derivedValue.getObj("Zukauf:Maximum"), hero, null, false));
 						buyable = new TextCell(buy).addText("/").addText(max).setEquallySpaced(true);
 					}
 					final String perm = actualValue.getIntOrDefault("Permanent", 0).toString();
 					final String mod = Util.getSignedIntegerString(actualValue.getIntOrDefault("Modifikator", 0));
-					final String result = DSAUtil.threeDecimalPlaces.format(HeroUtil.deriveValueRaw(derivedValue, hero));
-					final TextCell cur = new TextCell(Integer.toString(HeroUtil.deriveValue(derivedValue, hero, actualValue, false)));
+					final String result = DSAUtil.threeDecimalPlaces.format(context.heroValues.deriveValueRaw(derivedValue, hero));
+					final TextCell cur = new TextCell(Integer.toString(context.heroValues.deriveValue(derivedValue, hero, actualValue, false)));
 					if ("Lebensenergie".equals(derivedName)) {
 						cur.setBorder(1, 1, 1, 1);
 					}
@@ -374,12 +373,12 @@ public class CharacterSheet extends Sheet {
 			}
 		}
 
-		bottom.bottom = table.render(document, 277, 12, bottom.bottom, 72, 10) - 5;
+		context.bottom.bottom = context.render(table, 277, 12, context.bottom.bottom, 72, 10) - 5;
 	}
 
 	private void addImageTable(final PDDocument document, final TitledPane section) throws IOException {
 		final Table table = new Table();
-		table.addColumn(new Column(178, FontManager.serif, 0, HAlign.RIGHT).setVAlign(VAlign.TOP));
+		table.addColumn(new Column(178, context.serif, 0, HAlign.RIGHT).setVAlign(VAlign.TOP));
 
 		final float height = 215.75f - (settingsPage.getBool("Astralenergie").get() ? 0 : 12) - (settingsPage.getBool("Karmaenergie").get() ? 0 : 12);
 		final float width = 178;
@@ -388,7 +387,7 @@ public class CharacterSheet extends Sheet {
 
 		if (file != null) {
 			if (file.exists()) {
-				table.addRow(new ImageCell(file).setMinHeight(height).setBorder(0, 0, 0, 0));
+				table.addRow(new RegisteredImageCell(context, file).setMinHeight(height).setBorder(0, 0, 0, 0));
 			} else {
 				ErrorLogger.log("Bilddatei nicht gefunden:\n" + file.getAbsolutePath());
 				table.addRow(new Cell().setMinHeight(height));
@@ -398,7 +397,7 @@ public class CharacterSheet extends Sheet {
 		}
 
 		final PDPage page = document.getPage(document.getNumberOfPages() - 1);
-		table.render(document, width, 583 - width, page.getMediaBox().getHeight() - 112, 10, 10);
+		context.render(table, width, 583 - width, page.getMediaBox().getHeight() - 112, 10, 10);
 	}
 
 	private void addMoneyTable(final PDDocument document) throws IOException {
@@ -407,13 +406,13 @@ public class CharacterSheet extends Sheet {
 		final boolean needsSmallTable = settingsPage.getBool("Bankguthaben").get() && settingsPage.getBool(sections.get("Bild"), "").get()
 				&& !settingsPage.getBool("Astralenergie").get() && !settingsPage.getBool("Karmaenergie").get();
 
-		table.addColumn(new Column(needsSmallTable ? 21 : 62, FontManager.serif, descSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
-		table.addColumn(new Column(40, FontManager.serif, fontSize, HAlign.RIGHT).setBorder(1, 1, 0, 1));
-		table.addColumn(new Column(40, FontManager.serif, fontSize, HAlign.RIGHT).setBorder(1, 1, 0, 1));
-		table.addColumn(new Column(40, FontManager.serif, fontSize, HAlign.RIGHT).setBorder(1, 1, 0, 1));
-		table.addColumn(new Column(40, FontManager.serif, fontSize, HAlign.RIGHT).setBorder(1, 1, 0, 1));
-		table.addColumn(new Column(needsSmallTable ? 26 : 91, FontManager.serif, descSize, HAlign.RIGHT).setBorder(0, 1, 0, 0));
-		table.addColumn(new Column(70, FontManager.serif, fontSize, HAlign.RIGHT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(needsSmallTable ? 21 : 62, context.serif, descSize, HAlign.LEFT).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(40, context.serif, fontSize, HAlign.RIGHT).setBorder(1, 1, 0, 1));
+		table.addColumn(new Column(40, context.serif, fontSize, HAlign.RIGHT).setBorder(1, 1, 0, 1));
+		table.addColumn(new Column(40, context.serif, fontSize, HAlign.RIGHT).setBorder(1, 1, 0, 1));
+		table.addColumn(new Column(40, context.serif, fontSize, HAlign.RIGHT).setBorder(1, 1, 0, 1));
+		table.addColumn(new Column(needsSmallTable ? 26 : 91, context.serif, descSize, HAlign.RIGHT).setBorder(0, 1, 0, 0));
+		table.addColumn(new Column(70, context.serif, fontSize, HAlign.RIGHT).setBorder(0, 0, 0, 0));
 
 		table.addCells("Geld");
 
@@ -429,28 +428,28 @@ public class CharacterSheet extends Sheet {
 			table.addCells(" ", " ");
 		}
 
-		bottom.bottom = table.render(document, needsSmallTable ? 277 : 383, 12, bottom.bottom, 72, 10) - 8;
+		context.bottom.bottom = context.render(table, needsSmallTable ? 277 : 383, 12, context.bottom.bottom, 72, 10) - 8;
 	}
 
 	private void addProOrConTable(final PDDocument document, final String title, final TitledPane section) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe()).setNumHeaderRows(2);
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(175, 175, FontManager.serif, 4, rowFontSize, HAlign.LEFT));
-		table.addColumn(new Column(30, FontManager.serif, rowFontSize, HAlign.CENTER));
-		table.addColumn(new Column(30, FontManager.serif, rowFontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 336, FontManager.serif, 4, rowFontSize, HAlign.LEFT));
+		table.addColumn(new Column(175, 175, context.serif, 4, rowFontSize, HAlign.LEFT));
+		table.addColumn(new Column(30, context.serif, rowFontSize, HAlign.CENTER));
+		table.addColumn(new Column(30, context.serif, rowFontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 336, context.serif, 4, rowFontSize, HAlign.LEFT));
 
-		SheetUtil.addTitle(table, title);
+		SheetUtil.addTitle(context, table, title);
 
-		final Cell titleCell = new TextCell(title.substring(0, title.length() - 1), FontManager.serifBold, 8.5f, 8.5f);
-		final Cell valueTitle = new TextCell("Wert", FontManager.serifBold, 8.5f, 8.5f);
-		final Cell costTitle = new TextCell("GP", FontManager.serifBold, 8.5f, 8.5f);
-		final Cell descTitle = new TextCell("Beschreibung", FontManager.serifBold, 8.5f, 8.5f);
+		final Cell titleCell = new TextCell(title.substring(0, title.length() - 1), context.serifBold, 8.5f, 8.5f);
+		final Cell valueTitle = new TextCell("Wert", context.serifBold, 8.5f, 8.5f);
+		final Cell costTitle = new TextCell("GP", context.serifBold, 8.5f, 8.5f);
+		final Cell descTitle = new TextCell("Beschreibung", context.serifBold, 8.5f, 8.5f);
 		table.addRow(titleCell, valueTitle, costTitle, descTitle);
 
 		if (hero != null) {
-			final JSONObject prosOrCons = ResourceManager.getResource("data/" + title);
+			final JSONObject prosOrCons = context.resources.get("data/" + title);
 			final JSONObject actual = hero.getObj(title);
 
 			final Map<String, JSONObject> actualProsOrCons = new TreeMap<>(SheetUtil.comparator);
@@ -510,50 +509,21 @@ public class CharacterSheet extends Sheet {
 			table.addRow("");
 		}
 
-		bottom.bottom = table.render(document, 571, 12, bottom.bottom, 72, 10) - 5;
+		context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, 72, 10) - 5;
 	}
 
 	@Override
-	public void create(final PDDocument document) throws IOException {
-		header = SheetUtil.createHeader("Heldenbrief", false, false, false, hero, fill, fillAll, showName, showDate);
+	protected void create(final PDDocument document) throws IOException {
+		context.header = SheetUtil.createHeader(context, "Heldenbrief", false, false, false, hero, fill, fillAll, showName, showDate);
 
 		startCreate(document);
 
-		try {
-			addBiographyTable(document);
-		} catch (final Exception e) {
-			ErrorLogger.logError(e);
-		}
-
-		try {
-			addAttributesTable(document);
-		} catch (final Exception e) {
-			ErrorLogger.logError(e);
-		}
-
-		try {
-			addDerivedValuesTable(document);
-		} catch (final Exception e) {
-			ErrorLogger.logError(e);
-		}
-
-		try {
-			addMoneyTable(document);
-		} catch (final Exception e) {
-			ErrorLogger.logError(e);
-		}
-
-		try {
-			addEnergiesTable(document);
-		} catch (final Exception e) {
-			ErrorLogger.logError(e);
-		}
-
-		try {
-			addAPTable(document);
-		} catch (final Exception e) {
-			ErrorLogger.logError(e);
-		}
+		recordSection("Biografie", () -> addBiographyTable(document));
+		recordSection("Eigenschaften", () -> addAttributesTable(document));
+		recordSection("Basiswerte", () -> addDerivedValuesTable(document));
+		recordSection("Geld", () -> addMoneyTable(document));
+		recordSection("Energien", () -> addEnergiesTable(document));
+		recordSection("Abenteuerpunkte", () -> addAPTable(document));
 
 		for (final TitledPane section : settingsPage.getSections()) {
 			if (!settingsPage.getBool(section, "").get()) {
@@ -562,7 +532,7 @@ public class CharacterSheet extends Sheet {
 
 			final String name = settingsPage.getString(section, null).get();
 
-			try {
+			recordSection(name, () -> {
 				switch (name) {
 					case "Bild" -> addImageTable(document, section);
 					case "Vorteile", "Nachteile" -> {
@@ -574,9 +544,7 @@ public class CharacterSheet extends Sheet {
 						addConnectionsTable(document, section);
 					}
 				}
-			} catch (final Exception e) {
-				ErrorLogger.logError(e);
-			}
+			});
 		}
 
 		endCreate(document);
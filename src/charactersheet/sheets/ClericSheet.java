@@ -18,7 +18,9 @@ package charactersheet.sheets;
 import java.awt.Color;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,7 +39,7 @@ import boxtable.common.VAlign;
 import boxtable.event.EventType;
 import boxtable.table.Column;
 import boxtable.table.Table;
-import charactersheet.util.FontManager;
+import charactersheet.util.ResourceSnapshot;
 import charactersheet.util.SheetUtil;
 import dsa41basis.hero.ProOrCon;
 import dsa41basis.util.DSAUtil;
@@ -57,17 +59,62 @@ public class ClericSheet extends Sheet {
 
 	private static final String OWN_LITURGIES_ONLY = "Nur erlernte/verbilligte Liturgien";
 
+	private static int catalogGeneration = -1;
+	private static final Map<String, List<Map<String, String>>> catalog = new HashMap<>();
+
+	private float bandLeft;
+	private float bandTop;
+	private float bandBottom;
+
+	/**
+	 * The liturgies of a deity by grade, each grade ordered by name, built once per deity until the data resources are changed
+	 */
+	private static synchronized List<Map<String, String>> getLiturgyCatalog(final JSONObject liturgies, final JSONObject liturgyLevels, final String deity,
+			final boolean primaryLiturgies) {
+		final int generation = ResourceSnapshot.getGeneration();
+		if (generation != catalogGeneration) {
+			catalog.clear();
+			catalogGeneration = generation;
+		}
+
+		return catalog.computeIfAbsent(deity + ';' + primaryLiturgies, _ -> {
+			final int numLevels = liturgyLevels.size();
+
+			final List<Map<String, String>> liturgiesByLevel = new ArrayList<>(numLevels);
+			for (int i = 0; i < numLevels; ++i) {
+				liturgiesByLevel.add(new TreeMap<>(SheetUtil.comparator));
+			}
+
+			DSAUtil.foreach(liturgy -> liturgy.getObj("Gottheiten").containsKey(deity), (liturgyName, liturgy) -> {
+				final int grade = Math.max(liturgy.getObj("Gottheiten").getObj(deity).getIntOrDefault("Grad", liturgy.getIntOrDefault("Grad", 1)),
+						primaryLiturgies ? 0 : 1);
+				final String name = liturgy.getObj("Gottheiten").getObj(deity).getStringOrDefault("Name", liturgyName);
+				if (grade >= numLevels || grade < 0) {
+					liturgiesByLevel.get(numLevels - 1).put(name, liturgyName);
+				} else {
+					liturgiesByLevel.get(grade).put(name, liturgyName);
+				}
+			}, liturgies);
+
+			// Sorted once, so that printing the catalog doesn't need the collator any more
+			for (int i = 0; i < numLevels; ++i) {
+				liturgiesByLevel.set(i, Collections.unmodifiableMap(new LinkedHashMap<>(liturgiesByLevel.get(i))));
+			}
+			return Collections.unmodifiableList(liturgiesByLevel);
+		});
+	}
+
 	public ClericSheet() {
 		super(771);
 	}
 
 	private float addCategoriesTable(final PDDocument document, final float left) throws IOException {
 		final Table table = new Table();
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
 		final List<Table> categoryTables = new ArrayList<>();
 
-		final JSONObject categories = ResourceManager.getResource("data/Liturgiekategorien");
+		final JSONObject categories = context.resources.get("data/Liturgiekategorien");
 
 		final float width = 80;
 		int maxRows = 0;
@@ -75,7 +122,7 @@ public class ClericSheet extends Sheet {
 		for (final String categoryName : categories.keySet()) {
 			final Table categoryTable = new Table().setBorder(0, 0, 0, 0);
 			categoryTables.add(categoryTable);
-			categoryTable.addColumn(new Column(0, width, FontManager.serif, 7, 7, HAlign.LEFT));
+			categoryTable.addColumn(new Column(0, width, context.serif, 7, 7, HAlign.LEFT));
 			boolean first = true;
 			boolean hasText = false;
 			final JSONObject category = categories.getObj(categoryName);
@@ -85,7 +132,7 @@ public class ClericSheet extends Sheet {
 					first = false;
 					if (entry.size() != 0) {
 						hasText = true;
-						categoryTable.addColumn(new Column(0, width, FontManager.serif, 4, 7, HAlign.CENTER));
+						categoryTable.addColumn(new Column(0, width, context.serif, 4, 7, HAlign.CENTER));
 					}
 				}
 				categoryTable.addCells(entryName + ' ');
@@ -93,7 +140,7 @@ public class ClericSheet extends Sheet {
 					categoryTable.addCells(entry.getStringOrDefault("Text", ""));
 				}
 			}
-			categoryTable.addRowAtIndex(0, new TextCell(categoryName, FontManager.serifBold, 5, 7).setColSpan(categoryTable.getNumColumns()));
+			categoryTable.addRowAtIndex(0, new TextCell(categoryName, context.serifBold, 5, 7).setColSpan(categoryTable.getNumColumns()));
 			if (categoryTable.getNumRows() > maxRows) {
 				maxRows = categoryTable.getNumRows();
 			}
@@ -115,11 +162,11 @@ public class ClericSheet extends Sheet {
 		}
 
 		for (int i = 0; i < numCols; ++i) {
-			table.addColumn(new Column(width, FontManager.serif, 7, HAlign.LEFT));
+			table.addColumn(new Column(width, context.serif, 7, HAlign.LEFT));
 		}
-		table.addColumn(new Column(0, FontManager.serif, 0, HAlign.CENTER).setBorder(0, 0, 0, 0));
+		table.addColumn(new Column(0, context.serif, 0, HAlign.CENTER).setBorder(0, 0, 0, 0));
 
-		SheetUtil.addTitle(table, "Kategorien");
+		SheetUtil.addTitle(context, table, "Kategorien");
 
 		final Bordered emptyCell = new Cell().setMinHeight(categoryTables.get(0).getRows().get(0).getCell(0).getHeight(width)).setBorder(0, 0, 0, 0);
 		for (int i = 0; i < maxRows; ++i) {
@@ -133,33 +180,33 @@ public class ClericSheet extends Sheet {
 			}
 		}
 
-		bottom.bottom = table.render(document, width * numCols, left, bottom.bottom, 72, 10) - 5;
+		context.bottom.bottom = context.render(table, width * numCols, left, context.bottom.bottom, 72, 10) - 5;
 
 		return left + 5 + width * numCols;
 	}
 
 	private void addMiraclesTable(final PDDocument document, final String deity) throws IOException {
 		final Table table = new Table().setNumHeaderRows(2);
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(50, FontManager.serif, 7, HAlign.LEFT));
-		table.addColumn(new Column(235, FontManager.serif, 7, HAlign.LEFT).setVAlign(VAlign.TOP));
-		table.addColumn(new Column(50, FontManager.serif, 7, HAlign.LEFT));
-		table.addColumn(new Column(235, FontManager.serif, 7, HAlign.LEFT).setVAlign(VAlign.TOP));
+		table.addColumn(new Column(50, context.serif, 7, HAlign.LEFT));
+		table.addColumn(new Column(235, context.serif, 7, HAlign.LEFT).setVAlign(VAlign.TOP));
+		table.addColumn(new Column(50, context.serif, 7, HAlign.LEFT));
+		table.addColumn(new Column(235, context.serif, 7, HAlign.LEFT).setVAlign(VAlign.TOP));
 
-		final TextCell titleCell = new TextCell("Mirakel", FontManager.serifBold, 9, 9);
+		final TextCell titleCell = new TextCell("Mirakel", context.serifBold, 9, 9);
 		titleCell.addText(
-				new Text("(5 KaP, Probe +6, Eigenschaften +LkP*/2+2, Talente +LkP*/2+5)").setFont(FontManager.serif).setFontSize(7).setVerticalOffset(0.5f));
+				new Text("(5 KaP, Probe +6, Eigenschaften +LkP*/2+2, Talente +LkP*/2+5)").setFont(context.serif).setFontSize(7).setVerticalOffset(0.5f));
 		titleCell.setBackground(new Color(0.9f, 0.9f, 0.9f)).setColSpan(4);
 		table.addRow(titleCell);
 
-		table.addRow(new TextCell("Mirakel+ (±0)", FontManager.serifBold, 7, 7).setColSpan(2),
-				new TextCell("Mirakel- (+18)", FontManager.serifBold, 7, 7).setColSpan(2));
+		table.addRow(new TextCell("Mirakel+ (±0)", context.serifBold, 7, 7).setColSpan(2),
+				new TextCell("Mirakel- (+18)", context.serifBold, 7, 7).setColSpan(2));
 
 		JSONObject miraclePlus = null;
 		JSONObject miracleMinus = null;
 		if (!"".equals(deity)) {
-			final JSONObject actualDeity = ResourceManager.getResource("data/Talente").getObj("Liturgiekenntnis").getObj(deity);
+			final JSONObject actualDeity = context.resources.getTalents().getObj("Liturgiekenntnis").getObj(deity);
 			miraclePlus = actualDeity.getObj("Mirakel+");
 			miracleMinus = actualDeity.getObj("Mirakel-");
 		}
@@ -185,7 +232,7 @@ public class ClericSheet extends Sheet {
 			}
 		}
 
-		final Cell attributes = new TextCell("Eigenschaften:", FontManager.serifBold, 7, 7).setPadding(0, 1, 0, 0);
+		final Cell attributes = new TextCell("Eigenschaften:", context.serifBold, 7, 7).setPadding(0, 1, 0, 0);
 		table.addRow(attributes, new TextCell(miraclePAttributes).setPadding(2, 1, 1, 0), attributes, new TextCell(miracleMAttributes).setPadding(2, 1, 1, 0));
 
 		String miraclePTalents = " ";
@@ -209,24 +256,24 @@ public class ClericSheet extends Sheet {
 			}
 		}
 
-		final Cell talents = new TextCell("Talente:", FontManager.serifBold, 7, 7);
+		final Cell talents = new TextCell("Talente:", context.serifBold, 7, 7);
 		table.addRow(talents, new TextCell(miraclePTalents).setPadding(2, 1, 1, 0), talents, new TextCell(miracleMTalents).setPadding(2, 1, 1, 0));
 
-		bottom.bottom = table.render(document, 571, 12, bottom.bottom, 72, 10) - 5;
+		context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, 72, 10) - 5;
 	}
 
 	private float addModificationTable(final PDDocument document, final float left) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(105, 105, FontManager.serif, 4, 7, HAlign.LEFT));
-		table.addColumn(new Column(30, 30, FontManager.serif, 4, 7, HAlign.CENTER));
-		table.addColumn(new Column(110, 110, FontManager.serif, 4, 7, HAlign.LEFT));
-		table.addColumn(new Column(45, 45, FontManager.serif, 4, 7, HAlign.CENTER));
+		table.addColumn(new Column(105, 105, context.serif, 4, 7, HAlign.LEFT));
+		table.addColumn(new Column(30, 30, context.serif, 4, 7, HAlign.CENTER));
+		table.addColumn(new Column(110, 110, context.serif, 4, 7, HAlign.LEFT));
+		table.addColumn(new Column(45, 45, context.serif, 4, 7, HAlign.CENTER));
 
-		SheetUtil.addTitle(table, "Modifikationen");
+		SheetUtil.addTitle(context, table, "Modifikationen");
 
-		final JSONObject modifications = ResourceManager.getResource("data/Mirakelmodifikationen");
+		final JSONObject modifications = context.resources.get("data/Mirakelmodifikationen");
 		final List<Tuple<String, String>> rows = new ArrayList<>();
 
 		for (final String modification : modifications.keySet()) {
@@ -244,26 +291,26 @@ public class ClericSheet extends Sheet {
 			table.addCells(new TextCell(rightMod._1).setPadding(0, 2, 1, 0), new TextCell(rightMod._2).setPadding(0, 1, 1, 0));
 		}
 
-		bottom.bottom = table.render(document, 290, left, bottom.bottom, 72, 10) - 5;
+		context.bottom.bottom = context.render(table, 290, left, context.bottom.bottom, 72, 10) - 5;
 
 		return left + 295;
 	}
 
 	private void addStatusTable(final PDDocument document) throws IOException {
 		final Table table = new Table().setNumHeaderRows(2);
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(190, FontManager.serif, 10, HAlign.LEFT));
-		table.addColumn(new Column(190, FontManager.serif, 10, HAlign.LEFT));
-		table.addColumn(new Column(0, FontManager.serif, 10, HAlign.LEFT));
+		table.addColumn(new Column(190, context.serif, 10, HAlign.LEFT));
+		table.addColumn(new Column(190, context.serif, 10, HAlign.LEFT));
+		table.addColumn(new Column(0, context.serif, 10, HAlign.LEFT));
 
-		table.addRow(SheetUtil.createTitleCell("Weihe", 3));
+		table.addRow(SheetUtil.createTitleCell(context, "Weihe", 3));
 
-		table.addRow(new TextCell("Kirche/Orden", FontManager.serifBold, 7, 7), new TextCell("Rang", FontManager.serifBold, 7, 7),
-				new TextCell("Heimattempel", FontManager.serifBold, 7, 7));
+		table.addRow(new TextCell("Kirche/Orden", context.serifBold, 7, 7), new TextCell("Rang", context.serifBold, 7, 7),
+				new TextCell("Heimattempel", context.serifBold, 7, 7));
 		table.addRow("");
 
-		bottom.bottom = table.render(document, 571, 12, bottom.bottom, 72, 10) - 5;
+		context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, 72, 10) - 5;
 	}
 
 	@Override
@@ -272,34 +319,34 @@ public class ClericSheet extends Sheet {
 	}
 
 	@Override
-	public void create(final PDDocument document) throws IOException {
+	protected void create(final PDDocument document) throws IOException {
 		final String deity = settingsPage.getString("Gottheit").get();
 
-		header = SheetUtil.createHeader("Geweihtenbrief", true, false, false, hero, fill, fillAll, showName, showDate).andThen(event -> {
+		context.header = SheetUtil.createHeader(context, "Geweihtenbrief", true, false, false, hero, fill, fillAll, showName, showDate).andThen(event -> {
 			final Table table = new Table().setBorder(0, 0, 0, 0);
-			table.addColumn(new Column(29, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
-			table.addColumn(new Column(29, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
-			table.addColumn(new Column(29, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
-			table.addColumn(new Column(29, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
-			table.addColumn(new Column(29, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
-			table.addColumn(new Column(29, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
-			table.addColumn(new Column(368, FontManager.serif, 10.5f, HAlign.RIGHT).setBorder(0, 0, 0, 0));
-			table.addColumn(new Column(29, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
+			table.addColumn(new Column(29, context.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
+			table.addColumn(new Column(29, context.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
+			table.addColumn(new Column(29, context.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
+			table.addColumn(new Column(29, context.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
+			table.addColumn(new Column(29, context.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
+			table.addColumn(new Column(29, context.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
+			table.addColumn(new Column(368, context.serif, 10.5f, HAlign.RIGHT).setBorder(0, 0, 0, 0));
+			table.addColumn(new Column(29, context.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
 			final JSONObject actualAttributes = hero != null ? hero.getObj("Eigenschaften") : null;
 
-			final JSONObject liturgyKnowledgeGroup = ResourceManager.getResource("data/Talentgruppen").getObj("Liturgiekenntnis");
-			final JSONObject liturgyKnowledge = ResourceManager.getResource("data/Talente").getObj("Liturgiekenntnis").getObj(deity);
+			final JSONObject liturgyKnowledgeGroup = context.resources.getTalentGroups().getObj("Liturgiekenntnis");
+			final JSONObject liturgyKnowledge = context.resources.getTalents().getObj("Liturgiekenntnis").getObj(deity);
 			final JSONArray challenge = liturgyKnowledge.getArrOrDefault("Probe", liturgyKnowledgeGroup.getArr("Probe"));
 			for (int i = 0; i < 3; ++i) {
 				String value = " ";
 				final String attribute = challenge.getString(i);
 				if (hero != null && fill) {
-					value = Integer.toString(HeroUtil.getCurrentValue(actualAttributes.getObj(attribute), false));
+					value = Integer.toString(context.heroValues.getCurrentValue(actualAttributes.getObj(attribute), false));
 				}
 				table.addCells(attribute, value);
 			}
 			String enhancementCost = DSAUtil.getEnhancementGroupString(liturgyKnowledgeGroup.getIntOrDefault("Steigerung", 6) + ("".equals(deity) ? 0
-					: ResourceManager.getResource("data/Talente").getObj("Liturgiekenntnis").getObj(deity).getIntOrDefault("Steigerung", 0)));
+					: context.resources.getTalents().getObj("Liturgiekenntnis").getObj(deity).getIntOrDefault("Steigerung", 0)));
 			if (hero != null && fill && !"".equals(deity)) {
 				enhancementCost = DSAUtil.getEnhancementGroupString(HeroUtil.getTalentComplexity(hero, deity));
 			}
@@ -325,27 +372,26 @@ public class ClericSheet extends Sheet {
 
 		startCreate(document);
 
-		float left = 12;
-
-		float currentBottom = bottom.bottom;
-		float minBottom = bottom.bottom;
+		bandLeft = 12;
+		bandTop = context.bottom.bottom;
+		bandBottom = context.bottom.bottom;
 
 		for (final TitledPane section : settingsPage.getSections()) {
 			if (settingsPage.getBool(section, "").get()) {
-				try {
-					final String name = settingsPage.getString(section, null).get();
+				final String name = settingsPage.getString(section, null).get();
+				recordSection(name, () -> {
 					switch (name) {
 						case "Modifikationen", "Kategorien" -> {
-							bottom.bottom = currentBottom;
-							left = switch (name) {
-								case "Modifikationen" -> addModificationTable(document, left);
-								case "Kategorien" -> addCategoriesTable(document, left);
-								default -> left;
+							context.bottom.bottom = bandTop;
+							bandLeft = switch (name) {
+								case "Modifikationen" -> addModificationTable(document, bandLeft);
+								case "Kategorien" -> addCategoriesTable(document, bandLeft);
+								default -> bandLeft;
 							};
-							minBottom = Math.min(minBottom, bottom.bottom);
+							bandBottom = Math.min(bandBottom, context.bottom.bottom);
 						}
 						default -> {
-							bottom.bottom = minBottom;
+							context.bottom.bottom = bandBottom;
 							switch (name) {
 								case "Weihe" -> addStatusTable(document);
 								case "Mirakel" -> addMiraclesTable(document, deity);
@@ -354,14 +400,12 @@ public class ClericSheet extends Sheet {
 									fillLiturgies(document, deity, ownLiturgiesOnly);
 								}
 							}
-							left = 12;
-							currentBottom = bottom.bottom;
-							minBottom = bottom.bottom;
+							bandLeft = 12;
+							bandTop = context.bottom.bottom;
+							bandBottom = context.bottom.bottom;
 						}
 					}
-				} catch (final Exception e) {
-					ErrorLogger.logError(e);
-				}
+				});
 			}
 		}
 
@@ -370,52 +414,34 @@ public class ClericSheet extends Sheet {
 
 	private void fillLiturgies(final PDDocument document, final String deity, final boolean ownLiturgiesOnly) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe()).setNumHeaderRows(2);
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-
-		table.addColumn(new Column(100, 175, FontManager.serif, 4, 7, HAlign.LEFT));
-		table.addColumn(new Column(10, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(14, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(49, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(59, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(25, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(21, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(0, 0, FontManager.serif, 4, 7, HAlign.LEFT));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Liturgie", 1);
-		final Cell actualTitle = SheetUtil.createTitleCell("E", 1);
-		final Cell costTitle = SheetUtil.createTitleCell("K", 1);
-		final Cell ritualDurationTitle = SheetUtil.createTitleCell("Rituald.", 1);
-		final Cell effectDurationTitle = SheetUtil.createTitleCell("Wirkungsd.", 1);
-		final Cell targetTitle = SheetUtil.createTitleCell("Ziel", 1);
-		final Cell rangeTitle = SheetUtil.createTitleCell("Rw.", 1).setPadding(0, 1, 1, 0);
-		final Cell descriptionTitle = SheetUtil.createTitleCell("Beschreibung", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+
+		table.addColumn(new Column(100, 175, context.serif, 4, 7, HAlign.LEFT));
+		table.addColumn(new Column(10, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(14, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(49, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(59, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(25, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(21, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(0, 0, context.serif, 4, 7, HAlign.LEFT));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Liturgie", 1);
+		final Cell actualTitle = SheetUtil.createTitleCell(context, "E", 1);
+		final Cell costTitle = SheetUtil.createTitleCell(context, "K", 1);
+		final Cell ritualDurationTitle = SheetUtil.createTitleCell(context, "Rituald.", 1);
+		final Cell effectDurationTitle = SheetUtil.createTitleCell(context, "Wirkungsd.", 1);
+		final Cell targetTitle = SheetUtil.createTitleCell(context, "Ziel", 1);
+		final Cell rangeTitle = SheetUtil.createTitleCell(context, "Rw.", 1).setPadding(0, 1, 1, 0);
+		final Cell descriptionTitle = SheetUtil.createTitleCell(context, "Beschreibung", 1);
 
 		table.addRow(nameTitle, actualTitle, costTitle, ritualDurationTitle, effectDurationTitle, targetTitle, rangeTitle, descriptionTitle);
 
-		final JSONObject liturgyLevels = ResourceManager.getResource("data/Liturgiegrade");
-		final JSONObject liturgies = ResourceManager.getResource("data/Liturgien");
-
-		final int numLevels = liturgyLevels.size();
-
-		@SuppressWarnings("unchecked")
-		final Map<String, String>[] liturgiesByLevel = new Map[numLevels];
-
-		for (int i = 0; i < numLevels; ++i) {
-			liturgiesByLevel[i] = new TreeMap<>(SheetUtil.comparator);
-		}
+		final JSONObject liturgyLevels = context.resources.get("data/Liturgiegrade");
+		final JSONObject liturgies = context.resources.getLiturgies();
 
 		final boolean primaryLiturgies = Settings.getSettingBoolOrDefault(true, "Geweihte", "Primäre Segnungen");
 
-		DSAUtil.foreach(liturgy -> liturgy.getObj("Gottheiten").containsKey(deity), (liturgyName, liturgy) -> {
-			final int grade = Math.max(liturgy.getObj("Gottheiten").getObj(deity).getIntOrDefault("Grad", liturgy.getIntOrDefault("Grad", 1)),
-					primaryLiturgies ? 0 : 1);
-			final String name = liturgy.getObj("Gottheiten").getObj(deity).getStringOrDefault("Name", liturgyName);
-			if (grade >= numLevels || grade < 0) {
-				liturgiesByLevel[numLevels - 1].put(name, liturgyName);
-			} else {
-				liturgiesByLevel[grade].put(name, liturgyName);
-			}
-		}, liturgies);
+		final List<Map<String, String>> liturgiesByLevel = getLiturgyCatalog(liturgies, liturgyLevels, deity, primaryLiturgies);
 
 		int i = 0;
 		for (final String levelName : liturgyLevels.keySet()) {
@@ -424,11 +450,11 @@ public class ClericSheet extends Sheet {
 
 				final int pKaP = level.getIntOrDefault("pKaP", 0);
 
-				final TextCell titleCell = new TextCell(levelName, FontManager.serifBold, 7, 7);
+				final TextCell titleCell = new TextCell(levelName, context.serifBold, 7, 7);
 				titleCell.addText(new Text("(" + level.getIntOrDefault("KaP", 0) + " KaP, " + (pKaP != 0 ? pKaP + " pKaP, " : "") + "Probe "
 						+ Util.getSignedIntegerString(level.getIntOrDefault("Probe", 0)) + ", Wirkung: "
 						+ DSAUtil.getModificationString(level.getObj("Wirkung"), Units.NONE, false) + ", " + level.getIntOrDefault("Kosten", 0) + " AP)")
-						.setFont(FontManager.serif));
+						.setFont(context.serif));
 
 				table.addRow(titleCell.setColSpan(8));
 
@@ -453,8 +479,9 @@ public class ClericSheet extends Sheet {
 
 				final int cost = level.getIntOrDefault("Kosten", 50 * i);
 
-				for (final String name : liturgiesByLevel[i].keySet()) {
-					final String baseName = liturgiesByLevel[i].get(name);
+				for (final Map.Entry<String, String> entry : liturgiesByLevel.get(i).entrySet()) {
+					final String name = entry.getKey();
+					final String baseName = entry.getValue();
 					final JSONObject liturgy = liturgies.getObj(baseName);
 					if (hero != null && fill) {
 						fillLiturgy(table, deity, ownLiturgiesOnly, baseName, name, liturgy, actualSkills.getObjOrDefault(baseName, null),
@@ -467,7 +494,7 @@ public class ClericSheet extends Sheet {
 			++i;
 		}
 
-		bottom.bottom = table.render(document, 571, 12, bottom.bottom, 72, 10) - 5;
+		context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, 72, 10) - 5;
 	}
 
 	private void fillLiturgy(final Table table, final String deity, final boolean ownLiturgiesOnly, final String baseName, final String name,
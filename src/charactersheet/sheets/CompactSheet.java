@@ -34,9 +34,11 @@ import boxtable.common.HAlign;
 import boxtable.common.Text;
 import boxtable.event.EventType;
 import boxtable.table.Column;
+import boxtable.table.Row;
 import boxtable.table.Table;
-import charactersheet.util.FontManager;
+import charactersheet.util.ArmorMatrix;
 import charactersheet.util.SheetUtil;
+import charactersheet.util.SpecialSkillIndex;
 import dsa41basis.util.DSAUtil;
 import dsa41basis.util.HeroUtil;
 import dsatool.resources.ResourceManager;
@@ -51,6 +53,44 @@ import jsonant.value.JSONValue;
 
 public class CompactSheet extends Sheet {
 
+	/**
+	 * The rows of a multi-column table, each measured once, with prefix sums to get the height of a column in constant time
+	 */
+	private static class RowHeights {
+		private final List<Row> rows;
+		private final float[] prefix;
+
+		private RowHeights(final Table table, final List<Object[]> rows, final float width) throws IOException {
+			final Table measured = table.duplicate();
+			for (final Object[] row : rows) {
+				measured.addRow(row);
+			}
+			// Measures every row once with the column widths of the table, the rows keep their heights when they are moved to the column tables
+			measured.getHeight(width);
+			this.rows = measured.getRows();
+
+			prefix = new float[rows.size() + 1];
+			for (int i = 0; i < rows.size(); ++i) {
+				prefix[i + 1] = prefix[i] + this.rows.get(i).getHeight(null);
+			}
+		}
+
+		/**
+		 * The largest number of rows per column, so that all columns beginning at start fit into the available height
+		 */
+		private int getFittingRows(final int start, final int numColumns, final int maxRows, final float available) {
+			for (int numRows = maxRows; numRows > 0; --numRows) {
+				boolean fits = true;
+				for (int column = 0; column < numColumns && fits; ++column) {
+					final int first = start + column * numRows;
+					fits = prefix[first + numRows] - prefix[first] <= available;
+				}
+				if (fits) return numRows;
+			}
+			return 0;
+		}
+	}
+
 	private static final String ATTRIBUTES = "Eigenschaften und Basiswerte";
 	private static final String ADDITIONAL_ROWS = "Zusätzliche Zeilen";
 	private static final String GROUP_BASIC_TALENTS = "Basistalente gruppieren";
@@ -65,44 +105,44 @@ public class CompactSheet extends Sheet {
 	}
 
 	private void addAttributesTable(final PDDocument document) throws IOException {
-		final JSONObject attributes = ResourceManager.getResource("data/Eigenschaften");
+		final JSONObject attributes = context.resources.getAttributes();
 		final JSONObject actualAttributes = hero.getObj("Eigenschaften");
 
 		final int numAttributes = attributes.size() + 3;
 
 		final Table table = new Table().setBorder(0, 0, 0, 0);
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
 		for (int i = 0; i < numAttributes; ++i) {
-			table.addColumn(new Column(291.5f / numAttributes, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
-			table.addColumn(new Column(291.5f / numAttributes, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
+			table.addColumn(new Column(291.5f / numAttributes, context.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
+			table.addColumn(new Column(291.5f / numAttributes, context.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
 		}
 
 		for (final String attribute : attributes.keySet()) {
 			table.addCells(attribute, actualAttributes.getObj(attribute).getIntOrDefault("Wert", 0));
 		}
 
-		table.addCells("SO", HeroUtil.getCurrentValue(hero.getObj("Basiswerte").getObj("Sozialstatus"), false));
+		table.addCells("SO", context.heroValues.getCurrentValue(hero.getObj("Basiswerte").getObj("Sozialstatus"), false));
 
-		table.addCells("GS", HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Geschwindigkeit"), hero,
+		table.addCells("GS", context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Geschwindigkeit"), hero,
 				hero.getObj("Basiswerte").getObj("Geschwindigkeit"), false));
 
-		final int woundThreshold = HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Wundschwelle"), hero,
+		final int woundThreshold = context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Wundschwelle"), hero,
 				hero.getObj("Basiswerte").getObj("Wundschwelle"), false);
 		table.addCells("WS", woundThreshold);
 
-		bottom.bottom = table.render(document, 583, 6, bottom.bottom - 5, 10, 10);
+		context.bottom.bottom = context.render(table, 583, 6, context.bottom.bottom - 5, 10, 10);
 	}
 
 	private void addBiographyTable(final PDDocument document) throws IOException {
 		final Table table = new Table().setBorder(0, 0, 0, 0);
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
 		final boolean printBirthday = settingsPage.getBool("Geburtstag").get();
 
-		table.addColumn(new Column(printBirthday ? 413 : 458, printBirthday ? 413 : 458, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
-		table.addColumn(new Column(60, 60, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
-		table.addColumn(new Column(printBirthday ? 110 : 65, printBirthday ? 110 : 65, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
+		table.addColumn(new Column(printBirthday ? 413 : 458, printBirthday ? 413 : 458, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
+		table.addColumn(new Column(60, 60, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
+		table.addColumn(new Column(printBirthday ? 110 : 65, printBirthday ? 110 : 65, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
 
 		final JSONObject bio = hero.getObj("Biografie");
 
@@ -125,35 +165,35 @@ public class CompactSheet extends Sheet {
 					: null;
 			table.addRow("Kultur: " + SheetUtil.getCultureString(bio),
 					new TextCell("Geschlecht: " + ("weiblich".equals(bio.getString("Geschlecht")) ? "♀" : "♂")).setColSpan(age != null ? 1 : 2), age);
-			table.addRow("Profession: " + HeroUtil.getProfessionString(hero, bio, ResourceManager.getResource("data/Professionen"), true),
+			table.addRow("Profession: " + HeroUtil.getProfessionString(hero, bio, context.resources.get("data/Professionen"), true),
 					"Größe: " + bio.getIntOrDefault("Größe", 0), "Gewicht: " + bio.getIntOrDefault("Gewicht", 0));
 		}
 
-		bottom.bottom = table.render(document, 583, 6, bottom.bottom - 5, 10, 10);
+		context.bottom.bottom = context.render(table, 583, 6, context.bottom.bottom - 5, 10, 10);
 	}
 
 	private void addCloseCombatTable(final PDDocument document, final TitledPane section) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(92, 92, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(53, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(35, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(30, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(26, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Nahkampfwaffen", 1);
-		final Cell tpTitle = SheetUtil.createTitleCell("TP", 1);
-		final Cell atTitle = SheetUtil.createTitleCell("AT", 1);
-		final Cell paTitle = SheetUtil.createTitleCell("PA", 1);
-		final Cell tpkkTitle = ((TextCell) SheetUtil.createTitleCell("TP", 1)).addText("/").addText("KK").setEquallySpaced(true);
-		final Cell wmTitle = SheetUtil.createTitleCell("WM", 1);
-		final Cell iniTitle = SheetUtil.createTitleCell("INI", 1);
-		final Cell dkTitle = SheetUtil.createTitleCell("DK", 1);
-		final Cell bfTitle = SheetUtil.createTitleCell("BF", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(92, 92, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(53, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(35, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(30, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(26, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Nahkampfwaffen", 1);
+		final Cell tpTitle = SheetUtil.createTitleCell(context, "TP", 1);
+		final Cell atTitle = SheetUtil.createTitleCell(context, "AT", 1);
+		final Cell paTitle = SheetUtil.createTitleCell(context, "PA", 1);
+		final Cell tpkkTitle = ((TextCell) SheetUtil.createTitleCell(context, "TP", 1)).addText("/").addText("KK").setEquallySpaced(true);
+		final Cell wmTitle = SheetUtil.createTitleCell(context, "WM", 1);
+		final Cell iniTitle = SheetUtil.createTitleCell(context, "INI", 1);
+		final Cell dkTitle = SheetUtil.createTitleCell(context, "DK", 1);
+		final Cell bfTitle = SheetUtil.createTitleCell(context, "BF", 1);
 		table.addRow(nameTitle, tpTitle, atTitle, paTitle, tpkkTitle, wmTitle, iniTitle, dkTitle, bfTitle);
 
 		final JSONArray items = hero.getObj("Besitz").getArr("Ausrüstung");
@@ -175,11 +215,11 @@ public class CompactSheet extends Sheet {
 				final JSONObject weaponMastery = HeroUtil.getSpecialisation(hero.getObj("Sonderfertigkeiten").getArrOrDefault("Waffenmeister", null), type,
 						item.getStringOrDefault("Typ", baseWeapon.getString("Typ")));
 
-				final String tp = HeroUtil.getTPString(hero, item, baseWeapon);
+				final String tp = context.heroValues.getTPString(hero, item, baseWeapon);
 
-				final Integer atValue = HeroUtil.getAT(hero, item, type, true, false, null, false);
+				final Integer atValue = context.heroValues.getAT(hero, item, type, true, false, null, false);
 				final String at = atValue != null ? Integer.toString(atValue) : "";
-				final Integer paValue = HeroUtil.getPA(hero, item, type, false, false);
+				final Integer paValue = context.heroValues.getPA(hero, item, type, false, false);
 				final String pa = paValue != null ? Integer.toString(paValue) : "—";
 
 				final JSONObject TPKKValues = item.getObjOrDefault("Trefferpunkte/Körperkraft",
@@ -216,31 +256,31 @@ public class CompactSheet extends Sheet {
 		}
 
 		if (table.getNumRows() > 1) {
-			bottom.bottom = table.render(document, 321, 6, bottom.bottom - 5, 10, 10);
+			context.bottom.bottom = context.render(table, 321, 6, context.bottom.bottom - 5, 10, 10);
 		}
 	}
 
 	private void addDerivedValuesTable(final PDDocument document) throws IOException {
 		final Table table = new Table().setBorder(0, 0, 0, 0);
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
 		for (int i = 0; i < 4; ++i) {
-			table.addColumn(new Column(583f / 11, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
-			table.addColumn(new Column(291.5f / 11, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
+			table.addColumn(new Column(583f / 11, context.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
+			table.addColumn(new Column(291.5f / 11, context.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
 		}
 
 		for (int i = 0; i < 5; ++i) {
-			table.addColumn(new Column(291.5f / 11, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
-			table.addColumn(new Column(291.5f / 11, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
+			table.addColumn(new Column(291.5f / 11, context.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
+			table.addColumn(new Column(291.5f / 11, context.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
 		}
 
-		final JSONObject derivedValues = ResourceManager.getResource("data/Basiswerte");
+		final JSONObject derivedValues = context.resources.getBasicValues();
 		String[] derivedNames = { "Attacke-Basis", "Parade-Basis", "Fernkampf-Basis", "Initiative-Basis" };
 		String[] derivedLabels = { "AT-Basis", "PA-Basis", "FK-Basis", "INI-Basis" };
 		for (int i = 0; i < 4; ++i) {
 			final String derivedName = derivedNames[i];
 			final JSONObject derivedValue = derivedValues.getObj(derivedName);
-			table.addCells(derivedLabels[i], HeroUtil.deriveValue(derivedValue, hero, hero.getObj("Basiswerte").getObj(derivedName), false));
+			table.addCells(derivedLabels[i], context.heroValues.deriveValue(derivedValue, hero, hero.getObj("Basiswerte").getObj(derivedName), false));
 		}
 
 		derivedNames = new String[] { "Lebensenergie", "Ausdauer", "Magieresistenz", "Astralenergie", "Karmaenergie" };
@@ -251,42 +291,42 @@ public class CompactSheet extends Sheet {
 			final JSONObject actualValue = hero.getObj("Basiswerte").getObjOrDefault(derivedName, null);
 			String value;
 			if (actualValue != null) {
-				value = Integer.toString(HeroUtil.deriveValue(derivedValue, hero, actualValue, false));
+				value = Integer.toString(context.heroValues.deriveValue(derivedValue, hero, actualValue, false));
 			} else {
 				value = "—";
 			}
 			table.addCells(derivedLabels[i], value);
 		}
 
-		bottom.bottom = table.render(document, 583, 6, bottom.bottom - 5, 10, 10);
+		context.bottom.bottom = context.render(table, 583, 6, context.bottom.bottom - 5, 10, 10);
 	}
 
 	private void addInfightTable(final PDDocument document) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(34, FontManager.serif, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(43, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(34, context.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(43, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
 
-		SheetUtil.addTitle(table, "Waffenloser Kampf");
+		SheetUtil.addTitle(context, table, "Waffenloser Kampf");
 
 		table.addRow("Talent", "TP", "AT", "PA");
 
-		final int TPKKModifier = (HeroUtil.getCurrentValue(hero.getObj("Eigenschaften").getObj("KK"), false) - 10) / 3;
+		final int TPKKModifier = (context.heroValues.getCurrentValue(hero.getObj("Eigenschaften").getObj("KK"), false) - 10) / 3;
 
 		final String tp = "1W" + (TPKKModifier == 0 ? "" : Util.getSignedIntegerString(TPKKModifier)) + "(A)";
-		final String at1 = Integer.toString(HeroUtil.getAT(hero, HeroUtil.infight, "Raufen", true, false, null, false));
-		final String pa1 = Integer.toString(HeroUtil.getPA(hero, HeroUtil.infight, "Raufen", false, false));
+		final String at1 = Integer.toString(context.heroValues.getAT(hero, HeroUtil.infight, "Raufen", true, false, null, false));
+		final String pa1 = Integer.toString(context.heroValues.getPA(hero, HeroUtil.infight, "Raufen", false, false));
 
 		table.addRow("Raufen", tp, at1, pa1);
 
-		final String at2 = Integer.toString(HeroUtil.getAT(hero, HeroUtil.infight, "Ringen", true, false, null, false));
-		final String pa2 = Integer.toString(HeroUtil.getPA(hero, HeroUtil.infight, "Ringen", false, false));
+		final String at2 = Integer.toString(context.heroValues.getAT(hero, HeroUtil.infight, "Ringen", true, false, null, false));
+		final String pa2 = Integer.toString(context.heroValues.getPA(hero, HeroUtil.infight, "Ringen", false, false));
 
 		table.addRow("Ringen", tp, at2, pa2);
 
-		bottom.bottom = table.render(document, 117, 332, bottom.bottom - 5, 10, 10);
+		context.bottom.bottom = context.render(table, 117, 332, context.bottom.bottom - 5, 10, 10);
 	}
 
 	private void addMulticolTable(final PDDocument document, final String title, final Object[] tableHeader, final Table table,
@@ -299,44 +339,47 @@ public class CompactSheet extends Sheet {
 		int start = 0;
 
 		Table mainTable = new Table().setFiller(SheetUtil.stripe());
-		mainTable.addEventHandler(EventType.BEGIN_PAGE, header);
+		mainTable.addEventHandler(EventType.BEGIN_PAGE, context.header);
 		final float width = (583 - 5 * (numColumns - 1)) / (float) numColumns;
 
-		mainTable.addColumn(new Column(width, FontManager.serif, fontSize, HAlign.LEFT));
+		mainTable.addColumn(new Column(width, context.serif, fontSize, HAlign.LEFT));
 		for (int i = 1; i < numColumns; ++i) {
-			mainTable.addColumn(new Column(5, FontManager.serif, fontSize, HAlign.CENTER));
-			mainTable.addColumn(new Column(width, FontManager.serif, fontSize, HAlign.CENTER));
+			mainTable.addColumn(new Column(5, context.serif, fontSize, HAlign.CENTER));
+			mainTable.addColumn(new Column(width, context.serif, fontSize, HAlign.CENTER));
 		}
 
-		Table columnTable = table;
+		final RowHeights rowHeights = new RowHeights(table, rows, width);
+		final Table titleTable = mainTable.duplicate();
+		SheetUtil.addTitle(context, titleTable, title);
+		float headerHeight = titleTable.getHeight(583) + 0.25f;
 		if (tableHeader != null) {
-			columnTable.addRow(tableHeader);
+			headerHeight += table.duplicate().addRow(tableHeader).getHeight(width);
 		}
 
 		while (true) {
-			SheetUtil.addTitle(mainTable, title);
-
-			final float headerHeight = mainTable.getHeight(583) + 0.25f;
-			final float rowHeight = columnTable.duplicate().addRow(" ").getHeight(583);
+			SheetUtil.addTitle(context, mainTable, title);
 
 			final int maxRows = (rows.size() - start) / numColumns;
 			if (maxRows == 0) {
 				break;
 			}
-			int numRows = Math.min((int) ((bottom.bottom - 5 - headerHeight - 10) / rowHeight) - (tableHeader != null ? 1 : 0), maxRows);
+			int numRows = rowHeights.getFittingRows(start, numColumns, maxRows, context.bottom.bottom - 5 - headerHeight - 10);
 			if (numRows < 15) {
 				numRows = maxRows;
 			}
-			int rowIndex = 0;
 			for (int column = 0; column < numColumns; ++column) {
+				final Table columnTable = table.duplicate();
+				if (tableHeader != null) {
+					columnTable.addRow(tableHeader);
+				}
 
-				while (rowIndex < numRows) {
-					final int index = rowIndex + column * numRows + start;
-					final Object[] row = rows.get(index);
-					columnTable.addRow(row);
+				final int first = start + column * numRows;
+				for (int index = first; index < first + numRows; ++index) {
+					final Row row = rowHeights.rows.get(index);
+					columnTable.getRows().add(row);
 
-					if (dividers != null && rowIndex != 0 && dividers.contains(index)) {
-						columnTable.getRows().get(columnTable.getNumRows() - 1).addEventHandler(EventType.AFTER_ROW, event -> {
+					if (dividers != null && index != first && dividers.contains(index)) {
+						row.addEventHandler(EventType.AFTER_ROW, event -> {
 							try {
 								final PDPageContentStream stream = event.getStream();
 								stream.setLineWidth(1);
@@ -348,23 +391,15 @@ public class CompactSheet extends Sheet {
 							}
 						});
 					}
-
-					++rowIndex;
 				}
 
 				mainTable.addCells(new TableCell(columnTable));
 				if (column != numColumns - 1) {
 					mainTable.addCells(" ");
 				}
-				columnTable = table.duplicate();
-				if (tableHeader != null) {
-					columnTable.addRow(tableHeader);
-				}
-
-				rowIndex = 0;
 			}
 
-			bottom.bottom = mainTable.render(document, 583, 6, bottom.bottom - 5, 10, 10);
+			context.bottom.bottom = context.render(mainTable, 583, 6, context.bottom.bottom - 5, 10, 10);
 			mainTable = mainTable.duplicate();
 
 			start += numRows * numColumns;
@@ -373,14 +408,14 @@ public class CompactSheet extends Sheet {
 
 	private void addProsAndConsTable(final PDDocument document) throws IOException {
 		final Table table = new Table();
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(583, FontManager.serif, fontSize, HAlign.LEFT));
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(583, context.serif, fontSize, HAlign.LEFT));
 
-		SheetUtil.addTitle(table, "Vor- und Nachteile");
+		SheetUtil.addTitle(context, table, "Vor- und Nachteile");
 
 		for (final String pOrC : new String[] { "Vorteile", "Nachteile" }) {
 			final StringBuilder prosAndCons = new StringBuilder();
-			final JSONObject prosOrCons = ResourceManager.getResource("data/" + pOrC);
+			final JSONObject prosOrCons = context.resources.get("data/" + pOrC);
 			final JSONObject actual = hero.getObj(pOrC);
 
 			final Map<String, JSONObject> actualProsOrCons = new TreeMap<>(SheetUtil.comparator);
@@ -403,35 +438,35 @@ public class CompactSheet extends Sheet {
 			table.addRow(new TextCell(prosAndCons.toString()).setDrawRows(true));
 		}
 
-		bottom.bottom = table.render(document, 583, 6, bottom.bottom - 5, 10, 10);
+		context.bottom.bottom = context.render(table, 583, 6, context.bottom.bottom - 5, 10, 10);
 	}
 
 	private void addRangedCombatTable(final PDDocument document, final TitledPane section) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(92, 92, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(53, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(12.3f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(12.3f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(12.3f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(12.3f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(12.3f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(10.9f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(10.9f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(10.9f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(10.9f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(10.9f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Fernkampfwaffen", 1);
-		final Cell tpTitle = SheetUtil.createTitleCell("TP", 1);
-		final Cell atTitle = SheetUtil.createTitleCell("AT", 1);
-		final Cell loadTitle = SheetUtil.createTitleCell("Lad.", 1);
-		final Cell distanceTitle = SheetUtil.createTitleCell("Entfernung", 5);
-		final Cell tpdistanceTitle = SheetUtil.createTitleCell("TP+", 5);
-		final Cell numTitle = SheetUtil.createTitleCell("Anz", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(92, 92, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(53, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(12.3f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(12.3f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(12.3f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(12.3f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(12.3f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(10.9f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(10.9f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(10.9f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(10.9f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(10.9f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Fernkampfwaffen", 1);
+		final Cell tpTitle = SheetUtil.createTitleCell(context, "TP", 1);
+		final Cell atTitle = SheetUtil.createTitleCell(context, "AT", 1);
+		final Cell loadTitle = SheetUtil.createTitleCell(context, "Lad.", 1);
+		final Cell distanceTitle = SheetUtil.createTitleCell(context, "Entfernung", 5);
+		final Cell tpdistanceTitle = SheetUtil.createTitleCell(context, "TP+", 5);
+		final Cell numTitle = SheetUtil.createTitleCell(context, "Anz", 1);
 		table.addRow(nameTitle, tpTitle, atTitle, loadTitle, distanceTitle, tpdistanceTitle, numTitle);
 
 		final JSONArray items = hero.getObj("Besitz").getArr("Ausrüstung");
@@ -449,9 +484,9 @@ public class CompactSheet extends Sheet {
 				final String type = item.getStringOrDefault("Waffentyp:Primär", baseWeapon.getStringOrDefault("Waffentyp:Primär",
 						item.getArrOrDefault("Waffentypen", baseWeapon.getArr("Waffentypen")).getString(0)));
 
-				final String tp = HeroUtil.getTPString(hero, item, baseWeapon);
+				final String tp = context.heroValues.getTPString(hero, item, baseWeapon);
 
-				final Integer atValue = HeroUtil.getAT(hero, item, type, false, false, null, false);
+				final Integer atValue = context.heroValues.getAT(hero, item, type, false, false, null, false);
 				final String at = atValue != null ? Integer.toString(atValue) : "";
 				final TextCell atCell = new TextCell(at);
 				if (hero.getObj("Vorteile").containsKey("Entfernungssinn")) {
@@ -482,7 +517,7 @@ public class CompactSheet extends Sheet {
 				String num = "1";
 				final String ammunitionType = item.getStringOrDefault("Geschoss:Typ", baseWeapon.getString("Geschoss:Typ"));
 				if ("Pfeile".equals(ammunitionType) || "Bolzen".equals(ammunitionType)) {
-					final JSONObject ammunitionTypes = ResourceManager.getResource("data/Geschosstypen");
+					final JSONObject ammunitionTypes = context.resources.getProjectileTypes();
 					final JSONObject ammunition = item.getObjOrDefault("Munition", baseWeapon.getObj("Munition"));
 					int amount = 0;
 					for (final String typeName : ammunitionTypes.keySet()) {
@@ -506,46 +541,48 @@ public class CompactSheet extends Sheet {
 		}
 
 		if (table.getNumRows() > 1) {
-			bottom.bottom = table.render(document, 321, 6, bottom.bottom - 5, 10, 10);
+			context.bottom.bottom = context.render(table, 321, 6, context.bottom.bottom - 5, 10, 10);
 		}
 	}
 
 	private void addSpecialSkillsTable(final PDDocument document, final String type) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(583, FontManager.serif, fontSize, HAlign.LEFT));
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(583, context.serif, fontSize, HAlign.LEFT));
 
-		SheetUtil.addTitle(table, type);
+		SheetUtil.addTitle(context, table, type);
 
 		final StringBuilder skillsString = new StringBuilder();
 
-		final JSONObject regularSkills = ResourceManager.getResource("data/Sonderfertigkeiten");
-		final JSONObject rituals = ResourceManager.getResource("data/Rituale");
-		final JSONObject shamanRituals = ResourceManager.getResource("data/Schamanenrituale");
-		final JSONObject liturgies = ResourceManager.getResource("data/Liturgien");
 		final JSONObject actualSkills = hero.getObj("Sonderfertigkeiten");
 
-		final JSONObject[] skillGroups = new JSONObject["Rituale".equals(type) ? rituals.size() + 1 : "Liturgien".equals(type) ? 1 : regularSkills.size()];
-		int i = 0;
+		// Special skills are found through the index instead
+		final JSONObject[] skillGroups;
 		switch (type) {
-			case "Sonderfertigkeiten" -> {
-				for (final String skillGroupName : regularSkills.keySet()) {
-					skillGroups[i] = regularSkills.getObj(skillGroupName);
-					++i;
-				}
-			}
 			case "Rituale" -> {
+				final JSONObject rituals = context.resources.getRituals();
+				skillGroups = new JSONObject[rituals.size() + 1];
+				int i = 0;
 				for (final String skillGroupName : rituals.keySet()) {
 					skillGroups[i] = rituals.getObj(skillGroupName);
 					++i;
 				}
-				skillGroups[i] = shamanRituals;
+				skillGroups[i] = context.resources.get("data/Schamanenrituale");
 			}
-			case "Liturgien" -> skillGroups[0] = liturgies;
+			case "Liturgien" -> skillGroups = new JSONObject[] { context.resources.getLiturgies() };
+			default -> skillGroups = new JSONObject[0];
 		}
 
+		final SpecialSkillIndex skillIndex = context.getSpecialSkillIndex(hero);
 		final Map<String, JSONObject> skills = new TreeMap<>(SheetUtil.comparator);
 		for (final String skillName : actualSkills.keySet()) {
+			if ("Sonderfertigkeiten".equals(type)) {
+				final JSONObject skill = skillIndex.getDefinition(skillName);
+				if (skill != null) {
+					skills.put(skillName, skill);
+				}
+				continue;
+			}
 			for (final JSONObject skillGroup : skillGroups) {
 				if (skillGroup.containsKey(skillName)) {
 					skills.put(skillName, skillGroup.getObj(skillName));
@@ -570,11 +607,11 @@ public class CompactSheet extends Sheet {
 		}
 		table.addRow(new TextCell(skillsString.toString()).setDrawRows(true));
 
-		bottom.bottom = table.render(document, 583, 6, bottom.bottom - 5, 10, 10);
+		context.bottom.bottom = context.render(table, 583, 6, context.bottom.bottom - 5, 10, 10);
 	}
 
 	private void addSpellTable(final PDDocument document, final TitledPane section) throws IOException {
-		final JSONObject spells = ResourceManager.getResource("data/Zauber");
+		final JSONObject spells = context.resources.getSpells();
 		final JSONObject actualSpells = hero.getObj("Zauber");
 
 		final List<Object[]> rows = new ArrayList<>();
@@ -622,8 +659,8 @@ public class CompactSheet extends Sheet {
 				}
 
 				final TextCell nameCell = new TextCell(name,
-						settingsPage.getBool(section, MARK_HOUSE_SPELLS).get() && actualTalent.getBoolOrDefault("Hauszauber", false) ? FontManager.serifItalic
-								: FontManager.serif,
+						settingsPage.getBool(section, MARK_HOUSE_SPELLS).get() && actualTalent.getBoolOrDefault("Hauszauber", false) ? context.serifItalic
+								: context.serif,
 						8, 8);
 
 				final JSONArray challenge = rep.getArrOrDefault("Probe", spell.getArr("Probe"));
@@ -631,7 +668,7 @@ public class CompactSheet extends Sheet {
 						? HeroUtil.getChallengeValuesString(hero, challenge, fill) : DSAUtil.getChallengeString(challenge);
 
 				final TextCell traitString = new TextCell();
-				final JSONObject traits = ResourceManager.getResource("data/Merkmale");
+				final JSONObject traits = context.resources.getTraits();
 				final JSONArray actualTraits = rep.getArrOrDefault("Merkmale", spell.getArrOrDefault("Merkmale", null));
 				if (actualTraits != null) {
 					for (final String traitName : traits.keySet()) {
@@ -654,34 +691,34 @@ public class CompactSheet extends Sheet {
 		}
 
 		final Table table = new Table().setFiller(SheetUtil.stripe().invert(true)).setBorder(0, 0, 0, 0);
-		table.addColumn(new Column(162, 162, FontManager.serif, 4, 8, HAlign.LEFT));
-		table.addColumn(new Column(19, 19, FontManager.serif, 4, 8, HAlign.CENTER));
-		table.addColumn(new Column(57, 57, FontManager.serif, 4, 8, HAlign.CENTER));
-		table.addColumn(new Column(28, 28, FontManager.serif, 4, 8, HAlign.LEFT));
-		table.addColumn(new Column(23, FontManager.serif, 8, HAlign.CENTER));
-
-		final Cell nameTitle = new TextCell("Zauber", FontManager.serifBold, 0, 8);
-		final Cell repTitle = new TextCell("Rep.", FontManager.serifBold, 0, 8);
-		final Cell challengeTitle = new TextCell("Probe", FontManager.serifBold, 0, 8);
-		final Cell traitTitle = new TextCell("Merk.", FontManager.serifBold, 0, 8).setHAlign(HAlign.CENTER);
-		final Cell valueTitle = new TextCell("ZfW", FontManager.serifBold, 0, 8);
+		table.addColumn(new Column(162, 162, context.serif, 4, 8, HAlign.LEFT));
+		table.addColumn(new Column(19, 19, context.serif, 4, 8, HAlign.CENTER));
+		table.addColumn(new Column(57, 57, context.serif, 4, 8, HAlign.CENTER));
+		table.addColumn(new Column(28, 28, context.serif, 4, 8, HAlign.LEFT));
+		table.addColumn(new Column(23, context.serif, 8, HAlign.CENTER));
+
+		final Cell nameTitle = new TextCell("Zauber", context.serifBold, 0, 8);
+		final Cell repTitle = new TextCell("Rep.", context.serifBold, 0, 8);
+		final Cell challengeTitle = new TextCell("Probe", context.serifBold, 0, 8);
+		final Cell traitTitle = new TextCell("Merk.", context.serifBold, 0, 8).setHAlign(HAlign.CENTER);
+		final Cell valueTitle = new TextCell("ZfW", context.serifBold, 0, 8);
 		final Object[] tableHeader = { nameTitle, repTitle, challengeTitle, traitTitle, valueTitle };
 
 		addMulticolTable(document, "Zauber", tableHeader, table, 2, rows, null, settingsPage.getInt(section, ADDITIONAL_ROWS).get());
 	}
 
 	private void addTalentsTable(final PDDocument document, final TitledPane section) throws IOException {
-		final JSONObject talents = ResourceManager.getResource("data/Talente");
+		final JSONObject talents = context.resources.getTalents();
 		final JSONObject actualTalentGroups = hero.getObj("Talente");
 
 		final List<Object[]> rows = new ArrayList<>();
 		final Set<Integer> dividers = new HashSet<>();
 
-		final int ATBase = HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Attacke-Basis"), hero,
+		final int ATBase = context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Attacke-Basis"), hero,
 				hero.getObj("Basiswerte").getObj("Attacke-Basis"), true);
-		final int PABase = HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Parade-Basis"), hero,
+		final int PABase = context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Parade-Basis"), hero,
 				hero.getObj("Basiswerte").getObj("Parade-Basis"), true);
-		final int FKBase = HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Fernkampf-Basis"), hero,
+		final int FKBase = context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Fernkampf-Basis"), hero,
 				hero.getObj("Basiswerte").getObj("Fernkampf-Basis"), false);
 
 		int index = 0;
@@ -696,20 +733,20 @@ public class CompactSheet extends Sheet {
 
 			dividers.add(index);
 
-			final Cell nameTitle = new TextCell(talentGroupName, FontManager.serifBold, 0, 8);
-			final Cell tawTitle = new TextCell("TaW", FontManager.serifBold, 0, 8);
+			final Cell nameTitle = new TextCell(talentGroupName, context.serifBold, 0, 8);
+			final Cell tawTitle = new TextCell("TaW", context.serifBold, 0, 8);
 
 			switch (talentGroupName) {
 				case "Nahkampftalente" -> rows
-						.add(new Object[] { nameTitle, new TextCell("AT", FontManager.serifBold, 0, 8).addText("/").addText("PA").setEquallySpaced(true),
-								new TextCell("BE", FontManager.serifBold, 0, 8), tawTitle });
+						.add(new Object[] { nameTitle, new TextCell("AT", context.serifBold, 0, 8).addText("/").addText("PA").setEquallySpaced(true),
+								new TextCell("BE", context.serifBold, 0, 8), tawTitle });
 				case "Fernkampftalente" -> rows.add(
-						new Object[] { nameTitle, new TextCell("FK", FontManager.serifBold, 0, 8), new TextCell("BE", FontManager.serifBold, 0, 8), tawTitle });
-				case "Körperliche Talente" -> rows.add(new Object[] { nameTitle, new TextCell("Probe", FontManager.serifBold, 0, 8),
-						new TextCell("BE", FontManager.serifBold, 0, 8), tawTitle });
-				case "Sprachen und Schriften" -> rows.add(new Object[] { nameTitle, new TextCell("Kpl.", FontManager.serifBold, 0, 8),
-						new TextCell("S", FontManager.serifBold, 0, 8), tawTitle });
-				default -> rows.add(new Object[] { nameTitle, new TextCell("Probe", FontManager.serifBold, 0, 8), " ", tawTitle });
+						new Object[] { nameTitle, new TextCell("FK", context.serifBold, 0, 8), new TextCell("BE", context.serifBold, 0, 8), tawTitle });
+				case "Körperliche Talente" -> rows.add(new Object[] { nameTitle, new TextCell("Probe", context.serifBold, 0, 8),
+						new TextCell("BE", context.serifBold, 0, 8), tawTitle });
+				case "Sprachen und Schriften" -> rows.add(new Object[] { nameTitle, new TextCell("Kpl.", context.serifBold, 0, 8),
+						new TextCell("S", context.serifBold, 0, 8), tawTitle });
+				default -> rows.add(new Object[] { nameTitle, new TextCell("Probe", context.serifBold, 0, 8), " ", tawTitle });
 			}
 
 			++index;
@@ -785,9 +822,9 @@ public class CompactSheet extends Sheet {
 								final String[] attributeStrings = new String[3];
 								if (settingsPage.getBool(section, VALUES_FOR_ATTRIBUTES).get()) {
 									final JSONObject attributes = hero.getObj("Eigenschaften");
-									attributeStrings[0] = Integer.toString(HeroUtil.getCurrentValue(attributes.getObj(challenge.getString(0)), false));
-									attributeStrings[1] = Integer.toString(HeroUtil.getCurrentValue(attributes.getObj(challenge.getString(1)), false));
-									attributeStrings[2] = Integer.toString(HeroUtil.getCurrentValue(attributes.getObj(challenge.getString(2)), false));
+									attributeStrings[0] = Integer.toString(context.heroValues.getCurrentValue(attributes.getObj(challenge.getString(0)), false));
+									attributeStrings[1] = Integer.toString(context.heroValues.getCurrentValue(attributes.getObj(challenge.getString(1)), false));
+									attributeStrings[2] = Integer.toString(context.heroValues.getCurrentValue(attributes.getObj(challenge.getString(2)), false));
 								} else {
 									attributeStrings[0] = challenge.getString(0);
 									attributeStrings[1] = challenge.getString(1);
@@ -820,8 +857,8 @@ public class CompactSheet extends Sheet {
 					}
 
 					final TextCell nameCell = new TextCell(name,
-							settingsPage.getBool(section, MARK_BASIC_TALENTS).get() && talent.getBoolOrDefault("Basis", false) ? FontManager.serifItalic
-									: FontManager.serif,
+							settingsPage.getBool(section, MARK_BASIC_TALENTS).get() && talent.getBoolOrDefault("Basis", false) ? context.serifItalic
+									: context.serif,
 							8, 8);
 					final Object beOrLanguage = "Sprachen und Schriften".equals(talentGroupName) ? language : be;
 					rows.add(new Object[] { nameCell, special, beOrLanguage, taw });
@@ -837,10 +874,10 @@ public class CompactSheet extends Sheet {
 		}
 
 		final Table table = new Table().setFiller(SheetUtil.stripe().invert(true)).setBorder(0, 0, 0, 0);
-		table.addColumn(new Column(100, 100, FontManager.serif, 4, 8, HAlign.LEFT));
-		table.addColumn(new Column(43, FontManager.serif, 8, HAlign.CENTER));
-		table.addColumn(new Column(25, FontManager.serif, 8, HAlign.CENTER));
-		table.addColumn(new Column(23, FontManager.serif, 8, HAlign.CENTER));
+		table.addColumn(new Column(100, 100, context.serif, 4, 8, HAlign.LEFT));
+		table.addColumn(new Column(43, context.serif, 8, HAlign.CENTER));
+		table.addColumn(new Column(25, context.serif, 8, HAlign.CENTER));
+		table.addColumn(new Column(23, context.serif, 8, HAlign.CENTER));
 
 		addMulticolTable(document, "Talente", null, table, 3, rows, settingsPage.getBool(section, GROUP_BASIC_TALENTS).get() ? dividers : null,
 				settingsPage.getInt(section, ADDITIONAL_ROWS).get());
@@ -848,14 +885,14 @@ public class CompactSheet extends Sheet {
 
 	private void addTotalArmorTable(final PDDocument document, final TitledPane section) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(91, 91, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(22, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(22, FontManager.serif, fontSize, HAlign.CENTER));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Rüstung", 1);
-		final Cell beTitle = SheetUtil.createTitleCell("BE", 1);
-		final Cell rsTitle = SheetUtil.createTitleCell("RS", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(91, 91, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(22, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(22, context.serif, fontSize, HAlign.CENTER));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Rüstung", 1);
+		final Cell beTitle = SheetUtil.createTitleCell(context, "BE", 1);
+		final Cell rsTitle = SheetUtil.createTitleCell(context, "RS", 1);
 		table.addRow(nameTitle, beTitle, rsTitle);
 
 		double RS = 0;
@@ -917,35 +954,35 @@ public class CompactSheet extends Sheet {
 			table.addRow("");
 		}
 
-		table.addRow("Gesamt:", DSAUtil.threeDecimalPlaces.format(HeroUtil.getBERaw(hero)), DSAUtil.threeDecimalPlaces.format(RS));
+		table.addRow("Gesamt:", DSAUtil.threeDecimalPlaces.format(context.getArmorMatrix(hero).getBERaw()), DSAUtil.threeDecimalPlaces.format(RS));
 
-		bottom.bottom = table.render(document, 135, 454, bottom.bottom - 5, 10, 10);
+		context.bottom.bottom = context.render(table, 135, 454, context.bottom.bottom - 5, 10, 10);
 	}
 
 	private void addZoneArmorTable(final PDDocument document, final TitledPane section) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(91, 91, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(22, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Rüstung", 1);
-		final Cell beTitle = SheetUtil.createTitleCell("BE", 1);
-		final Cell kTitle = SheetUtil.createTitleCell("K", 1);
-		final Cell brTitle = SheetUtil.createTitleCell("Br", 1);
-		final Cell rTitle = SheetUtil.createTitleCell("R", 1);
-		final Cell baTitle = SheetUtil.createTitleCell("Ba", 1);
-		final Cell laTitle = SheetUtil.createTitleCell("LA", 1);
-		final Cell raTitle = SheetUtil.createTitleCell("RA", 1);
-		final Cell lbTitle = SheetUtil.createTitleCell("LB", 1);
-		final Cell rbTitle = SheetUtil.createTitleCell("RB", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(91, 91, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(22, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Rüstung", 1);
+		final Cell beTitle = SheetUtil.createTitleCell(context, "BE", 1);
+		final Cell kTitle = SheetUtil.createTitleCell(context, "K", 1);
+		final Cell brTitle = SheetUtil.createTitleCell(context, "Br", 1);
+		final Cell rTitle = SheetUtil.createTitleCell(context, "R", 1);
+		final Cell baTitle = SheetUtil.createTitleCell(context, "Ba", 1);
+		final Cell laTitle = SheetUtil.createTitleCell(context, "LA", 1);
+		final Cell raTitle = SheetUtil.createTitleCell(context, "RA", 1);
+		final Cell lbTitle = SheetUtil.createTitleCell(context, "LB", 1);
+		final Cell rbTitle = SheetUtil.createTitleCell(context, "RB", 1);
 		table.addRow(nameTitle, beTitle, kTitle, brTitle, rTitle, baTitle, laTitle, raTitle, lbTitle, rbTitle);
 
 		final String armorSetting = Settings.getSettingStringOrDefault("Zonenrüstung", "Kampf", "Rüstungsart");
@@ -1008,15 +1045,11 @@ public class CompactSheet extends Sheet {
 			table.addRow("");
 		}
 
-		int i = 0;
-		final int[] rs = new int[8];
-		for (final String zone : new String[] { "Kopf", "Brust", "Rücken", "Bauch", "Linker Arm", "Rechter Arm", "Linkes Bein", "Rechtes Bein" }) {
-			rs[i] = HeroUtil.getZoneRS(hero, zone);
-			++i;
-		}
-		table.addRow("Gesamt:", DSAUtil.threeDecimalPlaces.format(HeroUtil.getBERaw(hero)), rs[0], rs[1], rs[2], rs[3], rs[4], rs[5], rs[6], rs[7]);
+		final ArmorMatrix armor = context.getArmorMatrix(hero);
+		table.addRow("Gesamt:", DSAUtil.threeDecimalPlaces.format(armor.getBERaw()), armor.getZoneRS(0), armor.getZoneRS(1), armor.getZoneRS(2),
+				armor.getZoneRS(3), armor.getZoneRS(4), armor.getZoneRS(5), armor.getZoneRS(6), armor.getZoneRS(7));
 
-		bottom.bottom = table.render(document, 257, 332, bottom.bottom - 5, 10, 10);
+		context.bottom.bottom = context.render(table, 257, 332, context.bottom.bottom - 5, 10, 10);
 	}
 
 	@Override
@@ -1025,23 +1058,19 @@ public class CompactSheet extends Sheet {
 	}
 
 	@Override
-	public void create(final PDDocument document) throws IOException {
+	protected void create(final PDDocument document) throws IOException {
 		if (hero != null) {
-			header = SheetUtil.createHeader(null, false, false, false, hero, fill, fillAll, showName, showDate);
+			context.header = SheetUtil.createHeader(context, null, false, false, false, hero, fill, fillAll, showName, showDate);
 			startCreate(document);
 
-			try {
-				addBiographyTable(document);
-			} catch (final Exception e) {
-				ErrorLogger.logError(e);
-			}
+			recordSection("Biografie", () -> addBiographyTable(document));
 
 			for (final TitledPane section : settingsPage.getSections()) {
 				if (!settingsPage.getBool(section, "").get()) {
 					continue;
 				}
-				try {
-					final String name = settingsPage.getString(section, null).get();
+				final String name = settingsPage.getString(section, null).get();
+				recordSection(name, () -> {
 					switch (name) {
 						case ATTRIBUTES -> {
 							try {
@@ -1061,7 +1090,7 @@ public class CompactSheet extends Sheet {
 						case "Sonderfertigkeiten", "Rituale", "Liturgien" -> addSpecialSkillsTable(document, name);
 
 						case "Kampf" -> {
-							float smallTop = bottom.bottom;
+							float smallTop = context.bottom.bottom;
 
 							try {
 								addCloseCombatTable(document, section);
@@ -1075,9 +1104,9 @@ public class CompactSheet extends Sheet {
 								ErrorLogger.logError(e);
 							}
 
-							final float smallBottom = bottom.bottom;
+							final float smallBottom = context.bottom.bottom;
 							smallTop = smallTop >= smallBottom ? smallTop : height - 5;
-							bottom.bottom = smallTop;
+							context.bottom.bottom = smallTop;
 
 							try {
 								addInfightTable(document);
@@ -1085,8 +1114,8 @@ public class CompactSheet extends Sheet {
 								ErrorLogger.logError(e);
 							}
 
-							final float secondBottom = bottom.bottom;
-							bottom.bottom = smallTop;
+							final float secondBottom = context.bottom.bottom;
+							context.bottom.bottom = smallTop;
 
 							if (settingsPage.getBool(section, "Gesamtrüstung").get()) {
 								try {
@@ -1095,7 +1124,7 @@ public class CompactSheet extends Sheet {
 									ErrorLogger.logError(e);
 								}
 							}
-							bottom.bottom = Math.min(secondBottom, bottom.bottom);
+							context.bottom.bottom = Math.min(secondBottom, context.bottom.bottom);
 
 							if (settingsPage.getBool(section, "Zonenrüstung").get()) {
 								try {
@@ -1105,16 +1134,14 @@ public class CompactSheet extends Sheet {
 								}
 							}
 
-							bottom.bottom = Math.min(bottom.bottom, smallBottom);
+							context.bottom.bottom = Math.min(context.bottom.bottom, smallBottom);
 						}
 
 						case "Talente" -> addTalentsTable(document, section);
 
 						case "Zauber" -> addSpellTable(document, section);
 					}
-				} catch (final Exception e) {
-					ErrorLogger.logError(e);
-				}
+				});
 			}
 
 			endCreate(document);
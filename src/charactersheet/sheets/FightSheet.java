@@ -16,20 +16,16 @@
 package charactersheet.sheets;
 
 import java.awt.Color;
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
-import javax.imageio.ImageIO;
-
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.PDPageContentStream.AppendMode;
-import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.controlsfx.control.CheckComboBox;
 import org.controlsfx.control.CheckModel;
@@ -43,11 +39,11 @@ import boxtable.common.Text;
 import boxtable.event.EventType;
 import boxtable.table.Column;
 import boxtable.table.Table;
-import charactersheet.util.FontManager;
+import charactersheet.util.ArmorMatrix;
+import charactersheet.util.ImageCache;
 import charactersheet.util.SheetUtil;
 import dsa41basis.util.DSAUtil;
 import dsa41basis.util.HeroUtil;
-import dsatool.resources.ResourceManager;
 import dsatool.resources.Settings;
 import dsatool.ui.RenameDialog;
 import dsatool.util.ErrorLogger;
@@ -80,6 +76,9 @@ public class FightSheet extends Sheet {
 
 	private JSONArray weaponSets;
 
+	private float wideBottom;
+	private Tuple3<String, Float, Float> pendingZoneImage;
+
 	public FightSheet() {
 		super(771);
 	}
@@ -108,22 +107,22 @@ public class FightSheet extends Sheet {
 		}
 
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(96, 96, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(96, 96, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
 		for (int i = 0; i < numCols; ++i) {
-			table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
+			table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
 		}
-		table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
 
-		table.addCells(SheetUtil.createTitleCell("Geschosstyp", 1));
-		table.addCells(SheetUtil.createTitleCell("Preis", 1));
+		table.addCells(SheetUtil.createTitleCell(context, "Geschosstyp", 1));
+		table.addCells(SheetUtil.createTitleCell(context, "Preis", 1));
 		for (int i = 1; i <= numCols; ++i) {
-			table.addCells(SheetUtil.createTitleCell("#" + i, 1));
+			table.addCells(SheetUtil.createTitleCell(context, "#" + i, 1));
 		}
-		table.addCells(SheetUtil.createTitleCell("Besonderes", 1));
+		table.addCells(SheetUtil.createTitleCell(context, "Besonderes", 1));
 
-		final JSONObject ammunitionTypes = ResourceManager.getResource("data/Geschosstypen");
+		final JSONObject ammunitionTypes = context.resources.getProjectileTypes();
 		for (final String name : ammunitionTypes.keySet()) {
 			final JSONObject type = ammunitionTypes.getObj(name);
 			table.addCells(name, "x" + DSAUtil.threeDecimalPlaces.format(type.getDoubleOrDefault("Preis:Faktor", 1.0)));
@@ -139,7 +138,7 @@ public class FightSheet extends Sheet {
 
 		if (table.getNumRows() > 1) {
 			separatePage(document, settingsPage, section);
-			bottom.bottom = table.render(document, 571, 12, bottom.bottom, 72, 10) - 5;
+			context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, 72, 10) - 5;
 			return true;
 		}
 
@@ -148,43 +147,44 @@ public class FightSheet extends Sheet {
 
 	private void addArmorValues(final Table table, final JSONObject armorSet, final int BE) {
 		table.addCells(BE);
-		for (final String zone : new String[] { "Kopf", "Brust", "Rücken", "Bauch", "Linker Arm", "Rechter Arm", "Linkes Bein", "Rechtes Bein" }) {
-			table.addCells(HeroUtil.getZoneRS(hero, zone, armorSet));
+		final ArmorMatrix armor = context.getArmorMatrix(hero);
+		for (int i = 0; i < ArmorMatrix.ZONES.length; ++i) {
+			table.addCells(armor.getZoneRS(armorSet, i));
 		}
 	}
 
 	private boolean addCloseCombatTable(final PDDocument document, final TitledPane section) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(96, 96, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(53, 53, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(53, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(35, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(30, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(26, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Nahkampfwaffen", 1);
-		final Cell typeTitle = SheetUtil.createTitleCell("Typ", 1);
-		final Cell ebeTitle = SheetUtil.createTitleCell("eBE", 1);
-		final Cell tpTitle = SheetUtil.createTitleCell("TP", 1);
-		final Cell atTitle = SheetUtil.createTitleCell("AT", 1);
-		final Cell paTitle = SheetUtil.createTitleCell("PA", 1);
-		final Cell tpkkTitle = ((TextCell) SheetUtil.createTitleCell("TP", 1)).addText("/").addText("KK").setEquallySpaced(true);
-		final Cell wmTitle = SheetUtil.createTitleCell("WM", 1);
-		final Cell iniTitle = SheetUtil.createTitleCell("INI", 1);
-		final Cell dkTitle = SheetUtil.createTitleCell("DK", 1);
-		final Cell bfTitle = SheetUtil.createTitleCell("BF", 1);
-		final Cell notesTitle = SheetUtil.createTitleCell("Besonderes", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(96, 96, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(53, 53, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(53, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(35, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(30, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(26, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Nahkampfwaffen", 1);
+		final Cell typeTitle = SheetUtil.createTitleCell(context, "Typ", 1);
+		final Cell ebeTitle = SheetUtil.createTitleCell(context, "eBE", 1);
+		final Cell tpTitle = SheetUtil.createTitleCell(context, "TP", 1);
+		final Cell atTitle = SheetUtil.createTitleCell(context, "AT", 1);
+		final Cell paTitle = SheetUtil.createTitleCell(context, "PA", 1);
+		final Cell tpkkTitle = ((TextCell) SheetUtil.createTitleCell(context, "TP", 1)).addText("/").addText("KK").setEquallySpaced(true);
+		final Cell wmTitle = SheetUtil.createTitleCell(context, "WM", 1);
+		final Cell iniTitle = SheetUtil.createTitleCell(context, "INI", 1);
+		final Cell dkTitle = SheetUtil.createTitleCell(context, "DK", 1);
+		final Cell bfTitle = SheetUtil.createTitleCell(context, "BF", 1);
+		final Cell notesTitle = SheetUtil.createTitleCell(context, "Besonderes", 1);
 		table.addRow(nameTitle, typeTitle, ebeTitle, tpTitle, atTitle, paTitle, tpkkTitle, wmTitle, iniTitle, dkTitle, bfTitle, notesTitle);
 
 		if (hero != null) {
-			final JSONObject closeCombatTalents = ResourceManager.getResource("data/Talente").getObj("Nahkampftalente");
+			final JSONObject closeCombatTalents = context.resources.getTalents().getObj("Nahkampftalente");
 			final JSONArray items = hero.getObj("Besitz").getArr("Ausrüstung");
 			for (int i = 0; i < items.size(); ++i) {
 				JSONObject item = items.getObj(i);
@@ -206,12 +206,12 @@ public class FightSheet extends Sheet {
 						final JSONObject weaponMastery = HeroUtil.getSpecialisation(hero.getObj("Sonderfertigkeiten").getArrOrDefault("Waffenmeister", null),
 								type, item.getStringOrDefault("Typ", baseWeapon.getString("Typ")));
 
-						final String tp = HeroUtil.getTPString(hero, item, baseWeapon);
+						final String tp = context.heroValues.getTPString(hero, item, baseWeapon);
 
-						final Integer atValue = HeroUtil.getAT(hero, item, type, true, false, null, false);
+						final Integer atValue = context.heroValues.getAT(hero, item, type, true, false, null, false);
 						final String at = fillAll && atValue != null ? Integer.toString(atValue) : " ";
 
-						final Integer paValue = HeroUtil.getPA(hero, item, type, false, false);
+						final Integer paValue = context.heroValues.getPA(hero, item, type, false, false);
 						final String pa = fillAll ? paValue != null ? Integer.toString(paValue) : "—" : " ";
 
 						final TextCell tpkk = getTPKKCell(item, baseWeapon, weaponMastery);
@@ -246,7 +246,7 @@ public class FightSheet extends Sheet {
 
 		if (table.getNumRows() > 1) {
 			separatePage(document, settingsPage, section);
-			bottom.bottom = table.render(document, 571, 12, bottom.bottom, 72, 10) - 5;
+			context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, 72, 10) - 5;
 			return true;
 		}
 
@@ -266,41 +266,41 @@ public class FightSheet extends Sheet {
 
 	private boolean addRangedCombatTable(final PDDocument document, final TitledPane section) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(96, 96, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(53, 53, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(53, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(12.3f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(12.3f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(12.3f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(12.3f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(12.3f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(10.9f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(10.9f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(10.9f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(10.9f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(10.9f, FontManager.serif, 7, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Fernkampfwaffen", 1);
-		final Cell typeTitle = SheetUtil.createTitleCell("Typ", 1);
-		final Cell ebeTitle = SheetUtil.createTitleCell("eBE", 1);
-		final Cell tpTitle = SheetUtil.createTitleCell("TP", 1);
-		final Cell atTitle = SheetUtil.createTitleCell("AT", 1);
-		final Cell loadTitle = SheetUtil.createTitleCell("Lad.", 1);
-		final Cell distanceTitle = SheetUtil.createTitleCell("Entfernung", 5);
-		final Cell tpdistanceTitle = SheetUtil.createTitleCell("TP+", 5);
-		final Cell numTitle = SheetUtil.createTitleCell("#", 1);
-		final Cell notesTitle = SheetUtil.createTitleCell("Besonderes", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(96, 96, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(53, 53, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(53, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(12.3f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(12.3f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(12.3f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(12.3f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(12.3f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(10.9f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(10.9f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(10.9f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(10.9f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(10.9f, context.serif, 7, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Fernkampfwaffen", 1);
+		final Cell typeTitle = SheetUtil.createTitleCell(context, "Typ", 1);
+		final Cell ebeTitle = SheetUtil.createTitleCell(context, "eBE", 1);
+		final Cell tpTitle = SheetUtil.createTitleCell(context, "TP", 1);
+		final Cell atTitle = SheetUtil.createTitleCell(context, "AT", 1);
+		final Cell loadTitle = SheetUtil.createTitleCell(context, "Lad.", 1);
+		final Cell distanceTitle = SheetUtil.createTitleCell(context, "Entfernung", 5);
+		final Cell tpdistanceTitle = SheetUtil.createTitleCell(context, "TP+", 5);
+		final Cell numTitle = SheetUtil.createTitleCell(context, "#", 1);
+		final Cell notesTitle = SheetUtil.createTitleCell(context, "Besonderes", 1);
 		table.addRow(nameTitle, typeTitle, ebeTitle, tpTitle, atTitle, loadTitle, distanceTitle, tpdistanceTitle, numTitle, notesTitle);
 
 		if (hero != null) {
 			int numAmmunition = 1;
-			final JSONObject rangedCombatTalents = ResourceManager.getResource("data/Talente").getObj("Fernkampftalente");
+			final JSONObject rangedCombatTalents = context.resources.getTalents().getObj("Fernkampftalente");
 			final JSONArray items = hero.getObj("Besitz").getArr("Ausrüstung");
 			for (int i = 0; i < items.size(); ++i) {
 				JSONObject item = items.getObj(i);
@@ -318,9 +318,9 @@ public class FightSheet extends Sheet {
 								baseWeapon.getStringOrDefault("Waffentyp:Primär", types.size() != 0 ? types.getString(0) : ""));
 						final String ebe = Integer.toString(rangedCombatTalents.getObjOrDefault(type, new JSONObject(null)).getIntOrDefault("BEAdditiv", 0));
 
-						final String tp = HeroUtil.getTPString(hero, item, baseWeapon);
+						final String tp = context.heroValues.getTPString(hero, item, baseWeapon);
 
-						final Integer atValue = HeroUtil.getAT(hero, item, type, false, false, null, false);
+						final Integer atValue = context.heroValues.getAT(hero, item, type, false, false, null, false);
 						final String at = fillAll && atValue != null ? Integer.toString(atValue) : " ";
 						final TextCell atCell = new TextCell(at);
 						if (hero.getObj("Vorteile").containsKey("Entfernungssinn")) {
@@ -355,7 +355,7 @@ public class FightSheet extends Sheet {
 								num = "#" + numAmmunition;
 								++numAmmunition;
 							} else if (fillAll) {
-								final JSONObject ammunitionTypes = ResourceManager.getResource("data/Geschosstypen");
+								final JSONObject ammunitionTypes = context.resources.getProjectileTypes();
 								final JSONObject ammunition = item.getObjOrDefault("Munition", baseWeapon.getObj("Munition"));
 								int amount = 0;
 								for (final String typeName : ammunitionTypes.keySet()) {
@@ -386,7 +386,7 @@ public class FightSheet extends Sheet {
 
 		if (table.getNumRows() > 1) {
 			separatePage(document, settingsPage, section);
-			bottom.bottom = table.render(document, 571, 12, bottom.bottom, 72, 10) - 5;
+			context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, 72, 10) - 5;
 			return true;
 		}
 
@@ -545,9 +545,9 @@ public class FightSheet extends Sheet {
 		final JSONObject weaponMastery = HeroUtil.getSpecialisation(hero.getObj("Sonderfertigkeiten").getArrOrDefault("Waffenmeister", null), weaponType,
 				weapon.getStringOrDefault("Typ", baseWeapon.getString("Typ")));
 
-		table.addCells(HeroUtil.getTPString(hero, weapon, baseWeapon));
+		table.addCells(context.heroValues.getTPString(hero, weapon, baseWeapon));
 
-		final Integer atValue = HeroUtil.getAT(hero, baseWeapon, weaponType, false, false, null, armorSet, false);
+		final Integer atValue = context.heroValues.getAT(hero, baseWeapon, weaponType, false, false, null, armorSet, false);
 
 		final String at = fillAll && atValue != null ? Integer.toString(atValue) : " ";
 		final TextCell atCell = new TextCell(at);
@@ -585,11 +585,11 @@ public class FightSheet extends Sheet {
 		final TextCell iniCell = new TextCell();
 		table.addCells(iniCell);
 
-		final int BE = HeroUtil.getBE(hero, armorSet);
+		final int BE = context.getArmorMatrix(hero).getBE(armorSet);
 
 		final JSONObject skills = hero.getObj("Sonderfertigkeiten");
 
-		int ini = HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Initiative-Basis"), hero,
+		int ini = context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Initiative-Basis"), hero,
 				hero.getObj("Basiswerte").getObj("Initiative-Basis"), false) - (skills.containsKey("Rüstungsgewöhnung III") ? (BE + 1) / 2 : BE);
 
 		if (ranged) {
@@ -628,16 +628,16 @@ public class FightSheet extends Sheet {
 		} else {
 			switch (defensiveWeaponType) {
 				case "Nahkampfwaffe" -> {
-					table.addCells(HeroUtil.getTPString(hero, weapon, baseWeapon));
-					table.addCells(HeroUtil.getAT(hero, baseWeapon, weaponType, true, secondary, otherWeapon, armorSet, false));
-					table.addCells(HeroUtil.getPA(hero, baseWeapon, weaponType, secondary, otherWeapon, armorSet, false));
+					table.addCells(context.heroValues.getTPString(hero, weapon, baseWeapon));
+					table.addCells(context.heroValues.getAT(hero, baseWeapon, weaponType, true, secondary, otherWeapon, armorSet, false));
+					table.addCells(context.heroValues.getPA(hero, baseWeapon, weaponType, secondary, otherWeapon, armorSet, false));
 					table.addCells(getTPKKCell(weapon, baseWeapon, weaponMastery));
 					table.addCells(String.join("", weapon.getArrOrDefault("Distanzklassen", baseWeapon.getArr("Distanzklassen")).getStrings()));
 				}
 				case "Schild" -> {
-					final Integer shieldAT = HeroUtil.getShieldAT(hero, baseWeapon, armorSet, false);
+					final Integer shieldAT = context.heroValues.getShieldAT(hero, baseWeapon, armorSet, false);
 					if (shieldAT != null && shieldAT > 0) {
-						table.addCells(HeroUtil.getShieldTPString(hero, baseWeapon), shieldAT, "S");
+						table.addCells(context.heroValues.getShieldTPString(hero, baseWeapon), shieldAT, "S");
 						table.addCells(new TextCell("13").addText("/").addText("3").setEquallySpaced(true));
 						table.addCells("H");
 					} else {
@@ -645,9 +645,9 @@ public class FightSheet extends Sheet {
 					}
 				}
 				case "Parierwaffe" -> {
-					final Integer defensiveAT = HeroUtil.getDefensiveWeaponAT(hero, baseWeapon, otherWeapon, armorSet, false);
+					final Integer defensiveAT = context.heroValues.getDefensiveWeaponAT(hero, baseWeapon, otherWeapon, armorSet, false);
 					if (defensiveAT != null && defensiveAT > 0) {
-						table.addCells(HeroUtil.getTPString(hero, weapon, baseWeapon));
+						table.addCells(context.heroValues.getTPString(hero, weapon, baseWeapon));
 						table.addCells(defensiveAT, "P");
 						table.addCells(getTPKKCell(weapon, baseWeapon, weaponMastery));
 						table.addCells(String.join("", weapon.getArrOrDefault("Distanzklassen", baseWeapon.getArr("Distanzklassen")).getStrings()));
@@ -664,7 +664,7 @@ public class FightSheet extends Sheet {
 	}
 
 	private void addZoneImage(final PDDocument document, final String imageName, final float imageTop, final float armorTableMid) {
-		final float shortTablesBottom = bottom.bottom;
+		final float shortTablesBottom = context.bottom.bottom;
 		final PDPage page = document.getPage(document.getNumberOfPages() - 1);
 		if ("Tabelle".equals(imageName)) {
 			final float left = 419;
@@ -701,7 +701,7 @@ public class FightSheet extends Sheet {
 				stream.stroke();
 
 				stream.beginText();
-				stream.setFont(FontManager.serifBold, 10);
+				stream.setFont(context.serifBold, 10);
 				stream.setNonStrokingColor(Color.LIGHT_GRAY);
 				stream.newLineAtOffset(left + 3, bottom + 8.5f);
 				stream.showText("LB");
@@ -727,9 +727,9 @@ public class FightSheet extends Sheet {
 			}
 		} else {
 			try {
-				final BufferedImage image = ImageIO.read(new File(Util.getAppDir() + "/resources/images/zones", imageName).toURI().toURL());
+				final File imageFile = new File(Util.getAppDir() + "/resources/images/zones", imageName);
 
-				final float ratio = (float) image.getWidth() / image.getHeight();
+				final float ratio = ImageCache.getRatio(imageFile);
 				final float maxWidth = 173;
 				final float maxHeight = imageTop - shortTablesBottom - 5;
 
@@ -748,7 +748,7 @@ public class FightSheet extends Sheet {
 					pos = shortTablesBottom + 5;
 				}
 
-				final PDImageXObject imageObject = JPEGFactory.createFromImage(document, image);
+				final PDImageXObject imageObject = context.images.getImage(imageFile, width);
 				try (PDPageContentStream stream = new PDPageContentStream(document, page, AppendMode.APPEND,
 						true)) {
 					stream.drawImage(imageObject, 496 - width / 2, pos, width, height);
@@ -763,27 +763,27 @@ public class FightSheet extends Sheet {
 
 	private void addZonesTable(final PDDocument document) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(61, FontManager.serif, 9, HAlign.LEFT));
-		table.addColumn(new Column(33, FontManager.serif, 9, HAlign.CENTER));
-		table.addColumn(new Column(28, FontManager.serif, 9, HAlign.CENTER));
-		table.addColumn(new Column(28, FontManager.serif, 9, HAlign.CENTER));
-		table.addColumn(new Column(53, FontManager.serif, 9, HAlign.CENTER));
-		table.addColumn(new Column(53, FontManager.serif, 9, HAlign.CENTER));
-		table.addColumn(new Column(156, FontManager.serif, 9, HAlign.LEFT));
-		table.addColumn(new Column(0, FontManager.serif, 9, HAlign.LEFT));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Trefferzonen", 1);
-		final Cell difficultyTitle = SheetUtil.createTitleCell("Ansage", 1);
-		final Cell paTitle = SheetUtil.createTitleCell("PA", 1);
-		final Cell rangedTitle = SheetUtil.createTitleCell("FK", 1);
-		final Cell chanceTitle = SheetUtil.createTitleCell("Zufall(W20)", 1);
-		final Cell healingTitle = SheetUtil.createTitleCell("Heilung", 1);
-		final Cell firstTitle = SheetUtil.createTitleCell("Erste/zweite/dritte Wunde", 1);
-		final Cell thirdTitle = SheetUtil.createTitleCell("Dritte Wunde zusätzlich", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(61, context.serif, 9, HAlign.LEFT));
+		table.addColumn(new Column(33, context.serif, 9, HAlign.CENTER));
+		table.addColumn(new Column(28, context.serif, 9, HAlign.CENTER));
+		table.addColumn(new Column(28, context.serif, 9, HAlign.CENTER));
+		table.addColumn(new Column(53, context.serif, 9, HAlign.CENTER));
+		table.addColumn(new Column(53, context.serif, 9, HAlign.CENTER));
+		table.addColumn(new Column(156, context.serif, 9, HAlign.LEFT));
+		table.addColumn(new Column(0, context.serif, 9, HAlign.LEFT));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Trefferzonen", 1);
+		final Cell difficultyTitle = SheetUtil.createTitleCell(context, "Ansage", 1);
+		final Cell paTitle = SheetUtil.createTitleCell(context, "PA", 1);
+		final Cell rangedTitle = SheetUtil.createTitleCell(context, "FK", 1);
+		final Cell chanceTitle = SheetUtil.createTitleCell(context, "Zufall(W20)", 1);
+		final Cell healingTitle = SheetUtil.createTitleCell(context, "Heilung", 1);
+		final Cell firstTitle = SheetUtil.createTitleCell(context, "Erste/zweite/dritte Wunde", 1);
+		final Cell thirdTitle = SheetUtil.createTitleCell(context, "Dritte Wunde zusätzlich", 1);
 		table.addRow(nameTitle, difficultyTitle, paTitle, rangedTitle, chanceTitle, healingTitle, firstTitle, thirdTitle);
 
-		final JSONObject zones = ResourceManager.getResource("data/Wunden").getObj("Zonenwunden");
+		final JSONObject zones = context.resources.get("data/Wunden").getObj("Zonenwunden");
 
 		for (final String zoneName : zones.keySet()) {
 			final JSONObject zone = zones.getObj(zoneName);
@@ -802,17 +802,17 @@ public class FightSheet extends Sheet {
 					first != null ? first.getStringOrDefault("Text", " ") : " ", third != null ? third.getStringOrDefault("Text", " ") : " ");
 		}
 
-		bottom.bottom = table.render(document, 571, 12, bottom.bottom, 72, 10) - 5;
+		context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, 72, 10) - 5;
 	}
 
 	@Override
-	public void create(final PDDocument document) throws IOException {
-		header = SheetUtil.createHeader("Kampfbrief", true, false, true, hero, fill, fillAll, showName, showDate);
+	protected void create(final PDDocument document) throws IOException {
+		context.header = SheetUtil.createHeader(context, "Kampfbrief", true, false, true, hero, fill, fillAll, showName, showDate);
 
 		startCreate(document);
 
-		float wideBottom = bottom.bottom;
-		Tuple3<String, Float, Float> zoneImage = null;
+		wideBottom = context.bottom.bottom;
+		pendingZoneImage = null;
 
 		for (final TitledPane section : settingsPage.getSections()) {
 			if (!settingsPage.getBool(section, "").get()) {
@@ -821,12 +821,12 @@ public class FightSheet extends Sheet {
 
 			final String categoryName = settingsPage.getString(section, null).get();
 
-			try {
+			recordSection(categoryName, () -> {
 				switch (categoryName) {
 					case "Nahkampfwaffen", "Fernkampfwaffen", "Geschosstypen", "Trefferzonen" -> {
-						if (zoneImage != null) {
-							addZoneImage(document, zoneImage._1, zoneImage._2, zoneImage._3);
-							zoneImage = null;
+						if (pendingZoneImage != null) {
+							addZoneImage(document, pendingZoneImage._1, pendingZoneImage._2, pendingZoneImage._3);
+							pendingZoneImage = null;
 						}
 						final boolean addedTable = switch (categoryName) {
 							case "Nahkampfwaffen" -> addCloseCombatTable(document, section);
@@ -840,7 +840,7 @@ public class FightSheet extends Sheet {
 							default -> false;
 						};
 						if (addedTable) {
-							wideBottom = bottom.bottom;
+							wideBottom = context.bottom.bottom;
 						}
 					}
 					default -> {
@@ -857,11 +857,11 @@ public class FightSheet extends Sheet {
 											data != null ? data._1 : null);
 									final String imageSetting = settingsPage.getString(section, "Bild").get();
 									if (armorTable != null && !"Keines".equals(imageSetting)) {
-										if (zoneImage != null) {
-											addZoneImage(document, zoneImage._1, zoneImage._2, zoneImage._3);
-											wideBottom = bottom.bottom;
+										if (pendingZoneImage != null) {
+											addZoneImage(document, pendingZoneImage._1, pendingZoneImage._2, pendingZoneImage._3);
+											wideBottom = context.bottom.bottom;
 										}
-										zoneImage = new Tuple3<>(imageSetting, wideBottom, bottom.bottom - armorTable._1.getHeight(397) / 2);
+										pendingZoneImage = new Tuple3<>(imageSetting, wideBottom, context.bottom.bottom - armorTable._1.getHeight(397) / 2);
 									}
 									yield armorTable;
 								} else {
@@ -870,82 +870,77 @@ public class FightSheet extends Sheet {
 							}
 						};
 						if (table != null) {
-							if (zoneImage != null) {
-								if (table._1.getHeight(table._3 ? 397 : 571) > bottom.bottom - 10 || settingsPage.getBool(section, AS_SEPARATE_SHEET).get()) {
+							if (pendingZoneImage != null) {
+								if (table._1.getHeight(table._3 ? 397 : 571) > context.bottom.bottom - 10 || settingsPage.getBool(section, AS_SEPARATE_SHEET).get()) {
 									if (List.of("Waffenloser Kampf", "Schilde/Parierwaffen", "Ausweichen", "Lebensenergie/Ausdauer").contains(categoryName)) {
-										bottom.bottom = 10;
-										addZoneImage(document, zoneImage._1, zoneImage._2, zoneImage._3);
-										zoneImage = null;
+										context.bottom.bottom = 10;
+										addZoneImage(document, pendingZoneImage._1, pendingZoneImage._2, pendingZoneImage._3);
+										pendingZoneImage = null;
 									} else {
 										@SuppressWarnings("unchecked")
 										final Tuple<JSONObject, Boolean> data = (Tuple<JSONObject, Boolean>) section.getUserData();
 										if (data == null || data._2) {
 											final String imageSetting = settingsPage.getString(section, "Bild").get();
 											if ("Keines".equals(imageSetting)) {
-												bottom.bottom = 10;
-												addZoneImage(document, zoneImage._1, zoneImage._2, zoneImage._3);
-												zoneImage = null;
+												context.bottom.bottom = 10;
+												addZoneImage(document, pendingZoneImage._1, pendingZoneImage._2, pendingZoneImage._3);
+												pendingZoneImage = null;
 											} else {
-												zoneImage = new Tuple3<>(imageSetting, (float) height, height - table._1.getHeight(397) / 2);
+												pendingZoneImage = new Tuple3<>(imageSetting, (float) height, height - table._1.getHeight(397) / 2);
 											}
 										} else {
-											addZoneImage(document, zoneImage._1, zoneImage._2, zoneImage._3);
-											zoneImage = null;
+											addZoneImage(document, pendingZoneImage._1, pendingZoneImage._2, pendingZoneImage._3);
+											pendingZoneImage = null;
 										}
 									}
 								} else if (!table._3) {
-									addZoneImage(document, zoneImage._1, zoneImage._2, zoneImage._3);
-									zoneImage = null;
+									addZoneImage(document, pendingZoneImage._1, pendingZoneImage._2, pendingZoneImage._3);
+									pendingZoneImage = null;
 								}
 							}
 							separatePage(document, settingsPage, section);
-							bottom.bottom = table._1.render(document, table._3 ? 397 : 571, 12, bottom.bottom, 72, 10) - 5;
+							context.bottom.bottom = context.render(table._1, table._3 ? 397 : 571, 12, context.bottom.bottom, 72, 10) - 5;
 							if (!table._3) {
-								wideBottom = bottom.bottom;
+								wideBottom = context.bottom.bottom;
 							}
 							table._2.run();
-							if (bottom.bottom >= wideBottom) {
+							if (context.bottom.bottom >= wideBottom) {
 								wideBottom = height;
 							}
 						}
 					}
 				}
-
-			} catch (final Exception e) {
-				ErrorLogger.logError(e);
-			}
+			});
 		}
 
-		try {
-			if (zoneImage != null) {
-				addZoneImage(document, zoneImage._1, zoneImage._2, zoneImage._3);
-				zoneImage = null;
+		recordSection("Trefferzonenbild", () -> {
+			if (pendingZoneImage != null) {
+				addZoneImage(document, pendingZoneImage._1, pendingZoneImage._2, pendingZoneImage._3);
+				pendingZoneImage = null;
 			}
-		} catch (final Exception e) {
-			ErrorLogger.logError(e);
-		}
+		});
 
 		endCreate(document);
 	}
 
 	private Tuple3<Table, Runnable, Boolean> getDefensiveWeaponsTable(final PDDocument document, final TitledPane section) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(96, 96, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(53, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(30, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Schilde/Parierwaffen", 1);
-		final Cell typeTitle = SheetUtil.createTitleCell("Typ", 1);
-		final Cell paTitle = SheetUtil.createTitleCell("PA", 1);
-		final Cell wmTitle = SheetUtil.createTitleCell("WM", 1);
-		final Cell iniTitle = SheetUtil.createTitleCell("INI", 1);
-		final Cell bfTitle = SheetUtil.createTitleCell("BF", 1);
-		final Cell notesTitle = SheetUtil.createTitleCell("Besonderes", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(96, 96, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(53, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(30, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Schilde/Parierwaffen", 1);
+		final Cell typeTitle = SheetUtil.createTitleCell(context, "Typ", 1);
+		final Cell paTitle = SheetUtil.createTitleCell(context, "PA", 1);
+		final Cell wmTitle = SheetUtil.createTitleCell(context, "WM", 1);
+		final Cell iniTitle = SheetUtil.createTitleCell(context, "INI", 1);
+		final Cell bfTitle = SheetUtil.createTitleCell(context, "BF", 1);
+		final Cell notesTitle = SheetUtil.createTitleCell(context, "Besonderes", 1);
 		table.addRow(nameTitle, typeTitle, paTitle, wmTitle, iniTitle, bfTitle, notesTitle);
 
 		if (hero != null) {
@@ -1025,23 +1020,23 @@ public class FightSheet extends Sheet {
 
 	private Tuple3<Table, Runnable, Boolean> getEnergiesTable(final PDDocument document) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(61, FontManager.serif, 10, HAlign.LEFT));
-		table.addColumn(new Column(23, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(23, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(23, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(23, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("LeP / AuP", 1);
-		final Cell maxTitle = SheetUtil.createTitleCell("max.", 1);
-		final Cell halfTitle = SheetUtil.createTitleCell("1/2", 1);
-		final Cell thirdTitle = SheetUtil.createTitleCell("1/3", 1);
-		final Cell quarterTitle = SheetUtil.createTitleCell("1/4", 1);
-		final Cell effectsTitle = SheetUtil.createTitleCell("Auswirkungen", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(61, context.serif, 10, HAlign.LEFT));
+		table.addColumn(new Column(23, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(23, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(23, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(23, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "LeP / AuP", 1);
+		final Cell maxTitle = SheetUtil.createTitleCell(context, "max.", 1);
+		final Cell halfTitle = SheetUtil.createTitleCell(context, "1/2", 1);
+		final Cell thirdTitle = SheetUtil.createTitleCell(context, "1/3", 1);
+		final Cell quarterTitle = SheetUtil.createTitleCell(context, "1/4", 1);
+		final Cell effectsTitle = SheetUtil.createTitleCell(context, "Auswirkungen", 1);
 		table.addRow(nameTitle, maxTitle, halfTitle, thirdTitle, quarterTitle, effectsTitle);
 
-		final JSONObject lowEnergy = ResourceManager.getResource("data/Niedrige_Energie");
+		final JSONObject lowEnergy = context.resources.get("data/Niedrige_Energie");
 		final StringBuilder effectsLeP = new StringBuilder();
 		boolean first = true;
 		int length = 0;
@@ -1084,14 +1079,14 @@ public class FightSheet extends Sheet {
 		}
 
 		if (hero != null && fill) {
-			final int lep = HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Lebensenergie"), hero,
+			final int lep = context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Lebensenergie"), hero,
 					hero.getObj("Basiswerte").getObj("Lebensenergie"), false);
 			final String maxLeP = Integer.toString(lep);
 			final String halfLeP = Integer.toString((int) Math.round(lep / 2.0));
 			final String thirdLeP = Integer.toString((int) Math.round(lep / 3.0));
 			final String quarterLeP = Integer.toString((int) Math.round(lep / 4.0));
 
-			final int aup = HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Ausdauer"), hero,
+			final int aup = context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Ausdauer"), hero,
 					hero.getObj("Basiswerte").getObj("Ausdauer"), false);
 			final String maxAuP = Integer.toString(aup);
 			final String halfAuP = Integer.toString((int) Math.round(aup / 2.0));
@@ -1110,28 +1105,28 @@ public class FightSheet extends Sheet {
 
 	private Tuple3<Table, Runnable, Boolean> getEvasionTable(final PDDocument document) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(41, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(92, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(144, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(70, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, FontManager.serif, fontSize, HAlign.CENTER));
-
-		final Cell paTitle = SheetUtil.createTitleCell("PA-Basis", 1);
-		final Cell beTitle = SheetUtil.createTitleCell("-BE", 1);
-		final Cell evadingTitle = SheetUtil.createTitleCell("Ausweichen I/II/III", 1);
-		final Cell acrobaticsTitle = SheetUtil.createTitleCell("Akrobatik 12/15/18/21/24", 1);
-		final Cell agileTitle = SheetUtil.createTitleCell("Flink/Behäbig", 1);
-		final Cell resultsTitle = SheetUtil.createTitleCell("=", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(41, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(92, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(144, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(70, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, context.serif, fontSize, HAlign.CENTER));
+
+		final Cell paTitle = SheetUtil.createTitleCell(context, "PA-Basis", 1);
+		final Cell beTitle = SheetUtil.createTitleCell(context, "-BE", 1);
+		final Cell evadingTitle = SheetUtil.createTitleCell(context, "Ausweichen I/II/III", 1);
+		final Cell acrobaticsTitle = SheetUtil.createTitleCell(context, "Akrobatik 12/15/18/21/24", 1);
+		final Cell agileTitle = SheetUtil.createTitleCell(context, "Flink/Behäbig", 1);
+		final Cell resultsTitle = SheetUtil.createTitleCell(context, "=", 1);
 		table.addRow(paTitle, beTitle, evadingTitle, acrobaticsTitle, agileTitle, resultsTitle);
 
 		if (hero != null && fill) {
-			final int PABase = HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Parade-Basis"), hero,
+			final int PABase = context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Parade-Basis"), hero,
 					hero.getObj("Basiswerte").getObj("Parade-Basis"), true);
 			final String pa = Integer.toString(PABase);
 
-			final int BE = HeroUtil.getBE(hero);
+			final int BE = context.getArmorMatrix(hero).getBE();
 			final String be = Integer.toString(-BE);
 
 			final TextCell evading = new TextCell("     +3").addText("/").addText("     +3").addText("/").addText("     +3").setEquallySpaced(true);
@@ -1157,53 +1152,53 @@ public class FightSheet extends Sheet {
 				if (hero != null && fill) {
 					final JSONObject specialSkills = hero.getObj("Sonderfertigkeiten");
 					if (specialSkills.containsKey("Ausweichen I")) {
-						SheetUtil.checkChoiceBox(stream, 80, bottom.bottom + 15);
+						SheetUtil.checkChoiceBox(stream, 80, context.bottom.bottom + 15);
 					}
 					if (specialSkills.containsKey("Ausweichen II")) {
-						SheetUtil.checkChoiceBox(stream, 110, bottom.bottom + 15);
+						SheetUtil.checkChoiceBox(stream, 110, context.bottom.bottom + 15);
 					}
 					if (specialSkills.containsKey("Ausweichen III")) {
-						SheetUtil.checkChoiceBox(stream, 141, bottom.bottom + 15);
+						SheetUtil.checkChoiceBox(stream, 141, context.bottom.bottom + 15);
 					}
 
 					final JSONObject acrobaticsTalent = hero.getObj("Talente").getObj("Körperliche Talente").getObjOrDefault("Akrobatik", null);
 					if (acrobaticsTalent != null) {
 						final int acrobaticsValue = acrobaticsTalent.getIntOrDefault("TaW", 0);
 						if (acrobaticsValue > 11) {
-							SheetUtil.checkChoiceBox(stream, 171, bottom.bottom + 15);
+							SheetUtil.checkChoiceBox(stream, 171, context.bottom.bottom + 15);
 							if (acrobaticsValue >= 15) {
-								SheetUtil.checkChoiceBox(stream, 200, bottom.bottom + 15);
+								SheetUtil.checkChoiceBox(stream, 200, context.bottom.bottom + 15);
 							}
 							if (acrobaticsValue >= 18) {
-								SheetUtil.checkChoiceBox(stream, 229, bottom.bottom + 15);
+								SheetUtil.checkChoiceBox(stream, 229, context.bottom.bottom + 15);
 							}
 							if (acrobaticsValue >= 21) {
-								SheetUtil.checkChoiceBox(stream, 258, bottom.bottom + 15);
+								SheetUtil.checkChoiceBox(stream, 258, context.bottom.bottom + 15);
 							}
 							if (acrobaticsValue >= 24) {
-								SheetUtil.checkChoiceBox(stream, 287, bottom.bottom + 15);
+								SheetUtil.checkChoiceBox(stream, 287, context.bottom.bottom + 15);
 							}
 						}
 					}
 
 					if (hero.getObj("Vorteile").containsKey("Flink")) {
-						SheetUtil.checkChoiceBox(stream, 318, bottom.bottom + 15);
+						SheetUtil.checkChoiceBox(stream, 318, context.bottom.bottom + 15);
 					}
 					if (hero.getObj("Nachteile").containsKey("Behäbig")) {
-						SheetUtil.checkChoiceBox(stream, 353, bottom.bottom + 15);
+						SheetUtil.checkChoiceBox(stream, 353, context.bottom.bottom + 15);
 					}
 				}
 
-				SheetUtil.drawChoiceBox(stream, 80, bottom.bottom + 15);
-				SheetUtil.drawChoiceBox(stream, 110, bottom.bottom + 15);
-				SheetUtil.drawChoiceBox(stream, 141, bottom.bottom + 15);
-				SheetUtil.drawChoiceBox(stream, 171, bottom.bottom + 15);
-				SheetUtil.drawChoiceBox(stream, 200, bottom.bottom + 15);
-				SheetUtil.drawChoiceBox(stream, 229, bottom.bottom + 15);
-				SheetUtil.drawChoiceBox(stream, 258, bottom.bottom + 15);
-				SheetUtil.drawChoiceBox(stream, 287, bottom.bottom + 15);
-				SheetUtil.drawChoiceBox(stream, 318, bottom.bottom + 15);
-				SheetUtil.drawChoiceBox(stream, 353, bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 80, context.bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 110, context.bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 141, context.bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 171, context.bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 200, context.bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 229, context.bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 258, context.bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 287, context.bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 318, context.bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 353, context.bottom.bottom + 15);
 			} catch (final IOException e) {
 				ErrorLogger.logError(e);
 			}
@@ -1213,22 +1208,22 @@ public class FightSheet extends Sheet {
 
 	private Tuple3<Table, Runnable, Boolean> getInfightTable(final PDDocument document) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(96, 96, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(53, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(35, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Waffenloser Kampf", 1);
-		final Cell tpTitle = SheetUtil.createTitleCell("TP", 1);
-		final Cell atTitle = SheetUtil.createTitleCell("AT", 1);
-		final Cell paTitle = SheetUtil.createTitleCell("PA", 1);
-		final Cell tpkkTitle = ((TextCell) SheetUtil.createTitleCell("TP", 1)).addText("/").addText("KK").setEquallySpaced(true);
-		final Cell iniTitle = SheetUtil.createTitleCell("INI", 1);
-		final Cell notesTitle = SheetUtil.createTitleCell("Besonderes", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(96, 96, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(53, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(35, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Waffenloser Kampf", 1);
+		final Cell tpTitle = SheetUtil.createTitleCell(context, "TP", 1);
+		final Cell atTitle = SheetUtil.createTitleCell(context, "AT", 1);
+		final Cell paTitle = SheetUtil.createTitleCell(context, "PA", 1);
+		final Cell tpkkTitle = ((TextCell) SheetUtil.createTitleCell(context, "TP", 1)).addText("/").addText("KK").setEquallySpaced(true);
+		final Cell iniTitle = SheetUtil.createTitleCell(context, "INI", 1);
+		final Cell notesTitle = SheetUtil.createTitleCell(context, "Besonderes", 1);
 		table.addRow(nameTitle, tpTitle, atTitle, paTitle, tpkkTitle, iniTitle, notesTitle);
 
 		int TPKKModifier = 0;
@@ -1236,14 +1231,14 @@ public class FightSheet extends Sheet {
 		final TextCell tpkk = new TextCell("10").addText("/").addText("3").setEquallySpaced(true);
 
 		if (hero != null && fill) {
-			TPKKModifier = (HeroUtil.getCurrentValue(hero.getObj("Eigenschaften").getObj("KK"), false) - 10) / 3;
+			TPKKModifier = (context.heroValues.getCurrentValue(hero.getObj("Eigenschaften").getObj("KK"), false) - 10) / 3;
 			final String tp = "1W" + (TPKKModifier == 0 ? "" : Util.getSignedIntegerString(TPKKModifier)) + "(A)";
-			final String at1 = fillAll ? Integer.toString(HeroUtil.getAT(hero, HeroUtil.infight, "Raufen", true, false, null, false)) : " ";
-			final String pa1 = fillAll ? Integer.toString(HeroUtil.getPA(hero, HeroUtil.infight, "Raufen", false, false)) : " ";
+			final String at1 = fillAll ? Integer.toString(context.heroValues.getAT(hero, HeroUtil.infight, "Raufen", true, false, null, false)) : " ";
+			final String pa1 = fillAll ? Integer.toString(context.heroValues.getPA(hero, HeroUtil.infight, "Raufen", false, false)) : " ";
 			final String notes1 = HeroUtil.getWeaponNotes(HeroUtil.infight, HeroUtil.infight, "Raufen", hero);
 			table.addRow("Raufen", tp, at1, pa1, tpkk, "±0", notes1);
-			final String at2 = fillAll ? Integer.toString(HeroUtil.getAT(hero, HeroUtil.infight, "Ringen", true, false, null, false)) : " ";
-			final String pa2 = fillAll ? Integer.toString(HeroUtil.getPA(hero, HeroUtil.infight, "Ringen", false, false)) : " ";
+			final String at2 = fillAll ? Integer.toString(context.heroValues.getAT(hero, HeroUtil.infight, "Ringen", true, false, null, false)) : " ";
+			final String pa2 = fillAll ? Integer.toString(context.heroValues.getPA(hero, HeroUtil.infight, "Ringen", false, false)) : " ";
 			final String notes2 = HeroUtil.getWeaponNotes(HeroUtil.infight, HeroUtil.infight, "Ringen", hero);
 			table.addRow("Ringen", tp, at2, pa2, tpkk, "±0", notes2);
 		} else {
@@ -1354,11 +1349,11 @@ public class FightSheet extends Sheet {
 	@SuppressWarnings("unchecked")
 	private Tuple3<Table, Runnable, Boolean> getWeaponSetTable(final PDDocument document, final TitledPane section, final String setName) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe().invert(true));
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(274, FontManager.serif, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(297, FontManager.serif, fontSize, HAlign.LEFT));
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(274, context.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(297, context.serif, fontSize, HAlign.LEFT));
 
-		table.addRow(SheetUtil.createTitleCell(setName, 2));
+		table.addRow(SheetUtil.createTitleCell(context, setName, 2));
 
 		final String type = settingsPage.getString(section, "Zusatzzeilen").getValue();
 
@@ -1394,15 +1389,15 @@ public class FightSheet extends Sheet {
 					mainBase = baseItem;
 				}
 				final float width = fixedTables.size() == 1 ? ranged ? 130 : 121 : 153;
-				fixedTable.addColumn(new Column(width, width, FontManager.serif, 4, fontSize, HAlign.LEFT));
-				final Column lastColumn = new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT);
+				fixedTable.addColumn(new Column(width, width, context.serif, 4, fontSize, HAlign.LEFT));
+				final Column lastColumn = new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT);
 				if (fixedTables.size() == 1) {
 					lastColumn.setRightBorder(0);
 				}
 				fixedTable.addColumn(lastColumn);
 
-				final Cell nameTitle = new TextCell(current, FontManager.serifBold, 0, 6f).setBackground(Color.white);
-				final Cell notesTitle = new TextCell("Anmerkungen", FontManager.serifBold, 0, 6f).setBackground(Color.white);
+				final Cell nameTitle = new TextCell(current, context.serifBold, 0, 6f).setBackground(Color.white);
+				final Cell notesTitle = new TextCell("Anmerkungen", context.serifBold, 0, 6f).setBackground(Color.white);
 				fixedTable.addRow(nameTitle, notesTitle);
 
 				final JSONArray types = item.getArrOrDefault("Waffentypen", baseItem.getArr("Waffentypen"));
@@ -1419,96 +1414,96 @@ public class FightSheet extends Sheet {
 			final Table armorTable = new Table().setFiller(SheetUtil.stripe()).setBorder(0, 0, 0, 0);
 			fixedTables.add(armorTable);
 			final float nameWidth = fixedTables.size() == 1 ? 130 : 153;
-			armorTable.addColumn(new Column(nameWidth, nameWidth, FontManager.serif, 4, fontSize, HAlign.LEFT));
-			armorTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-			armorTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-			armorTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-			armorTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-			armorTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-			armorTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-			armorTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-			armorTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-			final Column lastColumn = new Column(16, FontManager.serif, fontSize, HAlign.CENTER);
+			armorTable.addColumn(new Column(nameWidth, nameWidth, context.serif, 4, fontSize, HAlign.LEFT));
+			armorTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+			armorTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+			armorTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+			armorTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+			armorTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+			armorTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+			armorTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+			armorTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+			final Column lastColumn = new Column(16, context.serif, fontSize, HAlign.CENTER);
 			if (fixedTables.size() == 1) {
 				lastColumn.setRightBorder(0);
 			}
 			armorTable.addColumn(lastColumn);
 			for (final String title : List.of("Rüstung", "BE", "K", "Br", "R", "Ba", "LA", "RA", "LB", "RB")) {
-				armorTable.addCells(new TextCell(title, FontManager.serifBold, 0, 6f).setBackground(Color.white));
+				armorTable.addCells(new TextCell(title, context.serifBold, 0, 6f).setBackground(Color.white));
 			}
 			actualArmor = armor.get(0);
 			final String armorSetName = actualArmor == null ? "Rüstung" : actualArmor.getStringOrDefault("Name", "Unbenannt");
 			armorTable.addCells(armorSetName);
-			addArmorValues(armorTable, actualArmor, HeroUtil.getBE(hero, actualArmor));
+			addArmorValues(armorTable, actualArmor, context.getArmorMatrix(hero).getBE(actualArmor));
 		}
 
 		if (fixedTables.size() == 1) {
 			final Table empty = new Table();
-			empty.addColumn(new Column(0, FontManager.serif, 0, HAlign.LEFT));
+			empty.addColumn(new Column(0, context.serif, 0, HAlign.LEFT));
 			empty.addRow(new TextCell("").setBackground(Color.white).setMinHeight(fixedTables.get(0).getHeight(275)));
 			fixedTables.add(empty);
 		}
 
 		final Table itemsTable = new Table().setFiller(SheetUtil.stripe().invert(true));
 
-		final Cell nameTitle = new TextCell(type, FontManager.serifBold, 0, 6f);
-		final Cell iniTitle = new TextCell("INI", FontManager.serifBold, 0, 6f);
-		final Cell tpTitle = new TextCell("TP", FontManager.serifBold, 0, 6f);
-		final Cell atTitle = new TextCell("AT", FontManager.serifBold, 0, 6f);
+		final Cell nameTitle = new TextCell(type, context.serifBold, 0, 6f);
+		final Cell iniTitle = new TextCell("INI", context.serifBold, 0, 6f);
+		final Cell tpTitle = new TextCell("TP", context.serifBold, 0, 6f);
+		final Cell atTitle = new TextCell("AT", context.serifBold, 0, 6f);
 
 		if (ranged) {
-			itemsTable.addColumn(new Column(130, 130, FontManager.serif, 4, fontSize, HAlign.LEFT));
-			itemsTable.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(72, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(24, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(16.8f, FontManager.serif, 8, HAlign.CENTER));
-			itemsTable.addColumn(new Column(16.8f, FontManager.serif, 8, HAlign.CENTER));
-			itemsTable.addColumn(new Column(16.8f, FontManager.serif, 8, HAlign.CENTER));
-			itemsTable.addColumn(new Column(16.8f, FontManager.serif, 8, HAlign.CENTER));
-			itemsTable.addColumn(new Column(16.8f, FontManager.serif, 8, HAlign.CENTER));
-			itemsTable.addColumn(new Column(15.4f, FontManager.serif, 8, HAlign.CENTER));
-			itemsTable.addColumn(new Column(15.4f, FontManager.serif, 8, HAlign.CENTER));
-			itemsTable.addColumn(new Column(15.4f, FontManager.serif, 8, HAlign.CENTER));
-			itemsTable.addColumn(new Column(15.4f, FontManager.serif, 8, HAlign.CENTER));
-			itemsTable.addColumn(new Column(15.4f, FontManager.serif, 8, HAlign.CENTER));
-
-			final Cell loadTitle = new TextCell("Lad.", FontManager.serifBold, 0, 6f);
-			final Cell distanceTitle = new TextCell("Entfernung", FontManager.serifBold, 0, 6f).setColSpan(5);
-			final Cell tpdistanceTitle = new TextCell("TP+", FontManager.serifBold, 0, 6f).setColSpan(5);
+			itemsTable.addColumn(new Column(130, 130, context.serif, 4, fontSize, HAlign.LEFT));
+			itemsTable.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(72, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(24, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(16.8f, context.serif, 8, HAlign.CENTER));
+			itemsTable.addColumn(new Column(16.8f, context.serif, 8, HAlign.CENTER));
+			itemsTable.addColumn(new Column(16.8f, context.serif, 8, HAlign.CENTER));
+			itemsTable.addColumn(new Column(16.8f, context.serif, 8, HAlign.CENTER));
+			itemsTable.addColumn(new Column(16.8f, context.serif, 8, HAlign.CENTER));
+			itemsTable.addColumn(new Column(15.4f, context.serif, 8, HAlign.CENTER));
+			itemsTable.addColumn(new Column(15.4f, context.serif, 8, HAlign.CENTER));
+			itemsTable.addColumn(new Column(15.4f, context.serif, 8, HAlign.CENTER));
+			itemsTable.addColumn(new Column(15.4f, context.serif, 8, HAlign.CENTER));
+			itemsTable.addColumn(new Column(15.4f, context.serif, 8, HAlign.CENTER));
+
+			final Cell loadTitle = new TextCell("Lad.", context.serifBold, 0, 6f);
+			final Cell distanceTitle = new TextCell("Entfernung", context.serifBold, 0, 6f).setColSpan(5);
+			final Cell tpdistanceTitle = new TextCell("TP+", context.serifBold, 0, 6f).setColSpan(5);
 
 			itemsTable.addCells(nameTitle, iniTitle, tpTitle, atTitle, loadTitle, distanceTitle, tpdistanceTitle);
 		} else {
-			itemsTable.addColumn(new Column(101, 101, FontManager.serif, 4, fontSize, HAlign.LEFT));
-			itemsTable.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(53, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(35, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(53, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(35, FontManager.serif, fontSize, HAlign.CENTER));
-			itemsTable.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-
-			final Cell paTitle = new TextCell("PA", FontManager.serifBold, 0, 6f);
-			final Cell tpkkTitle = new TextCell("TP/KK", FontManager.serifBold, 0, 6f);
-			final Cell dkTitle = new TextCell("DK", FontManager.serifBold, 0, 6f);
-			final Cell tp2Title = new TextCell("TP 2", FontManager.serifBold, 0, 6f);
-			final Cell at2Title = new TextCell("AT 2", FontManager.serifBold, 0, 6f);
-			final Cell pa2Title = new TextCell("PA 2", FontManager.serifBold, 0, 6f);
-			final Cell tpkk2Title = new TextCell("TP/KK 2", FontManager.serifBold, 0, 6f);
-			final Cell dk2Title = new TextCell("DK 2", FontManager.serifBold, 0, 6f);
+			itemsTable.addColumn(new Column(101, 101, context.serif, 4, fontSize, HAlign.LEFT));
+			itemsTable.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(53, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(35, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(53, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(35, context.serif, fontSize, HAlign.CENTER));
+			itemsTable.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+
+			final Cell paTitle = new TextCell("PA", context.serifBold, 0, 6f);
+			final Cell tpkkTitle = new TextCell("TP/KK", context.serifBold, 0, 6f);
+			final Cell dkTitle = new TextCell("DK", context.serifBold, 0, 6f);
+			final Cell tp2Title = new TextCell("TP 2", context.serifBold, 0, 6f);
+			final Cell at2Title = new TextCell("AT 2", context.serifBold, 0, 6f);
+			final Cell pa2Title = new TextCell("PA 2", context.serifBold, 0, 6f);
+			final Cell tpkk2Title = new TextCell("TP/KK 2", context.serifBold, 0, 6f);
+			final Cell dk2Title = new TextCell("DK 2", context.serifBold, 0, 6f);
 
 			itemsTable.addCells(nameTitle, iniTitle, tpTitle, atTitle, paTitle, tpkkTitle, dkTitle, tp2Title, at2Title, pa2Title, tpkk2Title, dk2Title);
 		}
 
 		switch (type) {
 			case "Hauptwaffe" -> {
-				itemsTable.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
+				itemsTable.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
 
-				final Cell notesTitle = new TextCell("Anmerkungen", FontManager.serifBold, 0, 6f);
+				final Cell notesTitle = new TextCell("Anmerkungen", context.serifBold, 0, 6f);
 				itemsTable.addCells(notesTitle);
 				itemsTable.completeRow();
 
@@ -1521,9 +1516,9 @@ public class FightSheet extends Sheet {
 				}
 			}
 			case "Seitenwaffe" -> {
-				itemsTable.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
+				itemsTable.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
 
-				final Cell notesTitle = new TextCell("Anmerkungen", FontManager.serifBold, 0, 6f);
+				final Cell notesTitle = new TextCell("Anmerkungen", context.serifBold, 0, 6f);
 				itemsTable.addCells(notesTitle);
 				itemsTable.completeRow();
 
@@ -1537,25 +1532,25 @@ public class FightSheet extends Sheet {
 				}
 			}
 			case "Rüstung" -> {
-				itemsTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-				itemsTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-				itemsTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-				itemsTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-				itemsTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-				itemsTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-				itemsTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-				itemsTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-				itemsTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-
-				final Cell beTitle = new TextCell("BE", FontManager.serifBold, 0, 6f);
-				final Cell kTitle = new TextCell("K", FontManager.serifBold, 0, 6f);
-				final Cell brTitle = new TextCell("Br", FontManager.serifBold, 0, 6f);
-				final Cell rTitle = new TextCell("R", FontManager.serifBold, 0, 6f);
-				final Cell baTitle = new TextCell("Ba", FontManager.serifBold, 0, 6f);
-				final Cell laTitle = new TextCell("LA", FontManager.serifBold, 0, 6f);
-				final Cell raTitle = new TextCell("RA", FontManager.serifBold, 0, 6f);
-				final Cell lbTitle = new TextCell("LB", FontManager.serifBold, 0, 6f);
-				final Cell rbTitle = new TextCell("RB", FontManager.serifBold, 0, 6f);
+				itemsTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+				itemsTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+				itemsTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+				itemsTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+				itemsTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+				itemsTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+				itemsTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+				itemsTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+				itemsTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+
+				final Cell beTitle = new TextCell("BE", context.serifBold, 0, 6f);
+				final Cell kTitle = new TextCell("K", context.serifBold, 0, 6f);
+				final Cell brTitle = new TextCell("Br", context.serifBold, 0, 6f);
+				final Cell rTitle = new TextCell("R", context.serifBold, 0, 6f);
+				final Cell baTitle = new TextCell("Ba", context.serifBold, 0, 6f);
+				final Cell laTitle = new TextCell("LA", context.serifBold, 0, 6f);
+				final Cell raTitle = new TextCell("RA", context.serifBold, 0, 6f);
+				final Cell lbTitle = new TextCell("LB", context.serifBold, 0, 6f);
+				final Cell rbTitle = new TextCell("RB", context.serifBold, 0, 6f);
 				itemsTable.addCells(beTitle, kTitle, brTitle, rTitle, baTitle, laTitle, raTitle, lbTitle, rbTitle);
 				itemsTable.completeRow();
 
@@ -1606,32 +1601,32 @@ public class FightSheet extends Sheet {
 	private Tuple3<Table, Runnable, Boolean> getZoneArmorTable(final PDDocument document, final TitledPane section, final String title,
 			final JSONObject armorSet) {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-		table.addColumn(new Column(96, 96, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(18, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(40, FontManager.serif, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(60, FontManager.serif, fontSize, HAlign.RIGHT));
-		table.addColumn(new Column(0, FontManager.serif, fontSize, HAlign.CENTER));
-
-		final Cell nameTitle = SheetUtil.createTitleCell(title, 1);
-		final Cell beTitle = SheetUtil.createTitleCell("BE", 1);
-		final Cell kTitle = SheetUtil.createTitleCell("K", 1);
-		final Cell brTitle = SheetUtil.createTitleCell("Br", 1);
-		final Cell rTitle = SheetUtil.createTitleCell("R", 1);
-		final Cell baTitle = SheetUtil.createTitleCell("Ba", 1);
-		final Cell laTitle = SheetUtil.createTitleCell("LA", 1);
-		final Cell raTitle = SheetUtil.createTitleCell("RA", 1);
-		final Cell lbTitle = SheetUtil.createTitleCell("LB", 1);
-		final Cell rbTitle = SheetUtil.createTitleCell("RB", 1);
-		final Cell notesTitle = SheetUtil.createTitleCell("Besonderes", 3);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+		table.addColumn(new Column(96, 96, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(18, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(40, context.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(60, context.serif, fontSize, HAlign.RIGHT));
+		table.addColumn(new Column(0, context.serif, fontSize, HAlign.CENTER));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, title, 1);
+		final Cell beTitle = SheetUtil.createTitleCell(context, "BE", 1);
+		final Cell kTitle = SheetUtil.createTitleCell(context, "K", 1);
+		final Cell brTitle = SheetUtil.createTitleCell(context, "Br", 1);
+		final Cell rTitle = SheetUtil.createTitleCell(context, "R", 1);
+		final Cell baTitle = SheetUtil.createTitleCell(context, "Ba", 1);
+		final Cell laTitle = SheetUtil.createTitleCell(context, "LA", 1);
+		final Cell raTitle = SheetUtil.createTitleCell(context, "RA", 1);
+		final Cell lbTitle = SheetUtil.createTitleCell(context, "LB", 1);
+		final Cell rbTitle = SheetUtil.createTitleCell(context, "RB", 1);
+		final Cell notesTitle = SheetUtil.createTitleCell(context, "Besonderes", 3);
 		table.addRow(nameTitle, beTitle, kTitle, brTitle, rTitle, baTitle, laTitle, raTitle, lbTitle, rbTitle, notesTitle);
 
 		if (hero != null) {
@@ -1705,30 +1700,30 @@ public class FightSheet extends Sheet {
 
 		final Cell sum = new TextCell("Summe:").setHAlign(HAlign.RIGHT);
 
-		final String beSum = hero != null && fill ? DSAUtil.threeDecimalPlaces.format(HeroUtil.getBERaw(hero, armorSet)) : " ";
+		final String beSum = hero != null && fill ? DSAUtil.threeDecimalPlaces.format(context.getArmorMatrix(hero).getBERaw(armorSet)) : " ";
 
 		final Cell rg = new TextCell("Rüstungsgewöhnung:      I      II      III").setHAlign(HAlign.LEFT).setColSpan(9);
 
-		final String beResult = hero != null && fill ? Integer.toString(HeroUtil.getBE(hero, armorSet)) : " ";
+		final String beResult = hero != null && fill ? Integer.toString(context.getArmorMatrix(hero).getBE(armorSet)) : " ";
 
 		table.addRow(sum, beSum, rg, "Ergebnis:", beResult);
 
 		if (table.getNumRows() > 2) return new Tuple3<>(table, () -> {
 			try (PDPageContentStream stream = new PDPageContentStream(document, document.getPage(document.getNumberOfPages() - 1), AppendMode.APPEND, true)) {
-				SheetUtil.drawChoiceBox(stream, 238, bottom.bottom + 15);
-				SheetUtil.drawChoiceBox(stream, 258, bottom.bottom + 15);
-				SheetUtil.drawChoiceBox(stream, 281, bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 238, context.bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 258, context.bottom.bottom + 15);
+				SheetUtil.drawChoiceBox(stream, 281, context.bottom.bottom + 15);
 
 				if (hero != null && fill) {
 					final JSONObject skills = hero.getObj("Sonderfertigkeiten");
 					if (skills.containsKey("Rüstungsgewöhnung I") && HeroUtil.hasReducedBE(hero, armorSet)) {
-						SheetUtil.checkChoiceBox(stream, 238, bottom.bottom + 15);
+						SheetUtil.checkChoiceBox(stream, 238, context.bottom.bottom + 15);
 					}
 					if (skills.containsKey("Rüstungsgewöhnung II")) {
-						SheetUtil.checkChoiceBox(stream, 258, bottom.bottom + 15);
+						SheetUtil.checkChoiceBox(stream, 258, context.bottom.bottom + 15);
 					}
 					if (skills.containsKey("Rüstungsgewöhnung III")) {
-						SheetUtil.checkChoiceBox(stream, 281, bottom.bottom + 15);
+						SheetUtil.checkChoiceBox(stream, 281, context.bottom.bottom + 15);
 					}
 				}
 			} catch (final IOException e) {
@@ -30,13 +30,10 @@ import boxtable.common.HAlign;
 import boxtable.event.EventType;
 import boxtable.table.Column;
 import boxtable.table.Table;
-import charactersheet.util.FontManager;
 import charactersheet.util.SheetUtil;
 import dsa41basis.util.DSAUtil;
 import dsa41basis.util.DSAUtil.Units;
 import dsa41basis.util.HeroUtil;
-import dsatool.resources.ResourceManager;
-import dsatool.util.ErrorLogger;
 import dsatool.util.StringUtil;
 import javafx.scene.control.TitledPane;
 import jsonant.value.JSONArray;
@@ -74,25 +71,25 @@ public class InventorySheet extends Sheet {
 
 	private void addArtifactsTable(final PDDocument document, final int additionalRows) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(100, 100, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(35, 35, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(35, 35, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(126, 126, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(126, 126, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(124, 124, FontManager.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(100, 100, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(35, 35, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(35, 35, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(126, 126, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(126, 126, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(124, 124, context.serif, 4, fontSize, HAlign.LEFT));
 
 		String controlValue;
 		if (hero != null && fill) {
-			final JSONObject derivation = ResourceManager.getResource("data/Basiswerte").getObj("Artefaktkontrolle");
-			controlValue = Integer.toString(HeroUtil.deriveValue(derivation, hero, hero.getObj("Basiswerte").getObj("Artefaktkontrolle"), false));
+			final JSONObject derivation = context.resources.getBasicValues().getObj("Artefaktkontrolle");
+			controlValue = Integer.toString(context.heroValues.deriveValue(derivation, hero, hero.getObj("Basiswerte").getObj("Artefaktkontrolle"), false));
 		} else {
 			controlValue = "___";
 		}
 
-		table.addRowAtIndex(0, SheetUtil.createTitleCell("Artefakte", 1).setBorder(0, 0, 0, 0.25f),
+		table.addRowAtIndex(0, SheetUtil.createTitleCell(context, "Artefakte", 1).setBorder(0, 0, 0, 0.25f),
 				new TextCell("Artefaktkontrolle: ___ / " + controlValue).setHAlign(HAlign.RIGHT).setColSpan(6).setBorder(0, 0, 0, 0.25f));
 
 		int rows = additionalRows;
@@ -108,13 +105,13 @@ public class InventorySheet extends Sheet {
 		}
 		rows = Math.max(rows, 1);
 
-		final TextCell nameTitle = new TextCell("Artefakt", FontManager.serifBold, 8.5f, 8.5f);
-		final TextCell typeTitle = new TextCell("Typ", FontManager.serifBold, 8.5f, 8.5f);
-		final TextCell loadsTitle = new TextCell("Lad.", FontManager.serifBold, 8.5f, 8.5f);
-		final TextCell aspTitle = new TextCell("AsP", FontManager.serifBold, 8.5f, 8.5f);
-		final TextCell triggerTitle = new TextCell("Auslöser", FontManager.serifBold, 8.5f, 8.5f);
-		final TextCell spellsTitle = new TextCell("Wirkende Sprüche", FontManager.serifBold, 8.5f, 8.5f);
-		final TextCell notesTitle = new TextCell("Anmerkungen", FontManager.serifBold, 8.5f, 8.5f);
+		final TextCell nameTitle = new TextCell("Artefakt", context.serifBold, 8.5f, 8.5f);
+		final TextCell typeTitle = new TextCell("Typ", context.serifBold, 8.5f, 8.5f);
+		final TextCell loadsTitle = new TextCell("Lad.", context.serifBold, 8.5f, 8.5f);
+		final TextCell aspTitle = new TextCell("AsP", context.serifBold, 8.5f, 8.5f);
+		final TextCell triggerTitle = new TextCell("Auslöser", context.serifBold, 8.5f, 8.5f);
+		final TextCell spellsTitle = new TextCell("Wirkende Sprüche", context.serifBold, 8.5f, 8.5f);
+		final TextCell notesTitle = new TextCell("Anmerkungen", context.serifBold, 8.5f, 8.5f);
 
 		table.addRow(nameTitle, typeTitle, loadsTitle, aspTitle, triggerTitle, spellsTitle, notesTitle);
 
@@ -168,18 +165,18 @@ public class InventorySheet extends Sheet {
 			}
 		}
 
-		bottom.bottom = table.render(document, 571, 12, bottom.bottom, settingsPage.getBool(SHOW_ATTRIBUTES).get() ? 72 : 54, 10) - 5;
+		context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, settingsPage.getBool(SHOW_ATTRIBUTES).get() ? 72 : 54, 10) - 5;
 	}
 
 	private void addClothingTable(final PDDocument document, final int additionalRows) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(283, FontManager.serif, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(5, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(283, FontManager.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(283, context.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(5, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(283, context.serif, fontSize, HAlign.LEFT));
 
-		SheetUtil.addTitle(table, "Kleidung");
+		SheetUtil.addTitle(context, table, "Kleidung");
 
 		int rows = additionalRows + 1;
 		final Queue<JSONObject> clothing = new LinkedList<>();
@@ -199,13 +196,13 @@ public class InventorySheet extends Sheet {
 		for (int i = 0; i < 2; ++i) {
 			tables[i] = new Table().setFiller(SheetUtil.stripe().invert(true)).setBorder(0, 0, 0, 0);
 
-			tables[i].addColumn(new Column(100, 100, FontManager.serif, 4, fontSize, HAlign.LEFT));
-			tables[i].addColumn(new Column(158, 158, FontManager.serif, 4, fontSize, HAlign.LEFT));
-			tables[i].addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
+			tables[i].addColumn(new Column(100, 100, context.serif, 4, fontSize, HAlign.LEFT));
+			tables[i].addColumn(new Column(158, 158, context.serif, 4, fontSize, HAlign.LEFT));
+			tables[i].addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
 
-			final TextCell nameTitle = new TextCell("Kleidungsstück", FontManager.serifBold, 8.5f, 8.5f);
-			final TextCell notesTitle = new TextCell("Anmerkungen", FontManager.serifBold, 8.5f, 8.5f);
-			final TextCell ksTitle = new TextCell("KS", FontManager.serifBold, 8.5f, 8.5f);
+			final TextCell nameTitle = new TextCell("Kleidungsstück", context.serifBold, 8.5f, 8.5f);
+			final TextCell notesTitle = new TextCell("Anmerkungen", context.serifBold, 8.5f, 8.5f);
+			final TextCell ksTitle = new TextCell("KS", context.serifBold, 8.5f, 8.5f);
 
 			tables[i].addRow(nameTitle, notesTitle, ksTitle);
 
@@ -228,19 +225,19 @@ public class InventorySheet extends Sheet {
 
 		table.addRow(new TableCell(tables[0]), "", new TableCell(tables[1]));
 
-		bottom.bottom = table.render(document, 571, 12, bottom.bottom, settingsPage.getBool(SHOW_ATTRIBUTES).get() ? 72 : 54, 10) - 5;
+		context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, settingsPage.getBool(SHOW_ATTRIBUTES).get() ? 72 : 54, 10) - 5;
 	}
 
 	private void addInventoryTable(final PDDocument document, final String inventoryName, final JSONArray inventory, final int additionalRows)
 			throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(283, FontManager.serif, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(5, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(283, FontManager.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(283, context.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(5, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(283, context.serif, fontSize, HAlign.LEFT));
 
-		SheetUtil.addTitle(table, inventoryName);
+		SheetUtil.addTitle(context, table, inventoryName);
 
 		int rows = additionalRows + 1;
 		final Queue<JSONObject> equipment = new LinkedList<>();
@@ -264,15 +261,15 @@ public class InventorySheet extends Sheet {
 		for (int i = 0; i < 2; ++i) {
 			tables[i] = new Table().setFiller(SheetUtil.stripe().invert(true)).setBorder(0, 0, 0, 0);
 
-			tables[i].addColumn(new Column(100, 100, FontManager.serif, 4, fontSize, HAlign.LEFT));
-			tables[i].addColumn(new Column(133, 133, FontManager.serif, 4, fontSize, HAlign.LEFT));
-			tables[i].addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-			tables[i].addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
+			tables[i].addColumn(new Column(100, 100, context.serif, 4, fontSize, HAlign.LEFT));
+			tables[i].addColumn(new Column(133, 133, context.serif, 4, fontSize, HAlign.LEFT));
+			tables[i].addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+			tables[i].addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
 
-			final TextCell nameTitle = new TextCell("Gegenstand", FontManager.serifBold, 8.5f, 8.5f);
-			final TextCell notesTitle = new TextCell("Anmerkungen", FontManager.serifBold, 8.5f, 8.5f);
-			final TextCell weightTitle = new TextCell("Gew.", FontManager.serifBold, 8.5f, 8.5f);
-			final TextCell valueTitle = new TextCell("Wert", FontManager.serifBold, 8.5f, 8.5f);
+			final TextCell nameTitle = new TextCell("Gegenstand", context.serifBold, 8.5f, 8.5f);
+			final TextCell notesTitle = new TextCell("Anmerkungen", context.serifBold, 8.5f, 8.5f);
+			final TextCell weightTitle = new TextCell("Gew.", context.serifBold, 8.5f, 8.5f);
+			final TextCell valueTitle = new TextCell("Wert", context.serifBold, 8.5f, 8.5f);
 
 			tables[i].addRow(nameTitle, notesTitle, weightTitle, valueTitle);
 
@@ -297,20 +294,20 @@ public class InventorySheet extends Sheet {
 
 		table.addRow(new TableCell(tables[0]), "", new TableCell(tables[1]));
 
-		bottom.bottom = table.render(document, 571, 12, bottom.bottom, settingsPage.getBool(SHOW_ATTRIBUTES).get() ? 72 : 54, 10) - 5;
+		context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, settingsPage.getBool(SHOW_ATTRIBUTES).get() ? 72 : 54, 10) - 5;
 	}
 
 	private void addPotionsTable(final PDDocument document, final int additionalRows) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(100, 100, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(183, 183, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(238, 238, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(25, FontManager.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(100, 100, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(183, 183, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(238, 238, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(25, context.serif, fontSize, HAlign.CENTER));
 
-		SheetUtil.addTitle(table, "Alchemika");
+		SheetUtil.addTitle(context, table, "Alchemika");
 
 		int rows = additionalRows;
 		final Queue<JSONObject> potions = new LinkedList<>();
@@ -325,11 +322,11 @@ public class InventorySheet extends Sheet {
 		}
 		rows = Math.max(rows, 1);
 
-		final TextCell nameTitle = new TextCell("Alchemikum", FontManager.serifBold, 8.5f, 8.5f);
-		final TextCell notesTitle = new TextCell("Anmerkungen", FontManager.serifBold, 8.5f, 8.5f);
-		final TextCell effectTitle = new TextCell("Wirkung", FontManager.serifBold, 8.5f, 8.5f);
-		final TextCell qualityTitle = new TextCell("Qual.", FontManager.serifBold, 8.5f, 8.5f);
-		final TextCell countTitle = new TextCell("Anz.", FontManager.serifBold, 8.5f, 8.5f);
+		final TextCell nameTitle = new TextCell("Alchemikum", context.serifBold, 8.5f, 8.5f);
+		final TextCell notesTitle = new TextCell("Anmerkungen", context.serifBold, 8.5f, 8.5f);
+		final TextCell effectTitle = new TextCell("Wirkung", context.serifBold, 8.5f, 8.5f);
+		final TextCell qualityTitle = new TextCell("Qual.", context.serifBold, 8.5f, 8.5f);
+		final TextCell countTitle = new TextCell("Anz.", context.serifBold, 8.5f, 8.5f);
 
 		table.addRow(nameTitle, notesTitle, effectTitle, qualityTitle, countTitle);
 
@@ -351,18 +348,18 @@ public class InventorySheet extends Sheet {
 			}
 		}
 
-		bottom.bottom = table.render(document, 571, 12, bottom.bottom, settingsPage.getBool(SHOW_ATTRIBUTES).get() ? 72 : 54, 10) - 5;
+		context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, settingsPage.getBool(SHOW_ATTRIBUTES).get() ? 72 : 54, 10) - 5;
 	}
 
 	private void addValuablesTable(final PDDocument document, final int additionalRows) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(283, FontManager.serif, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(5, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(283, FontManager.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(283, context.serif, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(5, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(283, context.serif, fontSize, HAlign.LEFT));
 
-		SheetUtil.addTitle(table, "Wertgegenstände");
+		SheetUtil.addTitle(context, table, "Wertgegenstände");
 
 		int rows = additionalRows + 1;
 
@@ -383,13 +380,13 @@ public class InventorySheet extends Sheet {
 		for (int i = 0; i < 2; ++i) {
 			tables[i] = new Table().setFiller(SheetUtil.stripe().invert(true)).setBorder(0, 0, 0, 0);
 
-			tables[i].addColumn(new Column(100, 100, FontManager.serif, 4, fontSize, HAlign.LEFT));
-			tables[i].addColumn(new Column(133, 133, FontManager.serif, 4, fontSize, HAlign.LEFT));
-			tables[i].addColumn(new Column(50, FontManager.serif, fontSize, HAlign.CENTER));
+			tables[i].addColumn(new Column(100, 100, context.serif, 4, fontSize, HAlign.LEFT));
+			tables[i].addColumn(new Column(133, 133, context.serif, 4, fontSize, HAlign.LEFT));
+			tables[i].addColumn(new Column(50, context.serif, fontSize, HAlign.CENTER));
 
-			final TextCell nameTitle = new TextCell("Gegenstand", FontManager.serifBold, 8.5f, 8.5f);
-			final TextCell notesTitle = new TextCell("Anmerkungen", FontManager.serifBold, 8.5f, 8.5f);
-			final TextCell valueTitle = new TextCell("Wert", FontManager.serifBold, 8.5f, 8.5f);
+			final TextCell nameTitle = new TextCell("Gegenstand", context.serifBold, 8.5f, 8.5f);
+			final TextCell notesTitle = new TextCell("Anmerkungen", context.serifBold, 8.5f, 8.5f);
+			final TextCell valueTitle = new TextCell("Wert", context.serifBold, 8.5f, 8.5f);
 
 			tables[i].addRow(nameTitle, notesTitle, valueTitle);
 
@@ -412,16 +409,16 @@ public class InventorySheet extends Sheet {
 
 		table.addRow(new TableCell(tables[0]), "", new TableCell(tables[1]));
 
-		bottom.bottom = table.render(document, 571, 12, bottom.bottom, settingsPage.getBool(SHOW_ATTRIBUTES).get() ? 72 : 54, 10) - 5;
+		context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, settingsPage.getBool(SHOW_ATTRIBUTES).get() ? 72 : 54, 10) - 5;
 	}
 
 	@Override
-	public void create(final PDDocument document) throws IOException {
+	protected void create(final PDDocument document) throws IOException {
 		if (settingsPage.getBool(SHOW_ATTRIBUTES).get()) {
 			height = 771;
 		}
 
-		header = SheetUtil.createHeader("Ausrüstungsbrief", true, settingsPage.getBool(SHOW_ATTRIBUTES).get(), false, hero, fill, fillAll, showName, showDate);
+		context.header = SheetUtil.createHeader(context, "Ausrüstungsbrief", true, settingsPage.getBool(SHOW_ATTRIBUTES).get(), false, hero, fill, fillAll, showName, showDate);
 
 		startCreate(document);
 
@@ -434,7 +431,7 @@ public class InventorySheet extends Sheet {
 
 			final String categoryName = settingsPage.getString(section, null).get();
 
-			try {
+			recordSection(categoryName, () -> {
 				final JSONObject inventory = (JSONObject) section.getUserData();
 				final int rows = settingsPage.getInt(section, ADDITIONAL_ROWS).get();
 				if (inventory == null) {
@@ -448,9 +445,7 @@ public class InventorySheet extends Sheet {
 				} else {
 					addInventoryTable(document, inventory.getStringOrDefault("Name", "Unbenanntes Inventar"), inventory.getArr("Ausrüstung"), rows);
 				}
-			} catch (final Exception e) {
-				ErrorLogger.logError(e);
-			}
+			});
 		}
 
 		endCreate(document);
@@ -34,7 +34,6 @@ import boxtable.event.EventType;
 import boxtable.event.TableEvent;
 import boxtable.table.Column;
 import boxtable.table.Table;
-import charactersheet.util.FontManager;
 import charactersheet.util.SheetUtil;
 import charactersheet.util.SheetUtil.BottomObserver;
 import dsa41basis.hero.ProOrCon;
@@ -126,23 +125,23 @@ public class RitualsSheet extends Sheet {
 	}
 
 	@Override
-	public void create(final PDDocument document) throws IOException {
+	protected void create(final PDDocument document) throws IOException {
 		final Table[] ritualKnowledgeTable = new Table[] { getRitualKnowledgeTable(pageSize != SheetUtil.landscape) };
 
-		header = SheetUtil.createHeader("Ritualbrief", true, true, false, hero, fill, fillAll, showName, showDate).andThen(_ -> {
+		context.header = SheetUtil.createHeader(context, "Ritualbrief", true, true, false, hero, fill, fillAll, showName, showDate).andThen(_ -> {
 			try {
 				if (pageSize == SheetUtil.landscape) {
-					bottom.bottom = ritualKnowledgeTable[0].render(document, 818, 12, 536, 59, 10) - 5;
+					context.bottom.bottom = context.render(ritualKnowledgeTable[0], 818, 12, 536, 59, 10) - 5;
 				} else {
-					bottom.bottom = ritualKnowledgeTable[0].render(document, 571, 12, 771, 72, 10) - 5;
+					context.bottom.bottom = context.render(ritualKnowledgeTable[0], 571, 12, 771, 72, 10) - 5;
 				}
 			} catch (final IOException e) {
 				ErrorLogger.logError(e);
 			}
 		});
 
-		final JSONObject rituals = ResourceManager.getResource("data/Rituale");
-		final JSONObject ritualGroupData = ResourceManager.getResource("data/Ritualgruppen");
+		final JSONObject rituals = context.resources.getRituals();
+		final JSONObject ritualGroupData = context.resources.getRitualGroups();
 
 		final JSONObject apport = rituals.getObj("Allgemeine Rituale").getObj("Apport");
 
@@ -157,26 +156,19 @@ public class RitualsSheet extends Sheet {
 			final Tuple<String, JSONObject> data = (Tuple<String, JSONObject>) section.getUserData();
 			final String ritualGroupName = data == null ? settingsPage.getString(section, null).get() : data._1;
 			final JSONObject ritualGroup = ritualGroupData.getObj(ritualGroupName);
-			JSONObject item = data == null ? null : data._2;
-			final JSONObject baseItem = item;
-			if (item != null) {
-				final String ritualObjectName = ritualGroup.getString("Ritualobjekt");
-				if (item.containsKey(ritualObjectName)) {
-					item = item.getObj(ritualObjectName);
-				}
-			}
+			final JSONObject baseItem = data == null ? null : data._2;
+			final String ritualObjectName = baseItem != null ? ritualGroup.getString("Ritualobjekt") : null;
+			final JSONObject item = baseItem != null && baseItem.containsKey(ritualObjectName) ? baseItem.getObj(ritualObjectName) : baseItem;
 
-			try {
-				final String name = settingsPage.getString(section, null).get();
+			final String name = settingsPage.getString(section, null).get();
+			recordSection(name, () -> {
 				final JSONObject ritual = rituals.getObj(ritualGroupName);
 				final Tuple3<Table, Boolean, TitledPane> table = createTable(document, section, name, ritualGroupName, ritual, ritualGroup, item, baseItem,
 						apport);
 				if (table._1.getNumRows() > 2) {
 					tables.add(table);
 				}
-			} catch (final Exception e) {
-				ErrorLogger.logError(e);
-			}
+			});
 		}
 
 		for (int i = 0; i < tables.size(); ++i) {
@@ -208,35 +200,35 @@ public class RitualsSheet extends Sheet {
 				startCreate(document);
 			}
 
-			table.addEventHandler(EventType.BEGIN_PAGE, header);
+			table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 			if (portrait) {
 				if (!SheetUtil.matchesPageSize(document, PDRectangle.A4)) {
-					bottom = new BottomObserver(771);
+					context.bottom = new BottomObserver(771);
 					pageSize = PDRectangle.A4;
 					ritualKnowledgeTable[0] = getRitualKnowledgeTable(true);
 					final PDPage page = new PDPage(PDRectangle.A4);
 					document.addPage(page);
 					final PDPageContentStream stream = new PDPageContentStream(document, page, AppendMode.APPEND, true);
-					header.accept(
+					context.header.accept(
 							new TableEvent(document, stream, 0, PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth(), PDRectangle.A4.getHeight()));
 					stream.close();
 				}
 				separatePage(document, settingsPage, section);
-				bottom.bottom = table.render(document, 571, 12, bottom.bottom, 77 + ritualKnowledgeTable[0].getHeight(571), 10) - 5;
+				context.bottom.bottom = context.render(table, 571, 12, context.bottom.bottom, 77 + ritualKnowledgeTable[0].getHeight(571), 10) - 5;
 			} else {
 				if (!SheetUtil.matchesPageSize(document, SheetUtil.landscape)) {
-					bottom = new BottomObserver(536);
+					context.bottom = new BottomObserver(536);
 					pageSize = SheetUtil.landscape;
 					ritualKnowledgeTable[0] = getRitualKnowledgeTable(false);
 					final PDPage page = new PDPage(SheetUtil.landscape);
 					document.addPage(page);
 					final PDPageContentStream stream = new PDPageContentStream(document, page, AppendMode.APPEND, true);
-					header.accept(
+					context.header.accept(
 							new TableEvent(document, stream, 0, PDRectangle.A4.getWidth(), PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth()));
 					stream.close();
 				}
 				separatePage(document, settingsPage, section);
-				bottom.bottom = table.render(document, 818, 12, bottom.bottom, 64 + ritualKnowledgeTable[0].getHeight(818), 10) - 5;
+				context.bottom.bottom = context.render(table, 818, 12, context.bottom.bottom, 64 + ritualKnowledgeTable[0].getHeight(818), 10) - 5;
 			}
 		}
 
@@ -248,54 +240,54 @@ public class RitualsSheet extends Sheet {
 			throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
 
-		final Cell nameTitle = new TextCell("Ritual", FontManager.serifBold, 8.5f, 8.5f);
-		final Column nameColumn = new Column(50, 125, FontManager.serif, 5.5f, fontSize, HAlign.LEFT);
-		final Cell actualTitle = new TextCell("E", FontManager.serifBold, 8.5f, 8.5f);
-		final Column actualColumn = new Column(10, 10, FontManager.serif, fontSize, fontSize, HAlign.CENTER);
-		final Cell seTitle = new TextCell("K", FontManager.serifBold, 8.5f, 8.5f);
-		final Column seColumn = new Column(16, 16, FontManager.serif, fontSize, fontSize, HAlign.CENTER);
-		final Cell spreadTitle = new TextCell("V", FontManager.serifBold, 8.5f, 8.5f);
-		final Column spreadColumn = new Column(10, 10, FontManager.serif, fontSize, fontSize, HAlign.CENTER);
-		final Cell multiSpreadTitle = new TextCell("Verbreitung", FontManager.serifBold, 8.5f, 8.5f);
-		final Column multiSpreadColumn = new Column(75, 100, FontManager.serif, fontSize / 2, fontSize, HAlign.LEFT);
-		final Cell apTitle = new TextCell("AP", FontManager.serifBold, 8.5f, 8.5f);
-		final Column apColumn = new Column(16, 16, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER);
-		final Cell volumeTitle = new TextCell("V", FontManager.serifBold, 8.5f, 8.5f);
-		final Column volumeColumn = new Column(10, 10, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER);
-		final Cell activeTitle = new TextCell("B", FontManager.serifBold, 8.5f, 8.5f);
-		final Column activeColumn = new Column(10, 10, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER);
-		final Cell challengeTitle = new TextCell("Probe", FontManager.serifBold, 8.5f, 8.5f);
-		final Column challengeColumn = new Column(0, 60, FontManager.serif, fontSize, fontSize, HAlign.CENTER);
-		final Cell timeTitle = new TextCell("Dauer", FontManager.serifBold, 8.5f, 8.5f);
-		final Column timeColumn = new Column(0, 30, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER);
-		final Cell costTitle = new TextCell("Kosten", FontManager.serifBold, 8.5f, 8.5f);
-		final Column costColumn = new Column(0, 35, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER);
-		final Cell contraChallengeTitle = new TextCell("G.-Probe", FontManager.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
-		final Column contraChallengeColumn = new Column(0, 40, FontManager.serif, fontSize, fontSize, HAlign.CENTER);
-		final Cell creationChallengeTitle = new TextCell("E.-Probe", FontManager.serifBold, 8.5f, 8.5f);
-		final Column creationChallengeColumn = new Column(0, 60, FontManager.serif, fontSize, fontSize, HAlign.CENTER);
-		final Cell creationCostTitle = new TextCell("E.-Kosten", FontManager.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
-		final Column creationCostColumn = new Column(0, 40, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER);
-		final Cell moonPhaseTitle = new TextCell("Mond.", FontManager.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
-		final Column moonPhaseColumn = new Column(0, 40, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER);
-		final Cell activationChallengeTitle = new TextCell("A.-Probe", FontManager.serifBold, 8.5f, 8.5f);
-		final Column activationChallengeColumn = new Column(0, 60, FontManager.serif, fontSize, fontSize, HAlign.CENTER);
-		final Cell activationCostTitle = new TextCell("A.-Kosten", FontManager.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
-		final Column activationCostColumn = new Column(0, 40, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER);
-		final Cell activationTimeTitle = new TextCell("A.-Dauer", FontManager.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
-		final Column activationTimeColumn = new Column(0, 352, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER);
-		final Cell rangeTitle = new TextCell("RW", FontManager.serifBold, 8.5f, 8.5f);
-		final Column rangeColumn = new Column(33, 40, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER);
-		final Cell targetTitle = new TextCell("ZO", FontManager.serifBold, 8.5f, 8.5f).setPadding(0, 1, 1, 0);
-		final Column targetColumn = new Column(0, 15, FontManager.serif, fontSize, fontSize, HAlign.CENTER);
-		final Cell durationTitle = new TextCell("W.-Dauer", FontManager.serifBold, 8.5f, 8.5f);
-		final Column durationColumn = new Column(0, 45, FontManager.serif, fontSize / 2, fontSize, HAlign.CENTER);
-		final Cell complexityTitle = new TextCell("Kp", FontManager.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
-		final Column complexityColumn = new Column(0, 20, FontManager.serif, fontSize, fontSize, HAlign.CENTER);
-		final Cell preconditionTitle = new TextCell("Voraussetzungen", FontManager.serifBold, 8.5f, 8.5f);
-		final Column preconditionColumn = new Column(0, 110, FontManager.serif, fontSize / 2, fontSize, HAlign.LEFT);
-		final Cell descTitle = new TextCell("Beschreibung", FontManager.serifBold, 8.5f, 8.5f);
-		final Column descColumn = new Column(0, 0, FontManager.serif, fontSize / 2, fontSize, HAlign.LEFT);
+		final Cell nameTitle = new TextCell("Ritual", context.serifBold, 8.5f, 8.5f);
+		final Column nameColumn = new Column(50, 125, context.serif, 5.5f, fontSize, HAlign.LEFT);
+		final Cell actualTitle = new TextCell("E", context.serifBold, 8.5f, 8.5f);
+		final Column actualColumn = new Column(10, 10, context.serif, fontSize, fontSize, HAlign.CENTER);
+		final Cell seTitle = new TextCell("K", context.serifBold, 8.5f, 8.5f);
+		final Column seColumn = new Column(16, 16, context.serif, fontSize, fontSize, HAlign.CENTER);
+		final Cell spreadTitle = new TextCell("V", context.serifBold, 8.5f, 8.5f);
+		final Column spreadColumn = new Column(10, 10, context.serif, fontSize, fontSize, HAlign.CENTER);
+		final Cell multiSpreadTitle = new TextCell("Verbreitung", context.serifBold, 8.5f, 8.5f);
+		final Column multiSpreadColumn = new Column(75, 100, context.serif, fontSize / 2, fontSize, HAlign.LEFT);
+		final Cell apTitle = new TextCell("AP", context.serifBold, 8.5f, 8.5f);
+		final Column apColumn = new Column(16, 16, context.serif, fontSize / 2, fontSize, HAlign.CENTER);
+		final Cell volumeTitle = new TextCell("V", context.serifBold, 8.5f, 8.5f);
+		final Column volumeColumn = new Column(10, 10, context.serif, fontSize / 2, fontSize, HAlign.CENTER);
+		final Cell activeTitle = new TextCell("B", context.serifBold, 8.5f, 8.5f);
+		final Column activeColumn = new Column(10, 10, context.serif, fontSize / 2, fontSize, HAlign.CENTER);
+		final Cell challengeTitle = new TextCell("Probe", context.serifBold, 8.5f, 8.5f);
+		final Column challengeColumn = new Column(0, 60, context.serif, fontSize, fontSize, HAlign.CENTER);
+		final Cell timeTitle = new TextCell("Dauer", context.serifBold, 8.5f, 8.5f);
+		final Column timeColumn = new Column(0, 30, context.serif, fontSize / 2, fontSize, HAlign.CENTER);
+		final Cell costTitle = new TextCell("Kosten", context.serifBold, 8.5f, 8.5f);
+		final Column costColumn = new Column(0, 35, context.serif, fontSize / 2, fontSize, HAlign.CENTER);
+		final Cell contraChallengeTitle = new TextCell("G.-Probe", context.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
+		final Column contraChallengeColumn = new Column(0, 40, context.serif, fontSize, fontSize, HAlign.CENTER);
+		final Cell creationChallengeTitle = new TextCell("E.-Probe", context.serifBold, 8.5f, 8.5f);
+		final Column creationChallengeColumn = new Column(0, 60, context.serif, fontSize, fontSize, HAlign.CENTER);
+		final Cell creationCostTitle = new TextCell("E.-Kosten", context.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
+		final Column creationCostColumn = new Column(0, 40, context.serif, fontSize / 2, fontSize, HAlign.CENTER);
+		final Cell moonPhaseTitle = new TextCell("Mond.", context.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
+		final Column moonPhaseColumn = new Column(0, 40, context.serif, fontSize / 2, fontSize, HAlign.CENTER);
+		final Cell activationChallengeTitle = new TextCell("A.-Probe", context.serifBold, 8.5f, 8.5f);
+		final Column activationChallengeColumn = new Column(0, 60, context.serif, fontSize, fontSize, HAlign.CENTER);
+		final Cell activationCostTitle = new TextCell("A.-Kosten", context.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
+		final Column activationCostColumn = new Column(0, 40, context.serif, fontSize / 2, fontSize, HAlign.CENTER);
+		final Cell activationTimeTitle = new TextCell("A.-Dauer", context.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
+		final Column activationTimeColumn = new Column(0, 352, context.serif, fontSize / 2, fontSize, HAlign.CENTER);
+		final Cell rangeTitle = new TextCell("RW", context.serifBold, 8.5f, 8.5f);
+		final Column rangeColumn = new Column(33, 40, context.serif, fontSize / 2, fontSize, HAlign.CENTER);
+		final Cell targetTitle = new TextCell("ZO", context.serifBold, 8.5f, 8.5f).setPadding(0, 1, 1, 0);
+		final Column targetColumn = new Column(0, 15, context.serif, fontSize, fontSize, HAlign.CENTER);
+		final Cell durationTitle = new TextCell("W.-Dauer", context.serifBold, 8.5f, 8.5f);
+		final Column durationColumn = new Column(0, 45, context.serif, fontSize / 2, fontSize, HAlign.CENTER);
+		final Cell complexityTitle = new TextCell("Kp", context.serifBold, 8.5f, 8.5f).setPadding(0, 0, 0, 0);
+		final Column complexityColumn = new Column(0, 20, context.serif, fontSize, fontSize, HAlign.CENTER);
+		final Cell preconditionTitle = new TextCell("Voraussetzungen", context.serifBold, 8.5f, 8.5f);
+		final Column preconditionColumn = new Column(0, 110, context.serif, fontSize / 2, fontSize, HAlign.LEFT);
+		final Cell descTitle = new TextCell("Beschreibung", context.serifBold, 8.5f, 8.5f);
+		final Column descColumn = new Column(0, 0, context.serif, fontSize / 2, fontSize, HAlign.LEFT);
 
 		final boolean isObjectRitual = group.getString("Ritualobjekt") != null;
 
@@ -525,7 +517,7 @@ public class RitualsSheet extends Sheet {
 
 		final String additionalHeader = headerString.toString();
 
-		table.addRowAtIndex(0, SheetUtil.createTitleCell(name, table.getNumColumns() - 1).setBorder(0, 0, 0, 0.25f),
+		table.addRowAtIndex(0, SheetUtil.createTitleCell(context, name, table.getNumColumns() - 1).setBorder(0, 0, 0, 0.25f),
 				new TextCell(additionalHeader).setHAlign(HAlign.RIGHT).setColSpan(1).setBorder(0, 0, 0, 0.25f));
 
 		JSONObject actualSkills = null;
@@ -712,7 +704,7 @@ public class RitualsSheet extends Sheet {
 		}
 
 		ifHas("Zielobjekt", actualGroup, _ -> {
-			table.addCells(SheetUtil.getTargetObjectsString(ritual.getArrOrDefault("Zielobjekt", null)));
+			table.addCells(SheetUtil.getTargetObjectsString(context, ritual.getArrOrDefault("Zielobjekt", null)));
 		});
 		ifHas("Wirkungsdauer", actualGroup, _ -> {
 			table.addCells(DSAUtil.getModificationString(ritual.getObjOrDefault("Wirkungsdauer", null), Units.TIME, false));
@@ -725,7 +717,7 @@ public class RitualsSheet extends Sheet {
 			table.addCells(complexity);
 		});
 		if (needsPrecondition) {
-			table.addCells(SheetUtil.getRequirementString(ritual.getObjOrDefault("Voraussetzungen", null), ritual));
+			table.addCells(SheetUtil.getRequirementString(context, ritual.getObjOrDefault("Voraussetzungen", null), ritual));
 		}
 
 		table.addCells(ritual.getStringOrDefault("Beschreibung:Kurz", " "));
@@ -781,8 +773,8 @@ public class RitualsSheet extends Sheet {
 		final Table table = new Table().setBorder(0, 0, 0, 0).setNumHeaderRows(0);
 
 		for (int i = 0; i < numCols; i++) {
-			table.addColumn(new Column((portrait ? 455 : 644) / numCols, FontManager.serif, 10.5f, HAlign.RIGHT).setBorder(0, 0, 0, 0));
-			table.addColumn(new Column(29, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
+			table.addColumn(new Column((portrait ? 455 : 644) / numCols, context.serif, 10.5f, HAlign.RIGHT).setBorder(0, 0, 0, 0));
+			table.addColumn(new Column(29, context.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
 		}
 
 		final JSONObject ritualKnowledges = hero != null ? hero.getObj("Talente").getObjOrDefault("Ritualkenntnis", null) : null;
@@ -813,8 +805,8 @@ public class RitualsSheet extends Sheet {
 				}
 
 				String enhancementCost = DSAUtil.getEnhancementGroupString(
-						ResourceManager.getResource("data/Talentgruppen").getObj("Ritualkenntnis").getIntOrDefault("Steigerung", 7) + ResourceManager
-								.getResource("data/Talente").getObj("Ritualkenntnis").getObj(ritualKnowledgeName).getIntOrDefault("Steigerung", 0));
+						context.resources.getTalentGroups().getObj("Ritualkenntnis").getIntOrDefault("Steigerung", 7)
+								+ context.resources.getTalents().getObj("Ritualkenntnis").getObj(ritualKnowledgeName).getIntOrDefault("Steigerung", 0));
 				if (hero != null && fill) {
 					enhancementCost = DSAUtil.getEnhancementGroupString(HeroUtil.getTalentComplexity(hero, ritualKnowledgeName));
 				}
@@ -19,7 +19,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Consumer;
+import java.util.concurrent.Callable;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -29,10 +29,13 @@ import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
 
 import boxtable.event.TableEvent;
+import charactersheet.util.RenderContext;
+import charactersheet.util.RenderEvents.SectionEvent;
 import charactersheet.util.SheetUtil;
 import charactersheet.util.SheetUtil.BottomObserver;
 import dsa41basis.ui.hero.HeroController;
 import dsatool.settings.SettingsPage;
+import dsatool.util.ErrorLogger;
 import javafx.scene.Node;
 import javafx.scene.control.CheckMenuItem;
 import javafx.scene.control.TitledPane;
@@ -40,20 +43,13 @@ import jsonant.value.JSONObject;
 
 public abstract class Sheet implements HeroController {
 
-	protected static final String AS_SEPARATE_SHEET = "Als eigenständigen Bogen drucken";
-	private static final String ADD_EMPTY_PAGE = "Leerseite einfügen";
-
-	protected static BottomObserver bottom;
-	protected static Consumer<TableEvent> header;
-
-	static {
-		reset();
+	@FunctionalInterface
+	protected interface SectionCreator {
+		void create() throws Exception;
 	}
 
-	public static void reset() {
-		bottom = new BottomObserver(842);
-		header = null;
-	}
+	protected static final String AS_SEPARATE_SHEET = "Als eigenständigen Bogen drucken";
+	private static final String ADD_EMPTY_PAGE = "Leerseite einfügen";
 
 	protected boolean fill;
 
@@ -69,6 +65,8 @@ public abstract class Sheet implements HeroController {
 
 	protected final Map<String, TitledPane> sections = new HashMap<>();
 
+	protected RenderContext context;
+
 	protected Sheet(final int height) {
 		this(height, true);
 	}
@@ -88,7 +86,16 @@ public abstract class Sheet implements HeroController {
 		return true;
 	}
 
-	public abstract void create(PDDocument document) throws IOException;
+	protected abstract void create(PDDocument document) throws IOException;
+
+	public void create(final PDDocument document, final RenderContext context) throws IOException {
+		this.context = context;
+		try {
+			create(document);
+		} finally {
+			this.context = null;
+		}
+	}
 
 	protected void endCreate(final PDDocument document) {
 		if (settingsPage.getBool(ADD_EMPTY_PAGE).get()) {
@@ -124,6 +131,20 @@ public abstract class Sheet implements HeroController {
 		settingsPage.getBool(ADD_EMPTY_PAGE).set(settings.getBoolOrDefault(ADD_EMPTY_PAGE, false));
 	}
 
+	/**
+	 * Continues the sheet on a new page with the header of the sheet
+	 */
+	protected void newPage(final PDDocument document) throws IOException {
+		final PDPage page = new PDPage(pageSize);
+		document.addPage(page);
+		if (context.header != null) {
+			final PDPageContentStream stream = new PDPageContentStream(document, page, AppendMode.APPEND, true);
+			context.header.accept(new TableEvent(document, stream, 0, pageSize.getHeight(), pageSize.getWidth(), pageSize.getHeight()));
+			stream.close();
+		}
+		context.bottom = new BottomObserver(height);
+	}
+
 	protected void orderSections(final Collection<String> order) {
 		int index = 0;
 		for (final String key : order) {
@@ -134,16 +155,36 @@ public abstract class Sheet implements HeroController {
 		}
 	}
 
+	/**
+	 * Creates a section of the sheet and records it in the statistics of the document.
+	 * Errors are logged, so that the remaining sections are still created.
+	 */
+	protected void recordSection(final String name, final SectionCreator creator) {
+		recordSection(name, null, () -> {
+			creator.create();
+			return null;
+		});
+	}
+
+	/**
+	 * Creates a section of the sheet like {@link #recordSection(String, SectionCreator)} and returns its result, or the fallback if it fails
+	 */
+	protected <T> T recordSection(final String name, final T fallback, final Callable<T> creator) {
+		final SectionEvent event = context.beginSection(name);
+		try {
+			return creator.call();
+		} catch (final Exception e) {
+			event.failed = true;
+			ErrorLogger.logError(e);
+			return fallback;
+		} finally {
+			context.endSection(event);
+		}
+	}
+
 	protected void separatePage(final PDDocument document, final SettingsPage settings, final TitledPane section) throws IOException {
-		if (settings.getBool(section, AS_SEPARATE_SHEET).get() && bottom.bottom != bottom.top) {
-			final PDPage page = new PDPage(pageSize);
-			document.addPage(page);
-			if (header != null) {
-				final PDPageContentStream stream = new PDPageContentStream(document, page, AppendMode.APPEND, true);
-				header.accept(new TableEvent(document, stream, 0, pageSize.getHeight(), pageSize.getWidth(), pageSize.getHeight()));
-				stream.close();
-			}
-			bottom = new BottomObserver(height);
+		if (settings.getBool(section, AS_SEPARATE_SHEET).get() && context.bottom.bottom != context.bottom.top) {
+			newPage(document);
 		}
 	}
 
@@ -165,21 +206,21 @@ public abstract class Sheet implements HeroController {
 	}
 
 	protected void startCreate(final PDDocument document) throws IOException {
-		float oldBottom = bottom.bottom;
+		float oldBottom = context.bottom.bottom;
 
 		if (!canBeSeparate || settingsPage.getBool(AS_SEPARATE_SHEET).get() || !SheetUtil.matchesPageSize(document, pageSize)) {
 			final PDPage page = new PDPage(pageSize);
 			document.addPage(page);
 			oldBottom = height;
-			if (header != null) {
+			if (context.header != null) {
 				final PDPageContentStream stream = new PDPageContentStream(document, page, AppendMode.APPEND, true);
-				header.accept(new TableEvent(document, stream, 0, pageSize.getHeight(), pageSize.getWidth(), pageSize.getHeight()));
+				context.header.accept(new TableEvent(document, stream, 0, pageSize.getHeight(), pageSize.getWidth(), pageSize.getHeight()));
 				stream.close();
 			}
 		}
 
-		bottom = new BottomObserver(height);
-		bottom.bottom = oldBottom;
+		context.bottom = new BottomObserver(height);
+		context.bottom.bottom = oldBottom;
 
 		final PDOutlineItem bookmark = new PDOutlineItem();
 		bookmark.setDestination(document.getPage(document.getNumberOfPages() - 1));
@@ -187,6 +228,13 @@ public abstract class Sheet implements HeroController {
 		document.getDocumentCatalog().getDocumentOutline().addLast(bookmark);
 	}
 
+	/**
+	 * Whether the sheet always begins on a new page, independent of the sheets before it
+	 */
+	public boolean startsNewPage() {
+		return !canBeSeparate || settingsPage.getBool(AS_SEPARATE_SHEET).get();
+	}
+
 	@Override
 	public String toString() {
 		return "Unbenannt";
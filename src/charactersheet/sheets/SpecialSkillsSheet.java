@@ -28,8 +28,8 @@ import boxtable.common.HAlign;
 import boxtable.event.EventType;
 import boxtable.table.Column;
 import boxtable.table.Table;
-import charactersheet.util.FontManager;
 import charactersheet.util.SheetUtil;
+import charactersheet.util.SpecialSkillIndex;
 import dsa41basis.hero.ProOrCon;
 import dsa41basis.util.RequirementsUtil;
 import dsatool.resources.ResourceManager;
@@ -60,8 +60,8 @@ public class SpecialSkillsSheet extends Sheet {
 	}
 
 	@Override
-	public void create(final PDDocument document) throws IOException {
-		header = SheetUtil.createHeader("Sonderfertigkeiten", true, false, false, hero, fill, fillAll, showName, showDate);
+	protected void create(final PDDocument document) throws IOException {
+		context.header = SheetUtil.createHeader(context, "Sonderfertigkeiten", true, false, false, hero, fill, fillAll, showName, showDate);
 
 		startCreate(document);
 
@@ -117,7 +117,7 @@ public class SpecialSkillsSheet extends Sheet {
 		final String prevalence = skill.containsKey("Verbreitung") ? skill.getInt("Verbreitung").toString() : "";
 		final String cost = skill.containsKey("Kosten") ? skill.getInt("Kosten").toString() : "var";
 
-		final String preconditions = SheetUtil.getRequirementString(skill.getObjOrDefault("Voraussetzungen", null), skill);
+		final String preconditions = SheetUtil.getRequirementString(context, skill.getObjOrDefault("Voraussetzungen", null), skill);
 		final String description = skill.getStringOrDefault("Beschreibung:Kurz", "");
 
 		table.addCells(name, actual, cheaper, prevalence, cost, preconditions, description);
@@ -125,28 +125,36 @@ public class SpecialSkillsSheet extends Sheet {
 
 	private void fillSkills(final PDDocument document) throws IOException {
 		final Table baseTable = new Table();
-		baseTable.addEventHandler(EventType.BEGIN_PAGE, header);
-
-		baseTable.addColumn(new Column(110, 110, FontManager.serif, 2, fontSize, HAlign.LEFT));
-		baseTable.addColumn(new Column(10, FontManager.serif, fontSize, HAlign.CENTER));
-		baseTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-		baseTable.addColumn(new Column(10, FontManager.serif, fontSize, HAlign.CENTER));
-		baseTable.addColumn(new Column(16, FontManager.serif, fontSize, HAlign.CENTER));
-		baseTable.addColumn(new Column(107, 107, FontManager.serif, 2, fontSize, HAlign.LEFT));
-		baseTable.addColumn(new Column(0, 0, FontManager.serif, 2, fontSize, HAlign.LEFT));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Fertigkeit", 1);
-		final Cell actualTitle = SheetUtil.createTitleCell("E", 1);
-		final Cell cheaperTitle = SheetUtil.createTitleCell("K", 1);
-		final Cell prevalenceTitle = SheetUtil.createTitleCell("V", 1);
-		final Cell costTitle = SheetUtil.createTitleCell("AP", 1);
-		final Cell preconditionTitle = SheetUtil.createTitleCell("Voraussetzungen", 1);
-		final Cell descriptionTitle = SheetUtil.createTitleCell("Beschreibung", 1);
+		baseTable.addEventHandler(EventType.BEGIN_PAGE, context.header);
+
+		baseTable.addColumn(new Column(110, 110, context.serif, 2, fontSize, HAlign.LEFT));
+		baseTable.addColumn(new Column(10, context.serif, fontSize, HAlign.CENTER));
+		baseTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+		baseTable.addColumn(new Column(10, context.serif, fontSize, HAlign.CENTER));
+		baseTable.addColumn(new Column(16, context.serif, fontSize, HAlign.CENTER));
+		baseTable.addColumn(new Column(107, 107, context.serif, 2, fontSize, HAlign.LEFT));
+		baseTable.addColumn(new Column(0, 0, context.serif, 2, fontSize, HAlign.LEFT));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Fertigkeit", 1);
+		final Cell actualTitle = SheetUtil.createTitleCell(context, "E", 1);
+		final Cell cheaperTitle = SheetUtil.createTitleCell(context, "K", 1);
+		final Cell prevalenceTitle = SheetUtil.createTitleCell(context, "V", 1);
+		final Cell costTitle = SheetUtil.createTitleCell(context, "AP", 1);
+		final Cell preconditionTitle = SheetUtil.createTitleCell(context, "Voraussetzungen", 1);
+		final Cell descriptionTitle = SheetUtil.createTitleCell(context, "Beschreibung", 1);
 
 		baseTable.addRow(nameTitle, actualTitle, cheaperTitle, prevalenceTitle, costTitle, preconditionTitle, descriptionTitle);
 		baseTable.setNumHeaderRows(1);
 
-		final JSONObject specialSkills = ResourceManager.getResource("data/Sonderfertigkeiten");
+		final JSONObject specialSkills = context.resources.getSpecialSkills();
+
+		JSONObject actualSkills = null;
+		JSONObject cheaperSkills = null;
+		if (hero != null) {
+			actualSkills = hero.getObj("Sonderfertigkeiten");
+			cheaperSkills = hero.getObj("Verbilligte Sonderfertigkeiten");
+		}
+		final SpecialSkillIndex skillIndex = context.getSpecialSkillIndex(hero);
 
 		for (final TitledPane section : settingsPage.getSections()) {
 			if (!settingsPage.getBool(section, "").get()) {
@@ -158,14 +166,7 @@ public class SpecialSkillsSheet extends Sheet {
 			final String groupName = settingsPage.getString(section, null).get();
 			final JSONObject group = specialSkills.getObj(groupName);
 
-			table.addRow(new TextCell(groupName, FontManager.serifBold, 0, fontSize).setColSpan(7));
-
-			JSONObject actualSkills = null;
-			JSONObject cheaperSkills = null;
-			if (hero != null) {
-				actualSkills = hero.getObj("Sonderfertigkeiten");
-				cheaperSkills = hero.getObj("Verbilligte Sonderfertigkeiten");
-			}
+			table.addRow(new TextCell(groupName, context.serifBold, 0, fontSize).setColSpan(7));
 
 			final boolean ownSkills = settingsPage.getBool(section, OWN_SKILLS_ONLY).get();
 			final int additionalChoiceRows = settingsPage.getInt(section, ADDITIONAL_CHOICE_ROWS).get();
@@ -189,20 +190,7 @@ public class SpecialSkillsSheet extends Sheet {
 								final JSONArray cheaperChoiceSkills = cheaperSkills.getArr(name);
 								for (int i = 0; i < cheaperChoiceSkills.size(); ++i) {
 									final JSONObject cheaperSkill = cheaperChoiceSkills.getObj(i);
-									boolean found = false;
-									if (actualSkills.containsKey(name)) {
-										final JSONArray actualChoiceSkills = actualSkills.getArr(name);
-										for (int j = 0; j < actualChoiceSkills.size(); ++j) {
-											final JSONObject actualSkill = actualChoiceSkills.getObj(j);
-											if (skill.containsKey("Auswahl") && actualSkill.getString("Auswahl").equals(cheaperSkill.getString("Auswahl")) ||
-													skill.containsKey("Freitext")
-															&& actualSkill.getString("Freitext").equals(cheaperSkill.getString("Freitext"))) {
-												found = true;
-												break;
-											}
-										}
-									}
-									if (!found) {
+									if (skillIndex.getLearned(name, skill, cheaperSkill) == null) {
 										fillSkill(table, ownSkills, name, skill, null, cheaperSkill);
 									}
 								}
@@ -231,7 +219,7 @@ public class SpecialSkillsSheet extends Sheet {
 			}
 		}
 
-		bottom.bottom = baseTable.render(document, 571, 12, bottom.bottom, 54, 10) - 5;
+		context.bottom.bottom = context.render(baseTable, 571, 12, context.bottom.bottom, 54, 10) - 5;
 	}
 
 	@Override
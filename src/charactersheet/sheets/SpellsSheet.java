@@ -17,11 +17,14 @@ package charactersheet.sheets;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.font.PDFont;
@@ -33,13 +36,12 @@ import boxtable.common.Text;
 import boxtable.event.EventType;
 import boxtable.table.Column;
 import boxtable.table.Table;
-import charactersheet.util.FontManager;
+import charactersheet.util.ResourceSnapshot;
 import charactersheet.util.SheetUtil;
 import dsa41basis.util.DSAUtil;
 import dsa41basis.util.DSAUtil.Units;
 import dsa41basis.util.HeroUtil;
 import dsatool.resources.ResourceManager;
-import dsatool.util.ErrorLogger;
 import dsatool.util.Tuple;
 import dsatool.util.Tuple3;
 import dsatool.util.Tuple4;
@@ -49,6 +51,36 @@ import jsonant.value.JSONObject;
 
 public class SpellsSheet extends Sheet {
 
+	/**
+	 * Numbers the traits in data order and marks the ones known or blocked by the hero, so that each spell row only needs hash lookups
+	 */
+	private static class TraitIndex {
+		private final List<String> names = new ArrayList<>();
+		private final Map<String, Integer> ordinals = new HashMap<>();
+		private final BitSet known = new BitSet();
+		private final BitSet blocked = new BitSet();
+
+		private TraitIndex(final JSONObject traits, final JSONArray knownTraits, final JSONArray blockedTraits) {
+			for (final String traitName : traits.keySet()) {
+				ordinals.put(traitName, names.size());
+				names.add(traitName);
+			}
+			mark(known, knownTraits);
+			mark(blocked, blockedTraits);
+		}
+
+		private void mark(final BitSet marked, final JSONArray traits) {
+			if (traits != null) {
+				for (int i = 0; i < traits.size(); ++i) {
+					final Integer ordinal = ordinals.get(traits.getObj(i).getString("Auswahl"));
+					if (ordinal != null) {
+						marked.set(ordinal);
+					}
+				}
+			}
+		}
+	}
+
 	private static final String MARK_HOUSE_SPELLS = "Hauszauber markieren";
 	private static final String ADDITIONAL_SPELL_ROWS = "Zusätzliche Zeilen";
 	private static final String VALUES_FOR_ATTRIBUTES = "Eigenschaftswerte statt Eigenschaften anzeigen";
@@ -57,8 +89,39 @@ public class SpellsSheet extends Sheet {
 
 	private static final List<String> additionalTables = List.of("Merkmale", "Zielobjekte", "Spontane Modifikationen");
 
+	private static int spreadGeneration = -1;
+	private static Map<String, List<Tuple<String, String>>> spreadIndex;
+
+	/**
+	 * Maps each representation to the spells (and their representation) spread in it, built again only when the data resources are changed
+	 */
+	private static synchronized Map<String, List<Tuple<String, String>>> getSpreadIndex(final JSONObject spells) {
+		final int generation = ResourceSnapshot.getGeneration();
+		if (generation != spreadGeneration) {
+			final Map<String, List<Tuple<String, String>>> index = new HashMap<>();
+			for (final String spellName : spells.keySet()) {
+				final JSONObject spell = spells.getObj(spellName);
+				if (spell.containsKey("Auswahl") || spell.containsKey("Freitext")) {
+					continue;
+				}
+				final JSONObject spellRepresentations = spell.getObj("Repräsentationen");
+				for (final String representation : spellRepresentations.keySet()) {
+					for (final String knownRepresentation : spellRepresentations.getObj(representation).getObjOrDefault("Verbreitung", new JSONObject(null))
+							.keySet()) {
+						index.computeIfAbsent(knownRepresentation, _ -> new ArrayList<>()).add(new Tuple<>(spellName, representation));
+					}
+				}
+			}
+			spreadIndex = index;
+			spreadGeneration = generation;
+		}
+		return spreadIndex;
+	}
+
 	private final float fontSize = 8f;
 
+	private TraitIndex traitIndex;
+
 	public SpellsSheet() {
 		super(536);
 		pageSize = SheetUtil.landscape;
@@ -70,70 +133,64 @@ public class SpellsSheet extends Sheet {
 	}
 
 	@Override
-	public void create(final PDDocument document) throws IOException {
-		header = SheetUtil.createHeader("Zauberbrief", true, true, false, hero, fill, fillAll, showName, showDate);
+	protected void create(final PDDocument document) throws IOException {
+		context.header = SheetUtil.createHeader(context, "Zauberbrief", true, true, false, hero, fill, fillAll, showName, showDate);
 
 		startCreate(document);
 
-		Tuple3<Set<String>, Set<String>, Set<String>> ownMods = null;
-
-		try {
-			ownMods = createTable(document);
-		} catch (final Exception e) {
-			ErrorLogger.logError(e);
+		final Tuple3<Set<String>, Set<String>, Set<String>> ownMods = recordSection("Zauber", null, () -> createTable(document));
+		if (ownMods == null) {
 			endCreate(document);
 			return;
 		}
 
 		float left = 12;
 
-		final float currentBottom = bottom.bottom;
-		float minBottom = bottom.bottom;
+		final float currentBottom = context.bottom.bottom;
+		float minBottom = context.bottom.bottom;
 
 		for (final TitledPane section : settingsPage.getSections()) {
 			if (settingsPage.getBool(section, "").get()) {
-				bottom.bottom = bottom.bottom > currentBottom ? height : currentBottom;
+				context.bottom.bottom = context.bottom.bottom > currentBottom ? height : currentBottom;
 				final boolean ownOnly = settingsPage.getBool(section, OWN_MODS_ONLY).get();
-				try {
-					left = switch (settingsPage.getString(section, null).get()) {
-						case "Merkmale" -> createTraitTable(document, left, ownOnly, ownMods._1);
-						case "Zielobjekte" -> createTargetTable(document, left, ownOnly, ownMods._2);
-						case "Spontane Modifikationen" -> createSpoMoTable(document, left, ownOnly, ownMods._3);
-						default -> left;
-					};
-				} catch (final Exception e) {
-					ErrorLogger.logError(e);
-				}
-				minBottom = Math.min(minBottom, bottom.bottom);
+				final String name = settingsPage.getString(section, null).get();
+				final float sectionLeft = left;
+				left = recordSection(name, left, () -> switch (name) {
+					case "Merkmale" -> createTraitTable(document, sectionLeft, ownOnly, ownMods._1);
+					case "Zielobjekte" -> createTargetTable(document, sectionLeft, ownOnly, ownMods._2);
+					case "Spontane Modifikationen" -> createSpoMoTable(document, sectionLeft, ownOnly, ownMods._3);
+					default -> sectionLeft;
+				});
+				minBottom = Math.min(minBottom, context.bottom.bottom);
 			}
 		}
 
-		bottom.bottom = minBottom;
+		context.bottom.bottom = minBottom;
 
 		endCreate(document);
 	}
 
 	private float createSpoMoTable(final PDDocument document, final float left, final boolean ownOnly, final Set<String> ownSpoMos) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-
-		table.addColumn(new Column(114, 114, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(20, 20, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(40, 40, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(40, 40, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(114, 114, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(20, 20, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(40, 40, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(40, 40, FontManager.serif, 4, fontSize, HAlign.CENTER));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Spontane Modifikation", 1);
-		final Cell abbrevTitle = SheetUtil.createTitleCell("Abk.", 1).setPadding(0, 0, 0, 0);
-		final Cell zfpTitle = SheetUtil.createTitleCell("Probe", 1);
-		final Cell durationTitle = SheetUtil.createTitleCell("Zauberd.", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+
+		table.addColumn(new Column(114, 114, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(20, 20, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(40, 40, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(40, 40, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(114, 114, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(20, 20, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(40, 40, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(40, 40, context.serif, 4, fontSize, HAlign.CENTER));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Spontane Modifikation", 1);
+		final Cell abbrevTitle = SheetUtil.createTitleCell(context, "Abk.", 1).setPadding(0, 0, 0, 0);
+		final Cell zfpTitle = SheetUtil.createTitleCell(context, "Probe", 1);
+		final Cell durationTitle = SheetUtil.createTitleCell(context, "Zauberd.", 1);
 
 		table.addRow(nameTitle, abbrevTitle, zfpTitle, durationTitle, nameTitle, abbrevTitle, zfpTitle, durationTitle);
 
-		final JSONObject spoMos = ResourceManager.getResource("data/Spontane_Modifikationen");
+		final JSONObject spoMos = context.resources.getSpontaneousModifications();
 
 		final List<Tuple4<String, String, String, String>> rows = new ArrayList<>();
 
@@ -161,48 +218,48 @@ public class SpellsSheet extends Sheet {
 			table.addRow(leftSpoMo._1, leftSpoMo._2, leftSpoMo._3, leftSpoMo._4, rightSpoMo._1, rightSpoMo._2, rightSpoMo._3, rightSpoMo._4);
 		}
 
-		bottom.bottom = table.render(document, 428, left, bottom.bottom, 59, 10) - 5;
+		context.bottom.bottom = context.render(table, 428, left, context.bottom.bottom, 59, 10) - 5;
 
 		return left + 433;
 	}
 
 	private Tuple3<Set<String>, Set<String>, Set<String>> createTable(final PDDocument document) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-
-		table.addColumn(new Column(80, 160, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(21, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(13, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(12, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(19, 19, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(57, 57, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(28, 28, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(19, 19, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(63, 63, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(59, 59, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(29, 29, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(21, 21, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(46, 46, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(49, 49, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(52, 52, FontManager.serif, 4, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
-
-		final Cell nameTitle = SheetUtil.createTitleCell("Zauber", 1);
-		final Cell valueTitle = SheetUtil.createTitleCell("ZfW", 1);
-		final Cell seTitle = SheetUtil.createTitleCell("SE", 1);
-		final Cell complexityTitle = SheetUtil.createTitleCell("K", 1);
-		final Cell repTitle = SheetUtil.createTitleCell("Rep", 1);
-		final Cell challengeTitle = SheetUtil.createTitleCell("Probe", 1);
-		final Cell traitTitle = SheetUtil.createTitleCell("Merk.", 1).setHAlign(HAlign.CENTER);
-		final Cell revTitle = SheetUtil.createTitleCell("Rev", 1);
-		final Cell specialisationTitle = SheetUtil.createTitleCell("Spez.(+2)", 1).setHAlign(HAlign.CENTER);
-		final Cell modTitle = SheetUtil.createTitleCell("Spont. Mod.", 1);
-		final Cell rangeTitle = SheetUtil.createTitleCell("RW", 1);
-		final Cell targetTitle = SheetUtil.createTitleCell("ZO", 1);
-		final Cell costTitle = SheetUtil.createTitleCell("Kosten", 1);
-		final Cell castTimeTitle = SheetUtil.createTitleCell("Zauberd.", 1);
-		final Cell durationTitle = SheetUtil.createTitleCell("Wirkungsd.", 1);
-		final Cell descTitle = SheetUtil.createTitleCell("Beschreibung", 1);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+
+		table.addColumn(new Column(80, 160, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(21, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(13, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(12, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(19, 19, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(57, 57, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(28, 28, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(19, 19, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(63, 63, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(59, 59, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(29, 29, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(21, 21, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(46, 46, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(49, 49, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(52, 52, context.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
+
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Zauber", 1);
+		final Cell valueTitle = SheetUtil.createTitleCell(context, "ZfW", 1);
+		final Cell seTitle = SheetUtil.createTitleCell(context, "SE", 1);
+		final Cell complexityTitle = SheetUtil.createTitleCell(context, "K", 1);
+		final Cell repTitle = SheetUtil.createTitleCell(context, "Rep", 1);
+		final Cell challengeTitle = SheetUtil.createTitleCell(context, "Probe", 1);
+		final Cell traitTitle = SheetUtil.createTitleCell(context, "Merk.", 1).setHAlign(HAlign.CENTER);
+		final Cell revTitle = SheetUtil.createTitleCell(context, "Rev", 1);
+		final Cell specialisationTitle = SheetUtil.createTitleCell(context, "Spez.(+2)", 1).setHAlign(HAlign.CENTER);
+		final Cell modTitle = SheetUtil.createTitleCell(context, "Spont. Mod.", 1);
+		final Cell rangeTitle = SheetUtil.createTitleCell(context, "RW", 1);
+		final Cell targetTitle = SheetUtil.createTitleCell(context, "ZO", 1);
+		final Cell costTitle = SheetUtil.createTitleCell(context, "Kosten", 1);
+		final Cell castTimeTitle = SheetUtil.createTitleCell(context, "Zauberd.", 1);
+		final Cell durationTitle = SheetUtil.createTitleCell(context, "Wirkungsd.", 1);
+		final Cell descTitle = SheetUtil.createTitleCell(context, "Beschreibung", 1);
 
 		table.addRow(nameTitle, valueTitle, seTitle, complexityTitle, repTitle, challengeTitle, traitTitle, revTitle, specialisationTitle, modTitle, rangeTitle,
 				targetTitle, costTitle, castTimeTitle, durationTitle, descTitle);
@@ -211,75 +268,60 @@ public class SpellsSheet extends Sheet {
 		final Set<String> ownTargets = new HashSet<>();
 		final Set<String> ownSpoMos = new HashSet<>();
 
-		final JSONObject talents = ResourceManager.getResource("data/Zauber");
+		final JSONObject talents = context.resources.getSpells();
 		final JSONObject actualSpells = hero == null ? null : hero.getObjOrDefault("Zauber", null);
 
-		final Map<String, JSONObject> spells = new TreeMap<>(SheetUtil.comparator);
-		for (final String spellName : talents.keySet()) {
-			spells.put(spellName, talents.getObj(spellName));
+		final long indexStart = System.nanoTime();
+		final Map<String, Set<String>> rows = new TreeMap<>(SheetUtil.comparator);
+		if (actualSpells != null) {
+			for (final String spellName : actualSpells.keySet()) {
+				final JSONObject spell = talents.getObjOrDefault(spellName, null);
+				if (spell == null) {
+					continue;
+				}
+				final JSONObject actualSpell = actualSpells.getObj(spellName);
+				for (final String representation : spell.getObj("Repräsentationen").keySet()) {
+					if (actualSpell.containsKey(representation)) {
+						rows.computeIfAbsent(spellName, _ -> new TreeSet<>(SheetUtil.comparator)).add(representation);
+					}
+				}
+			}
+		}
+
+		final Map<String, List<Tuple<String, String>>> spread = getSpreadIndex(talents);
+		final JSONObject representationNames = context.resources.getRepresentations();
+		for (final String representationName : representationNames.keySet()) {
+			if (spread.containsKey(representationName) && settingsPage
+					.getBool("Repräsentation " + representationNames.getObj(representationName).getStringOrDefault("Name", representationName)).get()) {
+				for (final Tuple<String, String> spellRepresentation : spread.get(representationName)) {
+					rows.computeIfAbsent(spellRepresentation._1, _ -> new TreeSet<>(SheetUtil.comparator)).add(spellRepresentation._2);
+				}
+			}
 		}
+		context.addTiming("Zauberindex", System.nanoTime() - indexStart);
 
-		final JSONObject representationNames = ResourceManager.getResource("data/Repraesentationen");
+		traitIndex = new TraitIndex(context.resources.getTraits(),
+				hero != null && fill ? hero.getObj("Sonderfertigkeiten").getArrOrDefault("Merkmalskenntnis", null) : null,
+				hero != null && fill ? hero.getObj("Nachteile").getArrOrDefault("Unfähigkeit für Merkmal", null) : null);
 
-		for (final String spellName : spells.keySet()) {
-			final JSONObject spell = spells.get(spellName);
-			final JSONObject spellRepresentations = spell.getObj("Repräsentationen");
+		for (final String spellName : rows.keySet()) {
+			final JSONObject spell = talents.getObj(spellName);
 			if (spell.containsKey("Auswahl") || spell.containsKey("Freitext")) {
-				if (actualSpells != null && actualSpells.containsKey(spellName)) {
-					final JSONObject actualSpell = actualSpells.getObj(spellName);
-					final Map<String, JSONArray> orderedRepresentations = new TreeMap<>(SheetUtil.comparator);
-					for (final String representation : spellRepresentations.keySet()) {
-						if (actualSpell.containsKey(representation)) {
-							orderedRepresentations.put(representation, actualSpell.getArr(representation));
-						}
-					}
-					for (final String representation : orderedRepresentations.keySet()) {
-						final JSONArray choiceSpell = orderedRepresentations.get(representation);
-						for (int i = 0; i < choiceSpell.size(); ++i) {
-							final Tuple3<Set<String>, Set<String>, Set<String>> mods = fillSpell(table, spellName, spell, representation,
-									choiceSpell.getObj(i));
-							ownTraits.addAll(mods._1);
-							ownTargets.addAll(mods._2);
-							ownSpoMos.addAll(mods._3);
-						}
+				final JSONObject actualSpell = actualSpells.getObj(spellName);
+				for (final String representation : rows.get(spellName)) {
+					final JSONArray choiceSpell = actualSpell.getArr(representation);
+					for (int i = 0; i < choiceSpell.size(); ++i) {
+						final Tuple3<Set<String>, Set<String>, Set<String>> mods = fillSpell(table, spellName, spell, representation, choiceSpell.getObj(i));
+						ownTraits.addAll(mods._1);
+						ownTargets.addAll(mods._2);
+						ownSpoMos.addAll(mods._3);
 					}
 				}
 			} else {
-				final Map<String, JSONObject> orderedRepresentations = new TreeMap<>(SheetUtil.comparator);
-				if (actualSpells != null && actualSpells.containsKey(spellName)) {
-					final JSONObject actualSpell = actualSpells.getObj(spellName);
-					for (final String representation : spellRepresentations.keySet()) {
-						if (actualSpell.containsKey(representation)) {
-							orderedRepresentations.put(representation, actualSpell.getObj(representation));
-						} else {
-							for (final String knownRepresentation : spellRepresentations.getObj(representation)
-									.getObjOrDefault("Verbreitung", new JSONObject(null)).keySet()) {
-								if (settingsPage.getBool(
-										"Repräsentation " + representationNames.getObj(knownRepresentation).getStringOrDefault("Name", knownRepresentation))
-										.get()) {
-									orderedRepresentations.put(representation, null);
-									break;
-								}
-							}
-						}
-					}
-				} else {
-					for (final String representation : spellRepresentations.keySet()) {
-						for (final String knownRepresentation : spellRepresentations.getObj(representation).getObjOrDefault("Verbreitung", new JSONObject(null))
-								.keySet()) {
-							if (settingsPage
-									.getBool(
-											"Repräsentation " + representationNames.getObj(knownRepresentation).getStringOrDefault("Name", knownRepresentation))
-									.get()) {
-								orderedRepresentations.put(representation, null);
-								break;
-							}
-						}
-					}
-				}
-				for (final String representation : orderedRepresentations.keySet()) {
+				final JSONObject actualSpell = actualSpells != null ? actualSpells.getObjOrDefault(spellName, null) : null;
+				for (final String representation : rows.get(spellName)) {
 					final Tuple3<Set<String>, Set<String>, Set<String>> mods = fillSpell(table, spellName, spell, representation,
-							orderedRepresentations.get(representation));
+							actualSpell != null ? actualSpell.getObjOrDefault(representation, null) : null);
 					ownTraits.addAll(mods._1);
 					ownTargets.addAll(mods._2);
 					ownSpoMos.addAll(mods._3);
@@ -291,24 +333,24 @@ public class SpellsSheet extends Sheet {
 			table.addRow("");
 		}
 
-		bottom.bottom = table.render(document, 818, 12, bottom.bottom, 59, 10) - 5;
+		context.bottom.bottom = context.render(table, 818, 12, context.bottom.bottom, 59, 10) - 5;
 
 		return new Tuple3<>(ownTraits, ownTargets, ownSpoMos);
 	}
 
 	private float createTargetTable(final PDDocument document, final float left, final boolean ownOnly, final Set<String> ownTargets) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(90, 90, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(20, 20, FontManager.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(90, 90, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(20, 20, context.serif, 4, fontSize, HAlign.CENTER));
 
-		final Cell nameTitle = SheetUtil.createTitleCell("Zielobjekt", 1);
-		final Cell abbrevTitle = SheetUtil.createTitleCell("Abk.", 1).setPadding(0, 0, 0, 0);
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Zielobjekt", 1);
+		final Cell abbrevTitle = SheetUtil.createTitleCell(context, "Abk.", 1).setPadding(0, 0, 0, 0);
 
 		table.addRow(nameTitle, abbrevTitle);
 
-		final JSONObject targets = ResourceManager.getResource("data/Zielobjekte");
+		final JSONObject targets = context.resources.getTargetObjects();
 
 		for (final String targetName : targets.keySet()) {
 			if (!ownOnly || ownTargets.contains(targetName)) {
@@ -316,28 +358,28 @@ public class SpellsSheet extends Sheet {
 			}
 		}
 
-		bottom.bottom = table.render(document, 110, left, bottom.bottom, 59, 10) - 5;
+		context.bottom.bottom = context.render(table, 110, left, context.bottom.bottom, 59, 10) - 5;
 
 		return left + 115;
 	}
 
 	private float createTraitTable(final PDDocument document, final float left, final boolean ownOnly, final Set<String> ownTraits) throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe());
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(70, 70, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(20, 20, FontManager.serif, 4, fontSize, HAlign.CENTER).setBorder(0.25f, 0.25f, 0.5f, 0.25f));
-		table.addColumn(new Column(70, 70, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0.25f, 0.5f, 0.25f, 0.25f));
-		table.addColumn(new Column(20, 20, FontManager.serif, 4, fontSize, HAlign.CENTER).setBorder(0.25f, 0.25f, 0.5f, 0.25f));
-		table.addColumn(new Column(70, 70, FontManager.serif, 4, fontSize, HAlign.LEFT).setBorder(0.25f, 0.5f, 0.25f, 0.25f));
-		table.addColumn(new Column(20, 20, FontManager.serif, 4, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(70, 70, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(20, 20, context.serif, 4, fontSize, HAlign.CENTER).setBorder(0.25f, 0.25f, 0.5f, 0.25f));
+		table.addColumn(new Column(70, 70, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0.25f, 0.5f, 0.25f, 0.25f));
+		table.addColumn(new Column(20, 20, context.serif, 4, fontSize, HAlign.CENTER).setBorder(0.25f, 0.25f, 0.5f, 0.25f));
+		table.addColumn(new Column(70, 70, context.serif, 4, fontSize, HAlign.LEFT).setBorder(0.25f, 0.5f, 0.25f, 0.25f));
+		table.addColumn(new Column(20, 20, context.serif, 4, fontSize, HAlign.CENTER));
 
-		final Cell nameTitle = SheetUtil.createTitleCell("Merkmal", 1);
-		final Cell abbrevTitle = SheetUtil.createTitleCell("Abk.", 1).setPadding(0, 0, 0, 0);
+		final Cell nameTitle = SheetUtil.createTitleCell(context, "Merkmal", 1);
+		final Cell abbrevTitle = SheetUtil.createTitleCell(context, "Abk.", 1).setPadding(0, 0, 0, 0);
 
 		table.addRow(nameTitle, abbrevTitle, nameTitle, abbrevTitle, nameTitle, abbrevTitle);
 
-		final JSONObject traits = ResourceManager.getResource("data/Merkmale");
+		final JSONObject traits = context.resources.getTraits();
 
 		final List<Tuple<String, String>> rows = new ArrayList<>();
 
@@ -359,7 +401,7 @@ public class SpellsSheet extends Sheet {
 			table.addRow(leftTrait._1, leftTrait._2, midTrait._1, midTrait._2, rightTrait._1, rightTrait._2);
 		}
 
-		bottom.bottom = table.render(document, 270, left, bottom.bottom, 59, 10) - 5;
+		context.bottom.bottom = context.render(table, 270, left, context.bottom.bottom, 59, 10) - 5;
 
 		return left + 275;
 	}
@@ -400,34 +442,26 @@ public class SpellsSheet extends Sheet {
 				: DSAUtil.getChallengeString(challenge);
 
 		final TextCell traitString = new TextCell();
-		final JSONObject traits = ResourceManager.getResource("data/Merkmale");
+		final JSONObject traits = context.resources.getTraits();
 		final JSONArray actualTraits = spell.getArrOrDefault("Merkmale", baseSpell.getArrOrDefault("Merkmale", null));
-		final JSONArray knownTraits = hero != null && fill ? hero.getObj("Sonderfertigkeiten").getArrOrDefault("Merkmalskenntnis", null) : null;
-		final JSONArray conTraits = hero != null && fill ? hero.getObj("Nachteile").getArrOrDefault("Unfähigkeit für Merkmal", null) : null;
 		if (actualTraits != null) {
-			for (final String traitName : traits.keySet()) {
-				for (int i = 0; i < actualTraits.size(); ++i) {
-					if (traitName.equals(actualTraits.getString(i))) {
-						ownTraits.add(traitName);
-						final Text current = new Text(traits.getObj(traitName).getStringOrDefault("Abkürzung", "X"));
-						traitString.addText(current);
-						if (knownTraits != null) {
-							for (int j = 0; j < knownTraits.size(); ++j) {
-								if (traitName.equals(knownTraits.getObj(j).getString("Auswahl"))) {
-									current.setUnderlined(true);
-									break;
-								}
-							}
-						}
-						if (conTraits != null) {
-							for (int j = 0; j < conTraits.size(); ++j) {
-								if (traitName.equals(conTraits.getObj(j).getString("Auswahl"))) {
-									current.setStriked(true);
-									break;
-								}
-							}
-						}
-					}
+			final BitSet spellTraits = new BitSet();
+			for (int i = 0; i < actualTraits.size(); ++i) {
+				final Integer ordinal = traitIndex.ordinals.get(actualTraits.getString(i));
+				if (ordinal != null) {
+					spellTraits.set(ordinal);
+				}
+			}
+			for (int ordinal = spellTraits.nextSetBit(0); ordinal >= 0; ordinal = spellTraits.nextSetBit(ordinal + 1)) {
+				final String traitName = traitIndex.names.get(ordinal);
+				ownTraits.add(traitName);
+				final Text current = new Text(traits.getObj(traitName).getStringOrDefault("Abkürzung", "X"));
+				traitString.addText(current);
+				if (traitIndex.known.get(ordinal)) {
+					current.setUnderlined(true);
+				}
+				if (traitIndex.blocked.get(ordinal)) {
+					current.setStriked(true);
 				}
 			}
 		}
@@ -442,7 +476,7 @@ public class SpellsSheet extends Sheet {
 			revString = "Bann";
 		}
 
-		final JSONObject spoMos = ResourceManager.getResource("data/Spontane_Modifikationen");
+		final JSONObject spoMos = context.resources.getSpontaneousModifications();
 		final StringBuilder specString = new StringBuilder();
 		final List<String> spoMoSpecs = new ArrayList<>();
 
@@ -492,7 +526,7 @@ public class SpellsSheet extends Sheet {
 		final String range = DSAUtil.getModificationString(spell.getObjOrDefault("Reichweite", baseSpell.getObjOrDefault("Reichweite", null)), Units.RANGE,
 				false);
 		final JSONArray targets = spell.getArrOrDefault("Zielobjekt", baseSpell.getArrOrDefault("Zielobjekt", new JSONArray(null)));
-		final String target = SheetUtil.getTargetObjectsString(targets);
+		final String target = SheetUtil.getTargetObjectsString(context, targets);
 		ownTargets.addAll(targets.getStrings());
 		final String cost = DSAUtil.getModificationString(spell.getObjOrDefault("Kosten", baseSpell.getObjOrDefault("Kosten", null)), Units.NONE, false);
 		final String castTime = DSAUtil.getModificationString(spell.getObjOrDefault("Zauberdauer", baseSpell.getObjOrDefault("Zauberdauer", null)), Units.TIME,
@@ -507,8 +541,8 @@ public class SpellsSheet extends Sheet {
 			name = name + ": " + actualSpell.getStringOrDefault("Freitext", "");
 		}
 
-		final PDFont font = settingsPage.getBool(MARK_HOUSE_SPELLS).get() && actualSpell.getBoolOrDefault("Hauszauber", false) ? FontManager.serifItalic
-				: FontManager.serif;
+		final PDFont font = settingsPage.getBool(MARK_HOUSE_SPELLS).get() && actualSpell.getBoolOrDefault("Hauszauber", false) ? context.serifItalic
+				: context.serif;
 		final TextCell nameCell = new TextCell(name);
 		nameCell.setFont(font);
 
@@ -552,7 +586,7 @@ public class SpellsSheet extends Sheet {
 		final JSONObject duration = variant.getObjOrDefault("Zauberdauer", base.getObjOrDefault("Zauberdauer", null));
 		String durationString = "";
 		if (duration.containsKey("Multiplikativ")) {
-			durationString = SheetUtil.threeDecimalPlacesSigned.format((duration.getDouble("Multiplikativ") - 1) * 100) + "%";
+			durationString = context.threeDecimalPlacesSigned.format((duration.getDouble("Multiplikativ") - 1) * 100) + "%";
 		} else {
 			durationString = DSAUtil.getModificationString(duration, Units.TIME, true);
 			if (durationString.charAt(0) != '+') {
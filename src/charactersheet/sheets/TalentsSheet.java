@@ -16,7 +16,9 @@
 package charactersheet.sheets;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -35,7 +37,6 @@ import boxtable.common.Text;
 import boxtable.event.EventType;
 import boxtable.table.Column;
 import boxtable.table.Table;
-import charactersheet.util.FontManager;
 import charactersheet.util.SheetUtil;
 import dsa41basis.hero.MetaTalent;
 import dsa41basis.hero.Talent;
@@ -54,6 +55,25 @@ import jsonant.value.JSONObject;
 
 public class TalentsSheet extends Sheet {
 
+	/**
+	 * A talent table that is created and measured before it is placed on the page, spanning one, two or all three columns
+	 */
+	private static class PlannedTable {
+		private final TitledPane section;
+		private final Table table;
+		private final int span;
+		private final float height;
+		private int column = 0;
+		private float offset = 0;
+
+		private PlannedTable(final TitledPane section, final Table table, final int span) throws IOException {
+			this.section = section;
+			this.table = table;
+			this.span = span;
+			height = table.getHeight(getWidth(span)) + 5;
+		}
+	}
+
 	private static final String ADDITIONAL_TALENT_ROWS = "Zusätzliche Zeilen";
 	private static final String BASIC_VALUES_IN_WEAPON_TALENTS = "Basiswerte berücksichtigen";
 	private static final String GROUP_BASIC_TALENTS = "Basistalente gruppieren";
@@ -66,330 +86,57 @@ public class TalentsSheet extends Sheet {
 
 	private static float fontSize = 8.4f;
 
-	public TalentsSheet() {
-		super(771);
-	}
-
-	private boolean addMetaTable(final PDDocument document, final TitledPane section, final float top, final float left) throws IOException {
-		final Table table = new Table().setFiller(SheetUtil.stripe()).setNumHeaderRows(2);
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-
-		table.addColumn(new Column(70, 70, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(45, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
-
-		table.addRow(SheetUtil.createTitleCell("Meta-Talente", 4));
-
-		final Cell nameTitle = new TextCell("Talent", FontManager.serifBold, fontSize, fontSize);
-		final Cell tawTitle = new TextCell("TaW", FontManager.serifBold, fontSize, fontSize).setPadding(0, 0, 0, 0);
-		final Cell challengeTitle = new TextCell("Probe", FontManager.serifBold, fontSize, fontSize);
-		final Cell calculationTitle = new TextCell("Berechnung", FontManager.serifBold, fontSize, fontSize);
-
-		table.addRow(nameTitle, tawTitle, challengeTitle, calculationTitle);
-
-		final JSONObject talents = ResourceManager.getResource("data/Talente").getObj("Meta-Talente");
-		final Map<String, JSONObject> metaTalents = new TreeMap<>(SheetUtil.comparator);
-		for (final String talentName : talents.keySet()) {
-			metaTalents.put(talentName, talents.getObj(talentName));
-		}
-
-		for (final String talentName : metaTalents.keySet()) {
-			final JSONObject talent = talents.getObj(talentName);
-
-			String tawString;
-			if (hero != null && fillAll) {
-				final MetaTalent metaTalent = (MetaTalent) Talent.getTalent(talentName, talents, talent, hero, new JSONObject(null), null);
-				final double taw = metaTalent.getPreciseValue();
-				tawString = taw != Double.NEGATIVE_INFINITY ? DSAUtil.oneDecimalPlace.format(taw) : " ";
-			} else {
-				tawString = " ";
-			}
-
-			final JSONArray challenge = talent.getArrOrDefault("Probe", null);
-			final Cell challengeCell = challenge != null ? new TextCell(challenge.getString(0)).addText("/").addText(challenge.getString(1)).addText("/")
-					.addText(challenge.getString(2)).setEquallySpaced(true).setPadding(0, 1, 1, 0) : new TextCell("—");
-
-			final JSONArray calculation = talent.getArr("Berechnung");
-			int numTalents = calculation.size();
-			boolean first = true;
-			final StringBuilder calculationString = new StringBuilder("(");
-			for (int i = 0; i < calculation.size(); ++i) {
-				if (first) {
-					first = false;
-				} else {
-					calculationString.append('+');
-				}
-				final String currentTalent = calculation.getString(i);
-				int j = 1;
-				for (; i + 1 < calculation.size() && currentTalent.equals(calculation.getString(i + 1)); ++i) {
-					++j;
-				}
-				if (j > 1) {
-					calculationString.append(j);
-					calculationString.append('x');
-				}
-				calculationString.append(currentTalent);
-			}
-			if (talent.containsKey("Berechnung:Auswahl")) {
-				calculationString.append("+Talent");
-				++numTalents;
-			}
-			calculationString.append(")/");
-			if (talent.containsKey("Divisor")) {
-				calculationString.append(talent.getDouble("Divisor"));
-			} else {
-				calculationString.append(numTalents);
-			}
-			calculationString.toString();
-
-			table.addRow(talentName, tawString, challengeCell, calculationString.toString());
+	private static float getFilled(final float[] filled, final int column, final int span) {
+		float result = 0;
+		for (int i = column; i < column + span; ++i) {
+			result = Math.max(result, filled[i]);
 		}
-
-		if (settingsPage.getBool(section, OWN_TALENTS_ONLY).get()) {
-			for (int i = 0; i < settingsPage.getInt(section, ADDITIONAL_TALENT_ROWS).get(); ++i) {
-				table.addRow("");
-			}
-		}
-
-		if (table.getNumRows() > 2) {
-			bottom.bottom = table.render(document, 379, left, top, 72, 10) - 5;
-			return true;
-		}
-
-		return false;
+		return result;
 	}
 
-	private boolean addSpecialTable(final PDDocument document, final TitledPane section, final String groupName, final float top, final float left)
-			throws IOException {
-		if (hero == null) return false;
-
-		final JSONObject actualGroup = hero.getObj("Talente").getObjOrDefault(groupName, null);
-		if (actualGroup == null) return false;
-
-		final Table table = new Table().setFiller(SheetUtil.stripe()).setNumHeaderRows(2);
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
-
-		table.addColumn(new Column(105, 105, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(15, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(45, FontManager.serif, fontSize, HAlign.CENTER));
-
-		final JSONObject talentGroupInfo = ResourceManager.getResource("data/Talentgruppen").getObj(groupName);
-
-		table.addRow(SheetUtil.createTitleCell(
-				getGroupTableHeader(groupName, talentGroupInfo, !"Ritualkenntnis".equals(groupName), !"Liturgiekenntnis".equals(groupName)),
-				table.getNumColumns()));
-
-		final Cell nameTitle = new TextCell("Talent", FontManager.serifBold, fontSize, fontSize);
-		final Cell tawTitle = new TextCell("TaW", FontManager.serifBold, fontSize, fontSize).setPadding(0, 0, 0, 0);
-		final Cell seTitle = new TextCell("SE", FontManager.serifBold, fontSize, fontSize);
-		final Cell challengeTitle = new TextCell("Ritualkenntnis".equals(groupName) ? "Leiteig." : "Probe", FontManager.serifBold, fontSize, fontSize);
-		table.addRow(nameTitle, tawTitle, seTitle, challengeTitle);
-
-		final Map<String, JSONObject> talents = new TreeMap<>(SheetUtil.comparator);
-		DSAUtil.foreach(_ -> true, (name, talent) -> {
-			talents.put(name, talent);
-		}, ResourceManager.getResource("data/Talente").getObj(groupName));
-
-		for (final String talentName : talents.keySet()) {
-			final JSONObject talent = talents.get(talentName);
-
-			final List<JSONObject> actualTalents = new LinkedList<>();
-			if (!actualGroup.containsKey(talentName)) {
-				continue;
-			}
-			if (talent.containsKey("Auswahl") || talent.containsKey("Freitext")) {
-				final JSONArray choiceTalent = actualGroup.getArr(talentName);
-				for (int i = 0; i < choiceTalent.size(); ++i) {
-					actualTalents.add(choiceTalent.getObj(i));
-				}
-			} else {
-				actualTalents.add(actualGroup.getObj(talentName));
-			}
-
-			for (final JSONObject actualTalent : actualTalents) {
-				String name = talentName;
-				if (talent.containsKey("Auswahl")) {
-					name = name + ": " + actualTalent.getStringOrDefault("Auswahl", "");
-				} else if (talent.containsKey("Freitext")) {
-					name = name + ": " + actualTalent.getStringOrDefault("Freitext", "");
-				}
-
-				if (fill) {
-					final int enhancement = HeroUtil.getTalentComplexity(hero, talentName);
-					if (enhancement != talentGroupInfo.getIntOrDefault("Steigerung", 0) || "Ritualkenntnis".equals(groupName)) {
-						name += " (" + DSAUtil.getEnhancementGroupString(enhancement) + ")";
-					}
-				} else {
-					if (talent.containsKey("Steigerung") && talent.getIntOrDefault("Steigerung", 0) != 0) {
-						name += " ("
-								+ DSAUtil.getEnhancementGroupString(talentGroupInfo.getIntOrDefault("Steigerung", 0) + talent.getIntOrDefault("Steigerung", 0))
-								+ ")";
-					}
-				}
-
-				final Cell nameCell = new TextCell(name);
-
-				String taw;
-				if (fillAll && actualTalent.getBoolOrDefault("aktiviert", true)) {
-					taw = actualTalent.getIntOrDefault("TaW", 0).toString();
-				} else if (hero != null && fillAll && talent.getBoolOrDefault("Basis", false)) {
-					taw = "0";
-				} else {
-					taw = " ";
-				}
-
-				String se;
-				int ses;
-				if (fillAll && (ses = actualTalent.getIntOrDefault("SEs", 0)) != 0) {
-					if (ses == 1) {
-						se = "X";
-					} else if (ses == 2) {
-						se = "XX";
-					} else {
-						se = Integer.toString(ses);
-					}
-				} else {
-					se = " ";
-				}
-
-				if ("Ritualkenntnis".equals(groupName)) {
-					final String attribute = talent.getStringOrDefault("Leiteigenschaft", null);
-					table.addRow(nameCell, taw, se, attribute != null ? attribute : "—");
-				} else {
-					final JSONArray challenge = talent.getArrOrDefault("Probe",
-							"Liturgiekenntnis".equals(groupName) ? talentGroupInfo.getArrOrDefault("Probe", null) : null);
-					final Cell challengeCell = challenge != null
-							? new TextCell(challenge.getString(0)).addText("/").addText(challenge.getString(1)).addText("/")
-									.addText(challenge.getString(2)).setEquallySpaced(true).setPadding(0, 1, 1, 0)
-							: new TextCell("—");
-					table.addRow(nameCell, taw, se, challengeCell);
-				}
-			}
-		}
-
-		for (int i = 0; i < settingsPage.getInt(section, ADDITIONAL_TALENT_ROWS).get(); ++i) {
-			table.addRow("");
-		}
-
-		if (table.getNumRows() > 2) {
-			bottom.bottom = table.render(document, 187, left, top, 72, 10) - 5;
-			return true;
-		}
+	private static float getWidth(final int span) {
+		return span * 192 - 5;
+	}
 
-		return false;
+	public TalentsSheet() {
+		super(771);
 	}
 
 	@Override
-	public void create(final PDDocument document) throws IOException {
-		header = SheetUtil.createHeader("Talentbrief", true, true, false, hero, fill, fillAll, showName, showDate);
+	protected void create(final PDDocument document) throws IOException {
+		context.header = SheetUtil.createHeader(context, "Talentbrief", true, true, false, hero, fill, fillAll, showName, showDate);
 
 		startCreate(document);
 
-		final JSONObject talents = ResourceManager.getResource("data/Talente");
-		final JSONObject talentGroups = ResourceManager.getResource("data/Talentgruppen");
-
-		float wideBottom = bottom.bottom;
-		float minBottom = bottom.bottom;
-
-		// 0: Next table left, 1: Small tables right, 2: Small tables left, 3: Small table middle, 4: Small table right
-		int layoutMode = 0;
-
-		final TitledPane[] sections = settingsPage.getSections().toArray(new TitledPane[0]);
-		for (int i = 0; i < sections.length; ++i) {
-			final TitledPane section = sections[i];
-			if (!settingsPage.getBool(section, "").get()) {
-				continue;
+		final List<PlannedTable> band = new ArrayList<>();
+		for (final PlannedTable table : planTables()) {
+			if (table.span == 3 || settingsPage.getBool(table.section, AS_SEPARATE_SHEET).get()) {
+				renderBand(document, band);
 			}
 
-			separatePage(document, settingsPage, section);
-
-			final String name = settingsPage.getString(section, null).get();
-			try {
-				switch (name) {
-					case "Meta-Talente" -> {
-						final boolean addedTable = addMetaTable(document, section, layoutMode == 2 ? wideBottom : minBottom, layoutMode == 2 ? 204 : 12);
-						if (addedTable) {
-							layoutMode = layoutMode == 2 ? 0 : 1;
-							if (layoutMode == 1) {
-								minBottom = bottom.bottom;
-								bottom.bottom = wideBottom;
-							}
-						}
-					}
-
-					case "Gaben", "Ritualkenntnis", "Liturgiekenntnis" -> {
-						final float left = layoutMode == 3 ? 204 : layoutMode == 1 || layoutMode == 4 ? 396 : 12;
-						final boolean addedTable = addSpecialTable(document, section, name, bottom.bottom, left);
-						if (addedTable) {
-							switch (layoutMode) {
-								case 0 -> {
-									layoutMode = 3;
-									if (bottom.bottom < minBottom) {
-										minBottom = bottom.bottom;
-										bottom.bottom = wideBottom;
-									} else {
-										minBottom = bottom.bottom;
-										bottom.bottom = height;
-									}
-									for (int j = i + 1; j < i + 4 && j < sections.length; ++j) {
-										if ("Meta-Talente".equals(settingsPage.getString(sections[j], null).get())) {
-											layoutMode = 2;
-											bottom.bottom = minBottom;
-										}
-									}
-								}
-								case 3 -> {
-									layoutMode = 4;
-									if (bottom.bottom < wideBottom) {
-										minBottom = Math.min(bottom.bottom, minBottom);
-										bottom.bottom = wideBottom;
-									} else {
-										bottom.bottom = 72;
-									}
-								}
-								default -> minBottom = Math.min(bottom.bottom, minBottom);
-							}
-						}
-					}
-
-					default -> {
-						bottom.bottom = minBottom;
-
-						final boolean addedTable;
-						if (List.of("Sprachen", "Schriften").contains(name)) {
-							addedTable = createGroupTable(document, section, name, talents.getObj("Sprachen und Schriften"),
-									talentGroups.getObj("Sprachen und Schriften").getObj(name));
-						} else {
-							addedTable = createGroupTable(document, section, name, talents.getObj(name), talentGroups.getObj(name));
-						}
-
-						if (addedTable) {
-							wideBottom = bottom.bottom;
-							minBottom = wideBottom;
-							layoutMode = 0;
-						}
-					}
-				}
-			} catch (final Exception e) {
-				ErrorLogger.logError(e);
+			if (table.span == 3) {
+				recordSection(settingsPage.getString(table.section, null).get(), () -> {
+					separatePage(document, settingsPage, table.section);
+					context.bottom.bottom = context.render(table.table, getWidth(table.span), 12, context.bottom.bottom, 72, 10) - 5;
+				});
+			} else {
+				separatePage(document, settingsPage, table.section);
+				band.add(table);
 			}
 		}
-
-		bottom.bottom = minBottom;
+		renderBand(document, band);
 
 		endCreate(document);
 	}
 
-	private boolean createGroupTable(final PDDocument document, final TitledPane section, final String groupName, final JSONObject talentGroup,
-			final JSONObject talentGroupInfo) throws IOException {
+	private Table createGroupTable(final TitledPane section, final String groupName, final JSONObject talentGroup, final JSONObject talentGroupInfo)
+			throws IOException {
 		final Table table = new Table().setFiller(SheetUtil.stripe()).setNumHeaderRows(2);
-		table.addEventHandler(EventType.BEGIN_PAGE, header);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
 
-		table.addColumn(new Column(110, 110, FontManager.serif, 4, fontSize, HAlign.LEFT));
-		table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-		table.addColumn(new Column(15, FontManager.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(110, 110, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(15, context.serif, fontSize, HAlign.CENTER));
 
 		boolean isCloseCombat = false;
 		boolean isFightGroup = false;
@@ -408,34 +155,34 @@ public class TalentsSheet extends Sheet {
 				isFightGroup = true;
 			case "Körperliche Talente":
 				needsBE = true;
-				table.addColumn(new Column(45, FontManager.serif, fontSize, HAlign.CENTER));
-				table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-				table.addColumn(new Column(111, 111, FontManager.serif, 4, fontSize, HAlign.LEFT));
-				table.addColumn(new Column(111, 111, FontManager.serif, 4, fontSize, HAlign.LEFT));
-				table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
+				table.addColumn(new Column(45, context.serif, fontSize, HAlign.CENTER));
+				table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+				table.addColumn(new Column(111, 111, context.serif, 4, fontSize, HAlign.LEFT));
+				table.addColumn(new Column(111, 111, context.serif, 4, fontSize, HAlign.LEFT));
+				table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
 				break;
 			case "Sprachen":
 				isLanguage = true;
-				table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-				table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-				table.addColumn(new Column(111, 111, FontManager.serif, 4, fontSize, HAlign.LEFT));
-				table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
+				table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+				table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+				table.addColumn(new Column(111, 111, context.serif, 4, fontSize, HAlign.LEFT));
+				table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
 				break;
 			case "Schriften":
 				isWriting = true;
-				table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-				table.addColumn(new Column(20, FontManager.serif, fontSize, HAlign.CENTER));
-				table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
+				table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+				table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+				table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
 				break;
 			default:
-				table.addColumn(new Column(45, FontManager.serif, fontSize, HAlign.CENTER));
-				table.addColumn(new Column(111, 111, FontManager.serif, 4, fontSize, HAlign.LEFT));
-				table.addColumn(new Column(111, 111, FontManager.serif, 4, fontSize, HAlign.LEFT));
-				table.addColumn(new Column(0, 0, FontManager.serif, 4, fontSize, HAlign.LEFT));
+				table.addColumn(new Column(45, context.serif, fontSize, HAlign.CENTER));
+				table.addColumn(new Column(111, 111, context.serif, 4, fontSize, HAlign.LEFT));
+				table.addColumn(new Column(111, 111, context.serif, 4, fontSize, HAlign.LEFT));
+				table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
 				break;
 		}
 
-		table.addRow(SheetUtil.createTitleCell(getGroupTableHeader(groupName, talentGroupInfo, true, true), table.getNumColumns()));
+		table.addRow(SheetUtil.createTitleCell(context, getGroupTableHeader(groupName, talentGroupInfo, true, true), table.getNumColumns()));
 
 		String derivation;
 		final int groupDerive = talentGroupInfo.getIntOrDefault("Ableiten", 10);
@@ -445,39 +192,39 @@ public class TalentsSheet extends Sheet {
 			derivation = "Ableiten (+" + groupDerive + ")";
 		}
 
-		final Cell nameTitle = new TextCell("Talent", FontManager.serifBold, fontSize, fontSize);
-		final Cell tawTitle = new TextCell("TaW", FontManager.serifBold, fontSize, fontSize).setPadding(0, 0.5f, 0.5f, 0);
-		final Cell seTitle = new TextCell("SE", FontManager.serifBold, fontSize, fontSize);
-		final Cell challengeTitle = new TextCell("Probe", FontManager.serifBold, fontSize, fontSize);
-		final Cell kplTitle = new TextCell("Kpl.", FontManager.serifBold, fontSize, fontSize);
-		final Cell specialisationTitle = new TextCell("Spezialisierung (+2)", FontManager.serifBold, fontSize, fontSize);
-		final Cell preconditionTitle = new TextCell("Voraussetzungen", FontManager.serifBold, fontSize, fontSize);
-		final Cell languageTitle = new TextCell("S", FontManager.serifBold, fontSize, fontSize);
+		final Cell nameTitle = new TextCell("Talent", context.serifBold, fontSize, fontSize);
+		final Cell tawTitle = new TextCell("TaW", context.serifBold, fontSize, fontSize).setPadding(0, 0.5f, 0.5f, 0);
+		final Cell seTitle = new TextCell("SE", context.serifBold, fontSize, fontSize);
+		final Cell challengeTitle = new TextCell("Probe", context.serifBold, fontSize, fontSize);
+		final Cell kplTitle = new TextCell("Kpl.", context.serifBold, fontSize, fontSize);
+		final Cell specialisationTitle = new TextCell("Spezialisierung (+2)", context.serifBold, fontSize, fontSize);
+		final Cell preconditionTitle = new TextCell("Voraussetzungen", context.serifBold, fontSize, fontSize);
+		final Cell languageTitle = new TextCell("S", context.serifBold, fontSize, fontSize);
 
 		if (needsBE) {
 			Cell fourth;
 			if (isCloseCombat) {
-				fourth = new TextCell("AT", FontManager.serifBold, fontSize, fontSize).addText("/").addText("PA").setEquallySpaced(true);
+				fourth = new TextCell("AT", context.serifBold, fontSize, fontSize).addText("/").addText("PA").setEquallySpaced(true);
 			} else if (isFightGroup) {
-				fourth = new TextCell("FK", FontManager.serifBold, fontSize, fontSize);
+				fourth = new TextCell("FK", context.serifBold, fontSize, fontSize);
 			} else {
 				fourth = challengeTitle;
 			}
 
-			final Cell specialisations = isCloseCombat ? new TextCell("Spezialisierung (+1/+1)", FontManager.serifBold, fontSize, fontSize)
+			final Cell specialisations = isCloseCombat ? new TextCell("Spezialisierung (+1/+1)", context.serifBold, fontSize, fontSize)
 					: specialisationTitle;
-			final Cell preconditions = isFightGroup ? new TextCell("Waffenmeister", FontManager.serifBold, fontSize, fontSize) : preconditionTitle;
+			final Cell preconditions = isFightGroup ? new TextCell("Waffenmeister", context.serifBold, fontSize, fontSize) : preconditionTitle;
 
-			table.addRow(nameTitle, tawTitle, seTitle, fourth, new TextCell("BE", FontManager.serifBold, fontSize, fontSize), specialisations, preconditions,
-					new TextCell(derivation, FontManager.serifBold, fontSize, fontSize));
+			table.addRow(nameTitle, tawTitle, seTitle, fourth, new TextCell("BE", context.serifBold, fontSize, fontSize), specialisations, preconditions,
+					new TextCell(derivation, context.serifBold, fontSize, fontSize));
 		} else if (isLanguage) {
 			table.addRow(nameTitle, tawTitle, seTitle, kplTitle, languageTitle, preconditionTitle,
-					new TextCell("Schriften", FontManager.serifBold, fontSize, fontSize));
+					new TextCell("Schriften", context.serifBold, fontSize, fontSize));
 		} else if (isWriting) {
-			table.addRow(nameTitle, tawTitle, seTitle, kplTitle, languageTitle, new TextCell("Sprachen", FontManager.serifBold, fontSize, fontSize));
+			table.addRow(nameTitle, tawTitle, seTitle, kplTitle, languageTitle, new TextCell("Sprachen", context.serifBold, fontSize, fontSize));
 		} else {
 			table.addRow(nameTitle, tawTitle, seTitle, challengeTitle, specialisationTitle, preconditionTitle,
-					new TextCell(derivation, FontManager.serifBold, fontSize, fontSize));
+					new TextCell(derivation, context.serifBold, fontSize, fontSize));
 		}
 
 		boolean basicTalent = false;
@@ -522,8 +269,8 @@ public class TalentsSheet extends Sheet {
 				}
 
 				TextCell nameCell;
-				final PDFont font = settingsPage.getBool(MARK_BASIC_TALENTS).get() && talent.getBoolOrDefault("Basis", false) ? FontManager.serifItalic
-						: FontManager.serif;
+				final PDFont font = settingsPage.getBool(MARK_BASIC_TALENTS).get() && talent.getBoolOrDefault("Basis", false) ? context.serifItalic
+						: context.serif;
 				if (talent.containsKey("Sprachfamilien")) {
 					String name = "Geheiligte Glyphen von Unau".equals(talentName) ? "Geh. Glyphen von Unau" : talentName.replace(" (Schrift)", "");
 					if (talent.containsKey("Auswahl")) {
@@ -548,7 +295,7 @@ public class TalentsSheet extends Sheet {
 						familyString.append(languageFamilies.get(family));
 					}
 
-					final Text family = new Text(familyString.toString()).setFont(FontManager.serif).setFontSize(4).setVerticalOffset(3);
+					final Text family = new Text(familyString.toString()).setFont(context.serif).setFontSize(4).setVerticalOffset(3);
 					nameCell.addText(family);
 
 					if (hero != null && fill) {
@@ -556,20 +303,20 @@ public class TalentsSheet extends Sheet {
 
 						if (talent.getBoolOrDefault("Leittalent", false) || actualTalent != null && actualTalent.getBoolOrDefault("Leittalent", false)) {
 							if (settingsPage.getBool(SHOW_PRIMARY).get()) {
-								nameCell.addText(new Text("(L)").setFont(FontManager.serif));
+								nameCell.addText(new Text("(L)").setFont(context.serif));
 							}
 						} else if (hero.getObj("Nachteile").containsKey("Elfische Weltsicht")) {
 							--enhancement;
 						}
 						if (enhancement != talentGroupInfo.getIntOrDefault("Steigerung", 0)) {
-							nameCell.addText(new Text("(" + DSAUtil.getEnhancementGroupString(enhancement) + ")").setFont(FontManager.serif));
+							nameCell.addText(new Text("(" + DSAUtil.getEnhancementGroupString(enhancement) + ")").setFont(context.serif));
 						}
 					} else {
 						if (talent.containsKey("Steigerung") && talent.getIntOrDefault("Steigerung", 0) != 0) {
 							nameCell.addText(new Text("("
 									+ DSAUtil.getEnhancementGroupString(
 											talentGroupInfo.getIntOrDefault("Steigerung", 0) + talent.getIntOrDefault("Steigerung", 0))
-									+ ")").setFont(FontManager.serif));
+									+ ")").setFont(context.serif));
 						}
 					}
 				} else {
@@ -582,21 +329,21 @@ public class TalentsSheet extends Sheet {
 
 						if (talent.getBoolOrDefault("Leittalent", false) || actualTalent != null && actualTalent.getBoolOrDefault("Leittalent", false)) {
 							if (settingsPage.getBool(SHOW_PRIMARY).get()) {
-								nameCell.addText(new Text("(L)").setFont(FontManager.serif));
+								nameCell.addText(new Text("(L)").setFont(context.serif));
 							}
 						} else if (hero.getObj("Nachteile").containsKey("Elfische Weltsicht")) {
 							--enhancement;
 						}
 
 						if (enhancement != talentGroupInfo.getIntOrDefault("Steigerung", 0)) {
-							nameCell.addText(new Text("(" + DSAUtil.getEnhancementGroupString(enhancement) + ")").setFont(FontManager.serif));
+							nameCell.addText(new Text("(" + DSAUtil.getEnhancementGroupString(enhancement) + ")").setFont(context.serif));
 						}
 					} else {
 						if (talent.containsKey("Steigerung") && talent.getIntOrDefault("Steigerung", 0) != 0) {
 							nameCell.addText(new Text("("
 									+ DSAUtil.getEnhancementGroupString(
 											talentGroupInfo.getIntOrDefault("Steigerung", 0) + talent.getIntOrDefault("Steigerung", 0))
-									+ ")").setFont(FontManager.serif));
+									+ ")").setFont(context.serif));
 						}
 					}
 				}
@@ -634,11 +381,11 @@ public class TalentsSheet extends Sheet {
 					}
 					if (hero != null && fillAll) {
 						final int ATBase = basicValuesInWeaponTalent
-								? HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Attacke-Basis"), hero,
+								? context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Attacke-Basis"), hero,
 										hero.getObj("Basiswerte").getObj("Attacke-Basis"), false)
 								: 0;
 						final int PABase = basicValuesInWeaponTalent
-								? HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Parade-Basis"), hero,
+								? context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Parade-Basis"), hero,
 										hero.getObj("Basiswerte").getObj("Parade-Basis"), false)
 								: 0;
 
@@ -658,7 +405,7 @@ public class TalentsSheet extends Sheet {
 				} else if (isFightGroup) {
 					String fk;
 					if (hero != null && fillAll && basicValuesInWeaponTalent) {
-						final int FKBase = HeroUtil.deriveValue(ResourceManager.getResource("data/Basiswerte").getObj("Fernkampf-Basis"), hero,
+						final int FKBase = context.heroValues.deriveValue(context.resources.getBasicValues().getObj("Fernkampf-Basis"), hero,
 								hero.getObj("Basiswerte").getObj("Fernkampf-Basis"), false);
 						if (actualTalent != null && actualTalent.getBoolOrDefault("aktiviert", true)) {
 							fk = Integer.toString(FKBase + actualTalent.getIntOrDefault("AT", 0));
@@ -681,9 +428,9 @@ public class TalentsSheet extends Sheet {
 						if (settingsPage.getBool(VALUES_FOR_ATTRIBUTES).get()) {
 							if (hero != null && fill) {
 								final JSONObject attributes = hero.getObj("Eigenschaften");
-								attributeStrings[0] = Integer.toString(HeroUtil.getCurrentValue(attributes.getObj(challenge.getString(0)), false));
-								attributeStrings[1] = Integer.toString(HeroUtil.getCurrentValue(attributes.getObj(challenge.getString(1)), false));
-								attributeStrings[2] = Integer.toString(HeroUtil.getCurrentValue(attributes.getObj(challenge.getString(2)), false));
+								attributeStrings[0] = Integer.toString(context.heroValues.getCurrentValue(attributes.getObj(challenge.getString(0)), false));
+								attributeStrings[1] = Integer.toString(context.heroValues.getCurrentValue(attributes.getObj(challenge.getString(1)), false));
+								attributeStrings[2] = Integer.toString(context.heroValues.getCurrentValue(attributes.getObj(challenge.getString(2)), false));
 							} else {
 								attributeStrings[0] = "";
 								attributeStrings[1] = "";
@@ -766,7 +513,7 @@ public class TalentsSheet extends Sheet {
 						final JSONArray requirements = talent.getArr("Voraussetzungen");
 						requirementString = StringUtil.mkStringObj(requirements, ", ",
 								requirement -> (requirement.containsKey("Ab") ? requirement.getInt("Ab") + "+:\u00A0" : "")
-										+ SheetUtil.getRequirementString(requirement, talent));
+										+ SheetUtil.getRequirementString(context, requirement, talent));
 					} else {
 						requirementString = " ";
 					}
@@ -776,7 +523,7 @@ public class TalentsSheet extends Sheet {
 				if (isLanguage && talent.containsKey("Schriften")) {
 					table.addCells(talent.getArr("Schriften").getStrings().stream().map(s -> s.replace(" (Schrift)", "")).collect(Collectors.joining(", ")));
 				} else if (isWriting) {
-					final JSONObject languages = ResourceManager.getResource("data/Talente").getObj("Sprachen und Schriften");
+					final JSONObject languages = context.resources.getTalents().getObj("Sprachen und Schriften");
 					final String languagesString = StringUtil.mkString(languages.keySet(), ", ", languageName -> {
 						final JSONObject language = languages.getObj(languageName);
 						return language.containsKey("Schriften")
@@ -824,12 +571,92 @@ public class TalentsSheet extends Sheet {
 			}
 		}
 
-		if (table.getNumRows() > 2) {
-			bottom.bottom = table.render(document, 571, 12, bottom.bottom, 72, 10) - 5;
-			return true;
+		return table.getNumRows() > 2 ? table : null;
+	}
+
+	private Table createMetaTable(final TitledPane section) throws IOException {
+		final Table table = new Table().setFiller(SheetUtil.stripe()).setNumHeaderRows(2);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+
+		table.addColumn(new Column(70, 70, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(45, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(0, 0, context.serif, 4, fontSize, HAlign.LEFT));
+
+		table.addRow(SheetUtil.createTitleCell(context, "Meta-Talente", 4));
+
+		final Cell nameTitle = new TextCell("Talent", context.serifBold, fontSize, fontSize);
+		final Cell tawTitle = new TextCell("TaW", context.serifBold, fontSize, fontSize).setPadding(0, 0, 0, 0);
+		final Cell challengeTitle = new TextCell("Probe", context.serifBold, fontSize, fontSize);
+		final Cell calculationTitle = new TextCell("Berechnung", context.serifBold, fontSize, fontSize);
+
+		table.addRow(nameTitle, tawTitle, challengeTitle, calculationTitle);
+
+		final JSONObject talents = context.resources.getTalents().getObj("Meta-Talente");
+		final Map<String, JSONObject> metaTalents = new TreeMap<>(SheetUtil.comparator);
+		for (final String talentName : talents.keySet()) {
+			metaTalents.put(talentName, talents.getObj(talentName));
+		}
+
+		for (final String talentName : metaTalents.keySet()) {
+			final JSONObject talent = talents.getObj(talentName);
+
+			String tawString;
+			if (hero != null && fillAll) {
+				final MetaTalent metaTalent = (MetaTalent) Talent.getTalent(talentName, talents, talent, hero, new JSONObject(null), null);
+				final double taw = metaTalent.getPreciseValue();
+				tawString = taw != Double.NEGATIVE_INFINITY ? DSAUtil.oneDecimalPlace.format(taw) : " ";
+			} else {
+				tawString = " ";
+			}
+
+			final JSONArray challenge = talent.getArrOrDefault("Probe", null);
+			final Cell challengeCell = challenge != null ? new TextCell(challenge.getString(0)).addText("/").addText(challenge.getString(1)).addText("/")
+					.addText(challenge.getString(2)).setEquallySpaced(true).setPadding(0, 1, 1, 0) : new TextCell("—");
+
+			final JSONArray calculation = talent.getArr("Berechnung");
+			int numTalents = calculation.size();
+			boolean first = true;
+			final StringBuilder calculationString = new StringBuilder("(");
+			for (int i = 0; i < calculation.size(); ++i) {
+				if (first) {
+					first = false;
+				} else {
+					calculationString.append('+');
+				}
+				final String currentTalent = calculation.getString(i);
+				int j = 1;
+				for (; i + 1 < calculation.size() && currentTalent.equals(calculation.getString(i + 1)); ++i) {
+					++j;
+				}
+				if (j > 1) {
+					calculationString.append(j);
+					calculationString.append('x');
+				}
+				calculationString.append(currentTalent);
+			}
+			if (talent.containsKey("Berechnung:Auswahl")) {
+				calculationString.append("+Talent");
+				++numTalents;
+			}
+			calculationString.append(")/");
+			if (talent.containsKey("Divisor")) {
+				calculationString.append(talent.getDouble("Divisor"));
+			} else {
+				calculationString.append(numTalents);
+			}
+			calculationString.toString();
+
+			table.addRow(talentName, tawString, challengeCell, calculationString.toString());
+		}
+
+		if (settingsPage.getBool(section, OWN_TALENTS_ONLY).get()) {
+			for (int i = 0; i < settingsPage.getInt(section, ADDITIONAL_TALENT_ROWS).get(); ++i) {
+				table.addRow("");
+			}
 		}
 
-		return false;
+		return table.getNumRows() > 2 ? table : null;
 	}
 
 	private void createSection(final String name, final boolean[] lock, final ReactiveSpinner<Integer> additionalRows, final CheckBox ownTalentsOnly) {
@@ -867,6 +694,121 @@ public class TalentsSheet extends Sheet {
 		}
 	}
 
+	private Table createSpecialTable(final TitledPane section, final String groupName) throws IOException {
+		if (hero == null) return null;
+
+		final JSONObject actualGroup = hero.getObj("Talente").getObjOrDefault(groupName, null);
+		if (actualGroup == null) return null;
+
+		final Table table = new Table().setFiller(SheetUtil.stripe()).setNumHeaderRows(2);
+		table.addEventHandler(EventType.BEGIN_PAGE, context.header);
+
+		table.addColumn(new Column(105, 105, context.serif, 4, fontSize, HAlign.LEFT));
+		table.addColumn(new Column(20, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(15, context.serif, fontSize, HAlign.CENTER));
+		table.addColumn(new Column(45, context.serif, fontSize, HAlign.CENTER));
+
+		final JSONObject talentGroupInfo = context.resources.getTalentGroups().getObj(groupName);
+
+		table.addRow(SheetUtil.createTitleCell(context,
+				getGroupTableHeader(groupName, talentGroupInfo, !"Ritualkenntnis".equals(groupName), !"Liturgiekenntnis".equals(groupName)),
+				table.getNumColumns()));
+
+		final Cell nameTitle = new TextCell("Talent", context.serifBold, fontSize, fontSize);
+		final Cell tawTitle = new TextCell("TaW", context.serifBold, fontSize, fontSize).setPadding(0, 0, 0, 0);
+		final Cell seTitle = new TextCell("SE", context.serifBold, fontSize, fontSize);
+		final Cell challengeTitle = new TextCell("Ritualkenntnis".equals(groupName) ? "Leiteig." : "Probe", context.serifBold, fontSize, fontSize);
+		table.addRow(nameTitle, tawTitle, seTitle, challengeTitle);
+
+		final Map<String, JSONObject> talents = new TreeMap<>(SheetUtil.comparator);
+		DSAUtil.foreach(_ -> true, (name, talent) -> {
+			talents.put(name, talent);
+		}, context.resources.getTalents().getObj(groupName));
+
+		for (final String talentName : talents.keySet()) {
+			final JSONObject talent = talents.get(talentName);
+
+			final List<JSONObject> actualTalents = new LinkedList<>();
+			if (!actualGroup.containsKey(talentName)) {
+				continue;
+			}
+			if (talent.containsKey("Auswahl") || talent.containsKey("Freitext")) {
+				final JSONArray choiceTalent = actualGroup.getArr(talentName);
+				for (int i = 0; i < choiceTalent.size(); ++i) {
+					actualTalents.add(choiceTalent.getObj(i));
+				}
+			} else {
+				actualTalents.add(actualGroup.getObj(talentName));
+			}
+
+			for (final JSONObject actualTalent : actualTalents) {
+				String name = talentName;
+				if (talent.containsKey("Auswahl")) {
+					name = name + ": " + actualTalent.getStringOrDefault("Auswahl", "");
+				} else if (talent.containsKey("Freitext")) {
+					name = name + ": " + actualTalent.getStringOrDefault("Freitext", "");
+				}
+
+				if (fill) {
+					final int enhancement = HeroUtil.getTalentComplexity(hero, talentName);
+					if (enhancement != talentGroupInfo.getIntOrDefault("Steigerung", 0) || "Ritualkenntnis".equals(groupName)) {
+						name += " (" + DSAUtil.getEnhancementGroupString(enhancement) + ")";
+					}
+				} else {
+					if (talent.containsKey("Steigerung") && talent.getIntOrDefault("Steigerung", 0) != 0) {
+						name += " ("
+								+ DSAUtil.getEnhancementGroupString(talentGroupInfo.getIntOrDefault("Steigerung", 0) + talent.getIntOrDefault("Steigerung", 0))
+								+ ")";
+					}
+				}
+
+				final Cell nameCell = new TextCell(name);
+
+				String taw;
+				if (fillAll && actualTalent.getBoolOrDefault("aktiviert", true)) {
+					taw = actualTalent.getIntOrDefault("TaW", 0).toString();
+				} else if (hero != null && fillAll && talent.getBoolOrDefault("Basis", false)) {
+					taw = "0";
+				} else {
+					taw = " ";
+				}
+
+				String se;
+				int ses;
+				if (fillAll && (ses = actualTalent.getIntOrDefault("SEs", 0)) != 0) {
+					if (ses == 1) {
+						se = "X";
+					} else if (ses == 2) {
+						se = "XX";
+					} else {
+						se = Integer.toString(ses);
+					}
+				} else {
+					se = " ";
+				}
+
+				if ("Ritualkenntnis".equals(groupName)) {
+					final String attribute = talent.getStringOrDefault("Leiteigenschaft", null);
+					table.addRow(nameCell, taw, se, attribute != null ? attribute : "—");
+				} else {
+					final JSONArray challenge = talent.getArrOrDefault("Probe",
+							"Liturgiekenntnis".equals(groupName) ? talentGroupInfo.getArrOrDefault("Probe", null) : null);
+					final Cell challengeCell = challenge != null
+							? new TextCell(challenge.getString(0)).addText("/").addText(challenge.getString(1)).addText("/")
+									.addText(challenge.getString(2)).setEquallySpaced(true).setPadding(0, 1, 1, 0)
+							: new TextCell("—");
+					table.addRow(nameCell, taw, se, challengeCell);
+				}
+			}
+		}
+
+		for (int i = 0; i < settingsPage.getInt(section, ADDITIONAL_TALENT_ROWS).get(); ++i) {
+			table.addRow("");
+		}
+
+		return table.getNumRows() > 2 ? table : null;
+	}
+
 	private String getGroupTableHeader(final String name, final JSONObject talentGroup, final boolean addEnhancement, final boolean addChallenge) {
 		final StringBuilder title = new StringBuilder(name);
 
@@ -1021,6 +963,104 @@ public class TalentsSheet extends Sheet {
 		}
 	}
 
+	private List<PlannedTable> planTables() {
+		final JSONObject talents = context.resources.getTalents();
+		final JSONObject talentGroups = context.resources.getTalentGroups();
+
+		final List<PlannedTable> planned = new ArrayList<>();
+		for (final TitledPane section : settingsPage.getSections()) {
+			if (!settingsPage.getBool(section, "").get()) {
+				continue;
+			}
+
+			final String name = settingsPage.getString(section, null).get();
+			recordSection(name, () -> {
+				final Table table;
+				final int span;
+				switch (name) {
+					case "Meta-Talente" -> {
+						table = createMetaTable(section);
+						span = 2;
+					}
+					case "Gaben", "Ritualkenntnis", "Liturgiekenntnis" -> {
+						table = createSpecialTable(section, name);
+						span = 1;
+					}
+					case "Sprachen", "Schriften" -> {
+						table = createGroupTable(section, name, talents.getObj("Sprachen und Schriften"),
+								talentGroups.getObj("Sprachen und Schriften").getObj(name));
+						span = 3;
+					}
+					default -> {
+						table = createGroupTable(section, name, talents.getObj(name), talentGroups.getObj(name));
+						span = 3;
+					}
+				}
+				if (table != null) {
+					planned.add(new PlannedTable(section, table, span));
+				}
+			});
+		}
+		return planned;
+	}
+
+	/**
+	 * Packs the small tables between two full-width tables into the three columns, largest first, each into the columns filled the least so far.
+	 * The tables start on a new page if they don't fit on the current one, and are placed one below the other if they don't fit on any page.
+	 * Errors are logged, and the band is emptied in any case, so that no table is rendered twice.
+	 */
+	private void renderBand(final PDDocument document, final List<PlannedTable> band) {
+		if (band.isEmpty()) return;
+
+		try {
+			final List<PlannedTable> bySize = new ArrayList<>(band);
+			bySize.sort(Comparator.comparingInt((final PlannedTable table) -> -table.span).thenComparingDouble(table -> -table.height));
+			final float[] filled = new float[3];
+			float bandHeight = 0;
+			for (final PlannedTable table : bySize) {
+				for (int column = 1; column + table.span <= filled.length; ++column) {
+					if (getFilled(filled, column, table.span) < getFilled(filled, table.column, table.span)) {
+						table.column = column;
+					}
+				}
+				table.offset = getFilled(filled, table.column, table.span);
+				for (int i = table.column; i < table.column + table.span; ++i) {
+					filled[i] = table.offset + table.height;
+				}
+				bandHeight = Math.max(bandHeight, table.offset + table.height);
+			}
+
+			if (bandHeight > context.bottom.bottom - 72) {
+				if (bandHeight > context.bottom.top - 72 || context.bottom.bottom == context.bottom.top) {
+					for (final PlannedTable table : band) {
+						context.bottom.bottom = renderPlanned(table, 12, context.bottom.bottom);
+					}
+					return;
+				}
+				newPage(document);
+			}
+
+			final float top = context.bottom.bottom;
+			float bottom = top;
+			for (final PlannedTable table : band) {
+				bottom = Math.min(bottom, renderPlanned(table, 12 + table.column * 192, top - table.offset));
+			}
+			context.bottom.bottom = bottom;
+		} catch (final Exception e) {
+			ErrorLogger.logError(e);
+		} finally {
+			band.clear();
+		}
+	}
+
+	/**
+	 * Renders a table of a band as part of its own section and returns the bottom below it, or the top if it fails
+	 */
+	private float renderPlanned(final PlannedTable table, final float left, final float top) {
+		return recordSection(settingsPage.getString(table.section, null).get(), top,
+				() -> context.render(table.table, getWidth(table.span), left, top, 72, 10) - 5);
+	}
+
 	@Override
 	public String toString() {
 		return "Talentbrief";
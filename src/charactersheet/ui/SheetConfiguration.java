@@ -17,15 +17,17 @@ package charactersheet.ui;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
 import org.controlsfx.control.CheckListView;
 import org.controlsfx.control.CheckModel;
 
@@ -40,21 +42,30 @@ import charactersheet.sheets.Sheet;
 import charactersheet.sheets.SpecialSkillsSheet;
 import charactersheet.sheets.SpellsSheet;
 import charactersheet.sheets.TalentsSheet;
-import charactersheet.util.FontManager;
+import charactersheet.util.HeapUsage;
+import charactersheet.util.PageCache;
+import charactersheet.util.RenderContext;
 import dsa41basis.ui.hero.HeroController;
 import dsa41basis.ui.hero.HeroSelector;
 import dsatool.gui.GUIUtil;
 import dsatool.util.ErrorLogger;
 import dsatool.util.Util;
+import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.MultipleSelectionModel;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.RadioButton;
 import javafx.scene.control.SelectionMode;
 import javafx.scene.control.cell.CheckBoxListCell;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
 import javafx.stage.FileChooser;
@@ -75,13 +86,28 @@ public class SheetConfiguration extends HeroSelector {
 	@FXML
 	private CheckBox showDate;
 	@FXML
+	private CheckBox lowMemory;
+	@FXML
+	private CheckBox statistics;
+	@FXML
 	private CheckListView<Sheet> sheets;
 	@FXML
 	private StackPane tabArea;
+	@FXML
+	private ProgressBar progress;
 
 	private final Map<Sheet, Node> sheetControls = new HashMap<>();
 	private final Map<String, Sheet> sheetNames = new HashMap<>();
 
+	private final PageCache pageCache = new PageCache();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "Heldenbogen");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private Task<Void> task;
+	private String taskSettings;
+
 	private JSONObject hero;
 
 	private Sheet[] checkedPreviously;
@@ -105,6 +131,12 @@ public class SheetConfiguration extends HeroSelector {
 
 		sheets.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
+		for (final BooleanProperty selected : List.of(noFill.selectedProperty(), fill.selectedProperty(), fillAll.selectedProperty(),
+				showName.selectedProperty(), showDate.selectedProperty())) {
+			selected.addListener((_, _, _) -> cancel());
+		}
+		sheets.getCheckModel().getCheckedItems().addListener((ListChangeListener<Sheet>) _ -> cancel());
+
 		sheets.getSelectionModel().selectedItemProperty().addListener((_, _, newV) -> {
 			if (newV != null) {
 				sheetControls.get(newV).toFront();
@@ -137,6 +169,8 @@ public class SheetConfiguration extends HeroSelector {
 				sheet.load();
 				controllers.add(sheet);
 				final Node control = sheet.getControl();
+				control.addEventFilter(MouseEvent.MOUSE_RELEASED, _ -> Platform.runLater(this::cancelIfSettingsChanged));
+				control.addEventFilter(KeyEvent.KEY_RELEASED, _ -> Platform.runLater(this::cancelIfSettingsChanged));
 				tabArea.getChildren().add(control);
 				sheetControls.put(sheet, control);
 				sheetNames.put(sheet.toString(), sheet);
@@ -149,6 +183,27 @@ public class SheetConfiguration extends HeroSelector {
 		load();
 	}
 
+	/**
+	 * Aborts the document that is currently being created, as its inputs have changed
+	 */
+	private void cancel() {
+		if (task != null) {
+			task.cancel(true);
+			task = null;
+			taskSettings = null;
+			progress.setVisible(false);
+		}
+	}
+
+	/**
+	 * Aborts the document that is currently being created if the settings of a sheet have been changed on its settings page
+	 */
+	private void cancelIfSettingsChanged() {
+		if (task != null && !getSettings(null).toString().equals(taskSettings)) {
+			cancel();
+		}
+	}
+
 	private void checkAndOrderSheets() {
 		final JSONObject settings = hero != null ? hero.getObjOrDefault("Heldenbogen", null) : null;
 
@@ -180,28 +235,112 @@ public class SheetConfiguration extends HeroSelector {
 		}
 	}
 
-	private void create(final File file) {
-		Logger.getLogger("org.apache").setLevel(Level.SEVERE);
-
-		Sheet.reset();
-		try (final PDDocument document = new PDDocument()) {
-			FontManager.initFonts(document);
-			document.getDocumentCatalog().setDocumentOutline(new PDDocumentOutline());
-			for (final Sheet sheet : sheets.getCheckModel().getCheckedItems()) {
-				sheet.setFill(!noFill.isSelected(), fillAll.isSelected());
-				sheet.setShowNameAndDate(showName.isSelected(), showDate.isSelected());
-				try {
-					sheet.create(document);
-				} catch (final Exception e) {
-					ErrorLogger.logError(e);
+	/**
+	 * Creates the document in the background. A document that is still being created is aborted, so that repeated requests only create the last one.
+	 * The task works on a copy of the hero and on its own sheets with a snapshot of the settings, so that neither may change while it is running.
+	 * The tasks run one after the other on a single thread, so an aborted task has ended before the next one uses the page cache.
+	 */
+	private void create(final File file, final JSONObject settings, final Runnable onSuccess) {
+		cancel();
+
+		final List<Class<? extends Sheet>> checkedSheets = new ArrayList<>();
+		for (final Sheet sheet : sheets.getCheckModel().getCheckedItems()) {
+			checkedSheets.add(sheet.getClass());
+		}
+		final JSONObject currentHero = hero != null ? hero.clone(null) : null;
+		if (currentHero != null) {
+			currentHero.removeKey("Heldenbogen");
+		}
+		final JSONObject currentSettings = settings.clone(null);
+		final boolean doFill = !noFill.isSelected();
+		final boolean doFillAll = fillAll.isSelected();
+		final boolean doShowName = showName.isSelected();
+		final boolean doShowDate = showDate.isSelected();
+		final boolean doLowMemory = lowMemory.isSelected();
+		final boolean doStatistics = statistics.isSelected();
+
+		final Task<Void> newTask = new Task<>() {
+			private final AtomicInteger done = new AtomicInteger();
+
+			@Override
+			protected Void call() throws Exception {
+				final List<Sheet> taskSheets = new ArrayList<>(checkedSheets.size());
+				for (final Class<? extends Sheet> sheetClass : checkedSheets) {
+					final Sheet sheet = sheetClass.getConstructor().newInstance();
+					sheet.load();
+					sheet.setHero(currentHero);
+					sheet.loadSettings(currentSettings.getObjOrDefault(sheet.toString(), new JSONObject(null)));
+					taskSheets.add(sheet);
+				}
+				final int created = pageCache.getCreated();
+				final int reused = pageCache.getReused();
+				try (final HeapUsage heap = new HeapUsage()) {
+					final long start = System.nanoTime();
+					final List<RenderContext> contexts = pageCache.create(file, currentHero, taskSheets, doFill, doFillAll, doShowName, doShowDate,
+							doLowMemory, !doLowMemory, sheet -> {
+								updateMessage(sheet.toString());
+								updateProgress(done.getAndIncrement(), taskSheets.size());
+							});
+					if (doStatistics) {
+						writeStatistics(file, System.nanoTime() - start, pageCache.getCreated() - created, pageCache.getReused() - reused,
+								heap.getPeak(), doLowMemory, contexts);
+					}
 				}
+				return null;
 			}
-			document.save(file);
-		} catch (final IOException e) {
-			ErrorLogger.logError(e);
+		};
+		newTask.setOnSucceeded(_ -> {
+			finish(newTask);
+			onSuccess.run();
+		});
+		newTask.setOnFailed(_ -> {
+			finish(newTask);
+			if (newTask.getException() instanceof final Exception e) {
+				ErrorLogger.logError(e);
+			}
+		});
+
+		task = newTask;
+		taskSettings = getSettings(null).toString();
+		progress.progressProperty().bind(newTask.progressProperty());
+		progress.getTooltip().textProperty().bind(newTask.messageProperty());
+		progress.setVisible(true);
+		executor.execute(newTask);
+	}
+
+	private void finish(final Task<Void> finished) {
+		if (task == finished) {
+			task = null;
+			taskSettings = null;
+			progress.setVisible(false);
 		}
 	}
 
+	/**
+	 * The settings of the document and of all checked sheets
+	 */
+	private JSONObject getSettings(final JSONObject parent) {
+		final JSONObject settings = new JSONObject(parent);
+		settings.put("Ausfüllen", noFill.isSelected() ? "Nicht" : fillAll.isSelected() ? "Alles" : "Unveränderliches");
+		settings.put("Name", showName.isSelected());
+		settings.put("Datum", showDate.isSelected());
+		settings.put("Speicherschonend", lowMemory.isSelected());
+		settings.put("Statistik", statistics.isSelected());
+		for (final Sheet sheet : sheets.getItems()) {
+			if (sheets.getCheckModel().isChecked(sheet)) {
+				settings.put(sheet.toString(), sheet.getSettings(settings));
+			}
+		}
+		return settings;
+	}
+
+	/**
+	 * The text file next to the document that receives the statistics of its creation
+	 */
+	private static File getStatisticsFile(final File file) {
+		return new File(file.getParentFile(), file.getName().replaceFirst("\\.pdf$", "") + "_Statistik.txt");
+	}
+
 	/**
 	 * Reloads the data if it has changed
 	 */
@@ -253,25 +392,18 @@ public class SheetConfiguration extends HeroSelector {
 
 		final File file = dialog.showSaveDialog(null);
 		if (file != null) {
-			create(file);
+			final JSONObject settings = getSettings(hero);
 			if (hero != null) {
-				final JSONObject settings = new JSONObject(hero);
-				settings.put("Ausfüllen", noFill.isSelected() ? "Nicht" : fillAll.isSelected() ? "Alles" : "Unveränderliches");
-				settings.put("Name", showName.isSelected());
-				settings.put("Datum", showDate.isSelected());
 				settings.put("Datei", file.getAbsolutePath());
-				for (final Sheet sheet : sheets.getItems()) {
-					if (sheets.getCheckModel().isChecked(sheet)) {
-						settings.put(sheet.toString(), sheet.getSettings(settings));
-					}
-				}
 				hero.put("Heldenbogen", settings);
 			}
+			create(file, settings, () -> {});
 		}
 	}
 
 	@Override
 	protected void setHero(final int index) {
+		cancel();
 		super.setHero(index);
 		hero = heroes.get(index);
 		if (hero != null && hero.containsKey("Heldenbogen")) {
@@ -284,6 +416,8 @@ public class SheetConfiguration extends HeroSelector {
 			}
 			showName.setSelected(settings.getBoolOrDefault("Name", false));
 			showDate.setSelected(settings.getBoolOrDefault("Datum", false));
+			lowMemory.setSelected(settings.getBoolOrDefault("Speicherschonend", false));
+			statistics.setSelected(settings.getBoolOrDefault("Statistik", false));
 		}
 		checkAndOrderSheets();
 	}
@@ -292,11 +426,44 @@ public class SheetConfiguration extends HeroSelector {
 	private void show() {
 		try {
 			final File file = File.createTempFile("Heldenbogen_" + (hero != null ? hero.getObj("Biografie").getString("Vorname") : "Leer") + "_", ".pdf");
-			create(file);
-			Util.openFile(file);
+			final JSONObject settings = getSettings(null);
+			create(file, settings, () -> {
+				Util.openFile(file);
+				if (settings.getBoolOrDefault("Statistik", false)) {
+					Util.openFile(getStatisticsFile(file));
+				}
+			});
 		} catch (final IOException e) {
 			ErrorLogger.logError(e);
 		}
 	}
 
+	/**
+	 * Writes the statistics of creating the document into a text file next to it, with one part for each render context that created sheets
+	 */
+	private void writeStatistics(final File file, final long nanos, final int created, final int reused, final long peakHeap, final boolean lowMemory,
+			final List<RenderContext> contexts) throws IOException {
+		final StringBuilder report = new StringBuilder();
+		report.append(String.format(Locale.ROOT, "Dauer: %.1f ms%n", nanos / 1e6));
+		report.append(String.format(Locale.ROOT, "Bogengruppen: %d erstellt, %d wiederverwendet%n", created, reused));
+		report.append(String.format(Locale.ROOT, "Höchste Heap-Belegung: %.1f MB (%s)%n", peakHeap / 1048576.0,
+				lowMemory ? "speicherschonend" : "im Arbeitsspeicher"));
+		for (int i = 0; i < contexts.size(); ++i) {
+			final RenderContext context = contexts.get(i);
+			if (contexts.size() > 1) {
+				report.append(String.format(Locale.ROOT, "%nTeil %d von %d:%n", i + 1, contexts.size()));
+			}
+			report.append(String.format(Locale.ROOT, "Bilder: %d wiederverwendet (%d kB eingespart)%n", context.images.getReused(),
+					context.images.getSavedBytes() / 1024));
+			report.append(String.format(Locale.ROOT, "Zwischengespeichert: %d/%d Ressourcenzugriffe, %d/%d Heldenwerte, %d/%d Voraussetzungstexte%n",
+					context.resources.getHits(), context.resources.getHits() + context.resources.getMisses(), context.heroValues.getHits(),
+					context.heroValues.getHits() + context.heroValues.getMisses(), context.getRequirementStringHits(),
+					context.getRequirementStringHits() + context.getRequirementStringMisses()));
+			for (final Map.Entry<String, Long> timing : context.timings.entrySet()) {
+				report.append(String.format(Locale.ROOT, "%s: %.2f ms%n", timing.getKey(), timing.getValue() / 1e6));
+			}
+			report.append(context.getStatisticsTable());
+		}
+		Files.writeString(getStatisticsFile(file).toPath(), report, StandardCharsets.UTF_8);
+	}
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import dsa41basis.util.HeroUtil;
+import jsonant.value.JSONArray;
+import jsonant.value.JSONObject;
+
+/**
+ * Holds the zone armor and the encumbrance of the current armor and of each armor set of a hero, one row per armor, so that they are computed only once
+ * per document and hero
+ */
+public class ArmorMatrix {
+
+	public static final String[] ZONES = { "Kopf", "Brust", "Rücken", "Bauch", "Linker Arm", "Rechter Arm", "Linkes Bein", "Rechtes Bein" };
+
+	private static final int BE = ZONES.length;
+	private static final int CURRENT = 0;
+
+	final JSONObject hero;
+
+	private final Map<JSONObject, Integer> rows = new IdentityHashMap<>();
+
+	private int[][] values;
+	private double[] beRaw;
+	private int size = 0;
+
+	public ArmorMatrix(final JSONObject hero) {
+		this.hero = hero;
+
+		final JSONArray armorSets = hero.getObj("Kampf").getArrOrDefault("Rüstungskombinationen", null);
+		final int numSets = armorSets != null ? armorSets.size() : 0;
+		values = new int[numSets + 1][];
+		beRaw = new double[numSets + 1];
+
+		addRow(null, true);
+		for (int i = 0; i < numSets; ++i) {
+			addRow(armorSets.getObj(i), false);
+		}
+	}
+
+	private int addRow(final JSONObject armorSet, final boolean current) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, size * 2);
+			beRaw = Arrays.copyOf(beRaw, size * 2);
+		}
+
+		final int[] row = new int[ZONES.length + 1];
+		for (int i = 0; i < ZONES.length; ++i) {
+			row[i] = current ? HeroUtil.getZoneRS(hero, ZONES[i]) : HeroUtil.getZoneRS(hero, ZONES[i], armorSet);
+		}
+		row[BE] = current ? HeroUtil.getBE(hero) : HeroUtil.getBE(hero, armorSet);
+		values[size] = row;
+		beRaw[size] = current ? HeroUtil.getBERaw(hero) : HeroUtil.getBERaw(hero, armorSet);
+
+		if (!current) {
+			rows.put(armorSet, size);
+		}
+		return size++;
+	}
+
+	/**
+	 * The encumbrance of the current armor
+	 */
+	public int getBE() {
+		return values[CURRENT][BE];
+	}
+
+	/**
+	 * The encumbrance of the armor set, which may also be null or an armor set that does not belong to the hero
+	 */
+	public int getBE(final JSONObject armorSet) {
+		return values[getRow(armorSet)][BE];
+	}
+
+	/**
+	 * The unrounded encumbrance of the current armor
+	 */
+	public double getBERaw() {
+		return beRaw[CURRENT];
+	}
+
+	public double getBERaw(final JSONObject armorSet) {
+		return beRaw[getRow(armorSet)];
+	}
+
+	private int getRow(final JSONObject armorSet) {
+		final Integer row = rows.get(armorSet);
+		return row != null ? row : addRow(armorSet, false);
+	}
+
+	/**
+	 * The armor of the current armor at the zone with the given index in {@link #ZONES}
+	 */
+	public int getZoneRS(final int zone) {
+		return values[CURRENT][zone];
+	}
+
+	public int getZoneRS(final JSONObject armorSet, final int zone) {
+		return values[getRow(armorSet)][zone];
+	}
+}
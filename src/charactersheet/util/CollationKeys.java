@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sorts texts in German order by comparing collation keys, which are computed once per text and shared by all threads.
+ * Each thread computes keys with its own collator, as a collator can only be used by one thread at a time.
+ */
+public class CollationKeys {
+
+	private static final int MAX_KEYS = 50000;
+
+	private static final ThreadLocal<Collator> collators = ThreadLocal.withInitial(() -> Collator.getInstance(Locale.GERMANY));
+	private static final Map<String, CollationKey> keys = new ConcurrentHashMap<>();
+
+	public static final Comparator<String> comparator = CollationKeys::compare;
+
+	public static int compare(final String s1, final String s2) {
+		return getKey(s1).compareTo(getKey(s2));
+	}
+
+	public static CollationKey getKey(final String text) {
+		CollationKey key = keys.get(text);
+		if (key == null) {
+			key = collators.get().getCollationKey(text);
+			// The texts are mostly names from the data resources, so this only happens if many heroes with many free texts are printed
+			if (keys.size() >= MAX_KEYS) {
+				keys.clear();
+			}
+			keys.put(text, key);
+		}
+		return key;
+	}
+
+	private CollationKeys() {}
+}
@@ -15,9 +15,16 @@
  */
 package charactersheet.util;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDType0Font;
@@ -26,14 +33,57 @@ import dsatool.util.Util;
 
 public class FontManager {
 
-	public static PDFont serif;
-	public static PDFont serifBold;
-	public static PDFont serifItalic;
+	public static final String SERIF = "LinLibertine_Rah";
+	public static final String SERIF_BOLD = "LinLibertine_RBah";
+	public static final String SERIF_ITALIC = "LinLibertine_RIah";
 
-	public static void initFonts(final PDDocument document) throws IOException {
-		serif = PDType0Font.load(document, new File(Util.getAppDir() + "/resources/fonts/LinLibertine_Rah.ttf"));
-		serifBold = PDType0Font.load(document, new File(Util.getAppDir() + "/resources/fonts/LinLibertine_RBah.ttf"));
-		serifItalic = PDType0Font.load(document, new File(Util.getAppDir() + "/resources/fonts/LinLibertine_RIah.ttf"));
+	private static final Map<String, TrueTypeFont> fonts = new HashMap<>();
+	private static final Map<String, Long> parseTimes = new HashMap<>();
+
+	private static final AtomicLong parseNanos = new AtomicLong();
+	private static final AtomicLong savedNanos = new AtomicLong();
+
+	/**
+	 * The total time spent reading and parsing font files
+	 */
+	public static long getParseNanos() {
+		return parseNanos.get();
+	}
+
+	/**
+	 * The total time saved by reusing already parsed font files
+	 */
+	public static long getSavedNanos() {
+		return savedNanos.get();
+	}
+
+	private static synchronized TrueTypeFont getTrueTypeFont(final String name) throws IOException {
+		TrueTypeFont font = fonts.get(name);
+		if (font != null) {
+			savedNanos.addAndGet(parseTimes.get(name));
+			return font;
+		}
+
+		final long start = System.nanoTime();
+		final byte[] data = Files.readAllBytes(Path.of(Util.getAppDir(), "resources", "fonts", name + ".ttf"));
+		font = new TTFParser().parse(new RandomAccessReadBuffer(data));
+		// Read the tables needed for embedding now instead of lazily while rendering
+		font.getCmap();
+		font.getHorizontalMetrics();
+		font.getGlyph();
+		final long duration = System.nanoTime() - start;
+
+		fonts.put(name, font);
+		parseTimes.put(name, duration);
+		parseNanos.addAndGet(duration);
+		return font;
+	}
+
+	/**
+	 * Loads a font for the given document. The font file is only parsed once per process, the returned font is still subset per document.
+	 */
+	public static PDFont loadFont(final PDDocument document, final String name) throws IOException {
+		return PDType0Font.load(document, getTrueTypeFont(name), true);
 	}
 
 	private FontManager() {}
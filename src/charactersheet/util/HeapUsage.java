@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the highest heap usage while creating documents by sampling the used heap every few milliseconds until it is closed.
+ * As the heap is sampled as a whole, the peak never exceeds the heap that was actually in use at one time, but may miss very short peaks.
+ */
+public class HeapUsage implements AutoCloseable {
+
+	private static final long INTERVAL_MILLIS = 5;
+
+	private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "Heap-Belegung");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+	private final ScheduledFuture<?> sampling;
+
+	private long peak = 0;
+
+	public HeapUsage() {
+		sample();
+		sampling = timer.scheduleAtFixedRate(this::sample, INTERVAL_MILLIS, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops sampling the heap
+	 */
+	@Override
+	public void close() {
+		sampling.cancel(false);
+	}
+
+	/**
+	 * The highest heap usage in bytes since this measurement was started
+	 */
+	public synchronized long getPeak() {
+		sample();
+		return peak;
+	}
+
+	private synchronized void sample() {
+		peak = Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import dsa41basis.util.HeroUtil;
+import jsonant.value.JSONObject;
+
+/**
+ * Computes the values derived from a hero only once per document, so that all sheets showing the same value share the result.
+ * JSON objects are part of the key by identity, so a hero, weapon or armor set is recognized as the same object on every sheet.
+ */
+public class HeroValueCache {
+
+	private static class Key {
+		private final Object[] parts;
+		private final int hash;
+
+		private Key(final Object... parts) {
+			this.parts = parts;
+			int hash = 1;
+			for (final Object part : parts) {
+				hash = 31 * hash + (isValue(part) ? part.hashCode() : System.identityHashCode(part));
+			}
+			this.hash = hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof final Key other) || hash != other.hash || parts.length != other.parts.length) return false;
+			for (int i = 0; i < parts.length; ++i) {
+				final Object part = parts[i];
+				if (isValue(part) ? !part.equals(other.parts[i]) : part != other.parts[i]) return false;
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		private boolean isValue(final Object part) {
+			return part instanceof String || part instanceof Boolean;
+		}
+	}
+
+	private static final Set<String> COMBAT_VALUES = Set.of("AT", "PA", "TP", "defensiveAT", "shieldAT", "shieldTP");
+
+	private final Map<Key, Object> values = new HashMap<>();
+	private final Set<Key> combatCombinations = new HashSet<>();
+
+	private int hits = 0;
+	private int misses = 0;
+	private int combatHits = 0;
+	private int combatMisses = 0;
+
+	private void addCombatCombination(final JSONObject weapon, final String type, final JSONObject otherWeapon, final JSONObject armorSet,
+			final boolean secondary) {
+		combatCombinations.add(new Key(weapon, type, otherWeapon, armorSet, secondary));
+	}
+
+	public int deriveValue(final JSONObject derivation, final JSONObject hero, final JSONObject actual, final boolean includeManualMods) {
+		return get(() -> HeroUtil.deriveValue(derivation, hero, actual, includeManualMods), "deriveValue", derivation, hero, actual, includeManualMods);
+	}
+
+	public double deriveValueRaw(final JSONObject derivation, final JSONObject hero) {
+		return get(() -> HeroUtil.deriveValueRaw(derivation, hero), "deriveValueRaw", derivation, hero);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T get(final Supplier<T> compute, final Object... key) {
+		final Key actualKey = new Key(key);
+		final boolean isCombatValue = COMBAT_VALUES.contains(key[0]);
+		if (values.containsKey(actualKey)) {
+			++hits;
+			if (isCombatValue) {
+				++combatHits;
+			}
+			return (T) values.get(actualKey);
+		}
+		++misses;
+		if (isCombatValue) {
+			++combatMisses;
+		}
+		final T value = compute.get();
+		values.put(actualKey, value);
+		return value;
+	}
+
+	public Integer getAT(final JSONObject hero, final JSONObject weapon, final String type, final boolean closeCombat, final boolean secondary,
+			final JSONObject otherWeapon, final boolean includeManualMods) {
+		return get(() -> HeroUtil.getAT(hero, weapon, type, closeCombat, secondary, otherWeapon, includeManualMods), "AT", hero, weapon, type, closeCombat,
+				secondary, otherWeapon, includeManualMods);
+	}
+
+	public Integer getAT(final JSONObject hero, final JSONObject weapon, final String type, final boolean closeCombat, final boolean secondary,
+			final JSONObject otherWeapon, final JSONObject armorSet, final boolean includeManualMods) {
+		addCombatCombination(weapon, type, otherWeapon, armorSet, secondary);
+		return get(() -> HeroUtil.getAT(hero, weapon, type, closeCombat, secondary, otherWeapon, armorSet, includeManualMods), "AT", hero, weapon, type,
+				closeCombat, secondary, otherWeapon, armorSet, includeManualMods);
+	}
+
+	/**
+	 * The number of different weapon set combinations of weapon, weapon type, other weapon, armor set and secondary hand for which AT, PA or the AT of a
+	 * shield or parry weapon were requested. TP and the values of weapons outside of weapon sets don't add combinations.
+	 */
+	public int getCombatCombinations() {
+		return combatCombinations.size();
+	}
+
+	/**
+	 * The number of combat values that were reused, as they were computed before
+	 */
+	public int getCombatHits() {
+		return combatHits;
+	}
+
+	/**
+	 * The number of combat values that had to be computed, counting each kind of value (AT, PA, TP, ...) separately
+	 */
+	public int getCombatMisses() {
+		return combatMisses;
+	}
+
+	public int getCurrentValue(final JSONObject value, final boolean includeManualMods) {
+		return get(() -> HeroUtil.getCurrentValue(value, includeManualMods), "currentValue", value, includeManualMods);
+	}
+
+	public Integer getDefensiveWeaponAT(final JSONObject hero, final JSONObject weapon, final JSONObject otherWeapon, final JSONObject armorSet,
+			final boolean includeManualMods) {
+		addCombatCombination(weapon, null, otherWeapon, armorSet, false);
+		return get(() -> HeroUtil.getDefensiveWeaponAT(hero, weapon, otherWeapon, armorSet, includeManualMods), "defensiveAT", hero, weapon, otherWeapon,
+				armorSet, includeManualMods);
+	}
+
+	public int getHits() {
+		return hits;
+	}
+
+	public int getMisses() {
+		return misses;
+	}
+
+	public Integer getPA(final JSONObject hero, final JSONObject weapon, final String type, final boolean secondary, final boolean includeManualMods) {
+		return get(() -> HeroUtil.getPA(hero, weapon, type, secondary, includeManualMods), "PA", hero, weapon, type, secondary, includeManualMods);
+	}
+
+	public Integer getPA(final JSONObject hero, final JSONObject weapon, final String type, final boolean secondary, final JSONObject otherWeapon,
+			final JSONObject armorSet, final boolean includeManualMods) {
+		addCombatCombination(weapon, type, otherWeapon, armorSet, secondary);
+		return get(() -> HeroUtil.getPA(hero, weapon, type, secondary, otherWeapon, armorSet, includeManualMods), "PA", hero, weapon, type, secondary,
+				otherWeapon, armorSet, includeManualMods);
+	}
+
+	public Integer getShieldAT(final JSONObject hero, final JSONObject shield, final JSONObject armorSet, final boolean includeManualMods) {
+		addCombatCombination(shield, null, null, armorSet, false);
+		return get(() -> HeroUtil.getShieldAT(hero, shield, armorSet, includeManualMods), "shieldAT", hero, shield, armorSet, includeManualMods);
+	}
+
+	public String getShieldTPString(final JSONObject hero, final JSONObject shield) {
+		return get(() -> HeroUtil.getShieldTPString(hero, shield), "shieldTP", hero, shield);
+	}
+
+	public String getTPString(final JSONObject hero, final JSONObject weapon, final JSONObject baseWeapon) {
+		return get(() -> HeroUtil.getTPString(hero, weapon, baseWeapon), "TP", hero, weapon, baseWeapon);
+	}
+}
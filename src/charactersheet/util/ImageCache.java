@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * Keeps the JPEG data that {@link JPEGFactory} creates for image files, so that each file is only decoded and encoded once.
+ * Images are embedded in their full resolution, unless scaling them down to the resolution they are printed at is turned on.
+ */
+public class ImageCache {
+
+	private static class EncodedImage {
+		private final byte[] color;
+		private final byte[] alpha;
+
+		private EncodedImage(final byte[] color, final byte[] alpha) {
+			this.color = color;
+			this.alpha = alpha;
+		}
+
+		private int size() {
+			return color.length + (alpha != null ? alpha.length : 0);
+		}
+	}
+
+	private static volatile float maxDPI = 0;
+
+	private static long maxBytes = 32 * 1024 * 1024;
+	private static long bytes = 0;
+
+	private static final Map<String, EncodedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+	private static final Map<String, Dimension> sizes = new HashMap<>();
+
+	/**
+	 * Embeds the image file into the document like {@link JPEGFactory#createFromImage(PDDocument, BufferedImage)}, scaled down to the given print
+	 * width in points if that is turned on with {@link #setMaxDPI(float)}
+	 */
+	public static PDImageXObject createImage(final PDDocument document, final File file, final float width) throws IOException {
+		final int pixelWidth = getPixelWidth(file, width);
+		final String key = getKey(file) + '@' + pixelWidth;
+
+		final EncodedImage cached;
+		synchronized (images) {
+			cached = images.get(key);
+		}
+		if (cached != null) {
+			final PDImageXObject imageObject = JPEGFactory.createFromByteArray(document, cached.color);
+			if (cached.alpha != null) {
+				imageObject.getCOSObject().setItem(COSName.SMASK, JPEGFactory.createFromByteArray(document, cached.alpha));
+			}
+			return imageObject;
+		}
+
+		final BufferedImage source = ImageIO.read(file);
+		if (source == null) throw new IOException("Unbekanntes Bildformat: " + file);
+		final PDImageXObject imageObject = JPEGFactory.createFromImage(document, pixelWidth < source.getWidth() ? scale(source, pixelWidth) : source);
+
+		final COSStream mask = imageObject.getCOSObject().getCOSStream(COSName.SMASK);
+		final EncodedImage image = new EncodedImage(getData(imageObject.getCOSObject()), mask != null ? getData(mask) : null);
+		synchronized (images) {
+			final EncodedImage previous = images.put(key, image);
+			if (previous != null) {
+				bytes -= previous.size();
+			}
+			bytes += image.size();
+			evict(image);
+		}
+
+		return imageObject;
+	}
+
+	private static void evict(final EncodedImage keep) {
+		final Iterator<EncodedImage> iterator = images.values().iterator();
+		while (bytes > maxBytes && iterator.hasNext()) {
+			final EncodedImage eldest = iterator.next();
+			if (eldest == keep) {
+				break;
+			}
+			bytes -= eldest.size();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * The encoded data of the image stream, i.e. the JPEG file
+	 */
+	private static byte[] getData(final COSStream stream) throws IOException {
+		try (InputStream data = stream.createRawInputStream()) {
+			return data.readAllBytes();
+		}
+	}
+
+	/**
+	 * Identifies the current content of the image file, so that a file replaced at the same path is read again
+	 */
+	private static String getKey(final File file) {
+		return file.getAbsolutePath() + '@' + file.lastModified() + '@' + file.length();
+	}
+
+	/**
+	 * The width in pixels an image file is embedded with when printed with the given width in points
+	 */
+	public static int getPixelWidth(final File file, final float width) throws IOException {
+		final int fullWidth = getSize(file).width;
+		final float dpi = maxDPI;
+		return dpi > 0 ? Math.max(1, Math.min(fullWidth, (int) Math.ceil(width / 72 * dpi))) : fullWidth;
+	}
+
+	/**
+	 * The aspect ratio (width / height) of the image file
+	 */
+	public static float getRatio(final File file) throws IOException {
+		final Dimension size = getSize(file);
+		return (float) size.width / size.height;
+	}
+
+	/**
+	 * The size of the image file in pixels
+	 */
+	public static Dimension getSize(final File file) throws IOException {
+		final String key = getKey(file);
+		synchronized (sizes) {
+			final Dimension size = sizes.get(key);
+			if (size != null) return size;
+		}
+
+		try (ImageInputStream stream = ImageIO.createImageInputStream(file)) {
+			final Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+			if (!readers.hasNext()) throw new IOException("Unbekanntes Bildformat: " + file);
+			final ImageReader reader = readers.next();
+			try {
+				reader.setInput(stream);
+				final Dimension size = new Dimension(reader.getWidth(0), reader.getHeight(0));
+				synchronized (sizes) {
+					sizes.put(key, size);
+				}
+				return size;
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	private static BufferedImage scale(final BufferedImage source, final int width) {
+		final int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+		final BufferedImage scaled = new BufferedImage(width, height,
+				source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		final Graphics2D graphics = scaled.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		graphics.drawImage(source, 0, 0, width, height, null);
+		graphics.dispose();
+		return scaled;
+	}
+
+	public static void setMaxBytes(final long maxBytes) {
+		synchronized (images) {
+			ImageCache.maxBytes = maxBytes;
+			evict(null);
+		}
+	}
+
+	/**
+	 * Scales images that are larger than needed down to the given resolution of their printed size. 0, the default, embeds them in full resolution.
+	 */
+	public static void setMaxDPI(final float maxDPI) {
+		ImageCache.maxDPI = maxDPI;
+	}
+
+	private ImageCache() {}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import charactersheet.util.RenderEvents.ImageEmbeddingEvent;
+
+/**
+ * Embeds each distinct image only once per document, no matter how often it is drawn
+ */
+public class ImageRegistry {
+
+	private final PDDocument document;
+
+	private final Map<String, String> hashes = new HashMap<>();
+	private final Map<String, PDImageXObject> images = new HashMap<>();
+
+	private int reused = 0;
+	private long savedBytes = 0;
+
+	public ImageRegistry(final PDDocument document) {
+		this.document = document;
+	}
+
+	private String getHash(final File file) throws IOException {
+		final String path = file.getAbsolutePath();
+		String hash = hashes.get(path);
+		if (hash == null) {
+			try {
+				hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file.toPath())));
+			} catch (final NoSuchAlgorithmException e) {
+				throw new IOException(e);
+			}
+			hashes.put(path, hash);
+		}
+		return hash;
+	}
+
+	/**
+	 * Gets the image object for the image file, scaled to the given print width in points
+	 */
+	public PDImageXObject getImage(final File file, final float width) throws IOException {
+		final ImageEmbeddingEvent event = new ImageEmbeddingEvent();
+		event.begin();
+
+		final String key = getHash(file) + '@' + ImageCache.getPixelWidth(file, width);
+		PDImageXObject image = images.get(key);
+		if (image == null) {
+			image = ImageCache.createImage(document, file, width);
+			images.put(key, image);
+		} else {
+			++reused;
+			savedBytes += getLength(image.getCOSObject());
+			event.reused = true;
+		}
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.file = file.getAbsolutePath();
+			event.width = width;
+			event.size = getLength(image.getCOSObject());
+			event.commit();
+		}
+		return image;
+	}
+
+	private long getLength(final COSStream stream) {
+		final COSStream mask = stream.getCOSStream(COSName.SMASK);
+		return stream.getLength() + (mask != null ? mask.getLength() : 0);
+	}
+
+	/**
+	 * The number of times an already embedded image was drawn again
+	 */
+	public int getReused() {
+		return reused;
+	}
+
+	/**
+	 * The number of image bytes that would have been embedded additionally without deduplication
+	 */
+	public long getSavedBytes() {
+		return savedBytes;
+	}
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+
+import charactersheet.sheets.Sheet;
+import jsonant.value.JSONObject;
+
+/**
+ * Keeps the pages of the sheets of the last document, so that only the sheets whose inputs changed have to be created again.
+ * Sheets are cached in groups beginning with a sheet that starts on a new page, as the following sheets may continue on its last page.
+ * The changed groups are created directly into the new document with a single render context, and only the pages of the unchanged groups are imported
+ * from the last document, which is kept in a temporary file instead of the heap.
+ * In parallel mode, the changed groups are split into consecutive runs, each created by a worker into its own document with its own render context,
+ * and the pages of all groups are then imported in check-list order.
+ */
+public class PageCache {
+
+	private static class Segment {
+		private final int first;
+		private final int count;
+		private final List<String> titles = new ArrayList<>();
+		private final List<Integer> pages = new ArrayList<>();
+
+		private Segment(final PDDocument document, final int first, final int count, final List<PDOutlineItem> bookmarks) throws IOException {
+			this.first = first;
+			this.count = count;
+			for (final PDOutlineItem bookmark : bookmarks) {
+				final int page = document.getPages().indexOf(bookmark.findDestinationPage(document));
+				if (page >= first && page < first + count) {
+					titles.add(bookmark.getTitle());
+					pages.add(page - first);
+				}
+			}
+		}
+	}
+
+	private static class Part {
+		private final PDDocument document;
+		private final RenderContext context;
+		private final Map<Integer, Segment> segments = new HashMap<>();
+		private final Map<Integer, Boolean> complete = new HashMap<>();
+
+		private Part(final PDDocument document) throws IOException {
+			this.document = document;
+			context = new RenderContext(document);
+		}
+	}
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+		final Thread thread = new Thread(runnable, "Heldenbogen-Gruppe");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private File rendering;
+	private Map<String, Segment> segments = new HashMap<>();
+
+	private int reused = 0;
+	private int created = 0;
+
+	/**
+	 * Creates the document, reusing the pages of all sheet groups that are unchanged since the last call.
+	 * The progress (if any) is notified for each sheet, whether it is created or reused.
+	 * In low memory mode, the pages of the last document are read from its file without buffering them on the heap.
+	 * If parallel, the changed groups are created by several workers, each beginning at its own offset into the changed groups.
+	 * Returns the render contexts of the created groups for statistics, one per worker, which are empty if all groups were reused.
+	 */
+	public List<RenderContext> create(final File file, final JSONObject hero, final List<? extends Sheet> sheets, final boolean fill, final boolean fillAll,
+			final boolean showName, final boolean showDate, final boolean lowMemory, final boolean parallel, final Consumer<Sheet> progress)
+			throws IOException {
+		final List<List<Sheet>> groups = new ArrayList<>();
+		for (final Sheet sheet : sheets) {
+			if (groups.isEmpty() || sheet.startsNewPage()) {
+				groups.add(new ArrayList<>());
+			}
+			groups.get(groups.size() - 1).add(sheet);
+		}
+
+		final String heroFingerprint = hash(hero != null ? hero.toString() : "");
+		final String flags = ResourceSnapshot.getGeneration() + ";" + fill + ";" + fillAll + ";" + showName + ";" + (showDate ? LocalDate.now() : "");
+
+		final List<String> keys = new ArrayList<>(groups.size());
+		final List<Integer> changed = new ArrayList<>();
+		for (final List<Sheet> group : groups) {
+			final StringBuilder fingerprint = new StringBuilder(heroFingerprint).append(';').append(flags);
+			for (final Sheet sheet : group) {
+				fingerprint.append(';').append(sheet).append(';').append(sheet.getSettings(null));
+			}
+			final String key = hash(fingerprint.toString());
+			if (!segments.containsKey(key)) {
+				changed.add(keys.size());
+			}
+			keys.add(key);
+		}
+		final boolean reuse = changed.size() < groups.size();
+
+		final int[] firstPages = new int[groups.size()];
+		final int[] pageCounts = new int[groups.size()];
+		final boolean[] complete = new boolean[groups.size()];
+		final Map<String, Segment> newSegments = new HashMap<>();
+
+		final List<RenderContext> contexts = new ArrayList<>();
+		final List<Future<Part>> futures = new ArrayList<>();
+		final Map<Integer, Part> parts = new HashMap<>();
+		try {
+			if (parallel && changed.size() > 1) {
+				final int workers = Math.min(changed.size(), Runtime.getRuntime().availableProcessors());
+				for (int worker = 0; worker < workers; ++worker) {
+					final List<Integer> run = changed.subList(worker * changed.size() / workers, (worker + 1) * changed.size() / workers);
+					futures.add(executor.submit(() -> render(groups, run, fill, fillAll, showName, showDate, lowMemory, progress)));
+				}
+				for (final Future<Part> future : futures) {
+					final Part part = getResult(future);
+					contexts.add(part.context);
+					for (final int i : part.segments.keySet()) {
+						parts.put(i, part);
+					}
+				}
+			}
+
+			RenderContext context = null;
+			try (final PDDocument document = SheetRenderer.createDocument(lowMemory);
+					final PDDocument source = reuse ? Loader.loadPDF(rendering, SheetRenderer.getStreamCache(lowMemory)) : null) {
+				final PDDocumentOutline outline = new PDDocumentOutline();
+				document.getDocumentCatalog().setDocumentOutline(outline);
+
+				for (int i = 0; i < groups.size(); ++i) {
+					final List<Sheet> group = groups.get(i);
+					firstPages[i] = document.getNumberOfPages();
+
+					final Segment segment = segments.get(keys.get(i));
+					if (segment != null) {
+						importSegment(document, outline, source, segment);
+						complete[i] = true;
+						++reused;
+						if (progress != null) {
+							group.forEach(progress);
+						}
+					} else if (parts.containsKey(i)) {
+						final Part part = parts.get(i);
+						importSegment(document, outline, part.document, part.segments.get(i));
+						complete[i] = part.complete.get(i);
+						++created;
+					} else {
+						if (context == null) {
+							context = new RenderContext(document);
+							contexts.add(context);
+						}
+						complete[i] = SheetRenderer.createSheets(document, context, group, fill, fillAll, showName, showDate, progress);
+						++created;
+					}
+
+					pageCounts[i] = document.getNumberOfPages() - firstPages[i];
+				}
+
+				final List<PDOutlineItem> bookmarks = new ArrayList<>();
+				outline.children().forEach(bookmarks::add);
+				for (int i = 0; i < groups.size(); ++i) {
+					if (complete[i]) {
+						newSegments.put(keys.get(i), new Segment(document, firstPages[i], pageCounts[i], bookmarks));
+					}
+				}
+
+				document.save(file);
+			}
+		} finally {
+			for (final Future<Part> future : futures) {
+				if (!future.cancel(true)) {
+					try {
+						future.get().document.close();
+					} catch (final ExecutionException | InterruptedException e) {
+						// A failed worker has already closed its document
+					}
+				}
+			}
+		}
+
+		final File newRendering = File.createTempFile("Heldenbogen_", ".pdf");
+		newRendering.deleteOnExit();
+		Files.copy(file.toPath(), newRendering.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		if (rendering != null) {
+			rendering.delete();
+		}
+		rendering = newRendering;
+		segments = newSegments;
+
+		return contexts;
+	}
+
+	/**
+	 * The number of sheet groups that had to be created
+	 */
+	public int getCreated() {
+		return created;
+	}
+
+	private Part getResult(final Future<Part> future) throws IOException {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Erstellung abgebrochen");
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof final IOException cause) throw cause;
+			throw new IOException(e.getCause());
+		}
+	}
+
+	/**
+	 * The number of sheet groups whose pages were reused
+	 */
+	public int getReused() {
+		return reused;
+	}
+
+	private String hash(final String value) throws IOException {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private void importSegment(final PDDocument document, final PDDocumentOutline outline, final PDDocument source, final Segment segment)
+			throws IOException {
+		final List<PDPage> pages = new ArrayList<>(segment.count);
+		for (int j = 0; j < segment.count; ++j) {
+			pages.add(document.importPage(source.getPage(segment.first + j)));
+		}
+		for (int j = 0; j < segment.titles.size(); ++j) {
+			final PDOutlineItem bookmark = new PDOutlineItem();
+			bookmark.setTitle(segment.titles.get(j));
+			bookmark.setDestination(pages.get(segment.pages.get(j)));
+			outline.addLast(bookmark);
+		}
+	}
+
+	/**
+	 * Creates a run of changed groups into a document of its own, with a render context of its own, for a worker
+	 */
+	private Part render(final List<List<Sheet>> groups, final List<Integer> run, final boolean fill, final boolean fillAll, final boolean showName,
+			final boolean showDate, final boolean lowMemory, final Consumer<Sheet> progress) throws IOException {
+		final PDDocument document = SheetRenderer.createDocument(lowMemory);
+		try {
+			final Part part = new Part(document);
+			final Map<Integer, Integer> firstPages = new HashMap<>();
+			for (final int i : run) {
+				firstPages.put(i, document.getNumberOfPages());
+				part.complete.put(i, SheetRenderer.createSheets(document, part.context, groups.get(i), fill, fillAll, showName, showDate, progress));
+			}
+
+			final List<PDOutlineItem> bookmarks = new ArrayList<>();
+			document.getDocumentCatalog().getDocumentOutline().children().forEach(bookmarks::add);
+			for (int j = 0; j < run.size(); ++j) {
+				final int first = firstPages.get(run.get(j));
+				final int next = j + 1 < run.size() ? firstPages.get(run.get(j + 1)) : document.getNumberOfPages();
+				part.segments.put(run.get(j), new Segment(document, first, next - first, bookmarks));
+			}
+			return part;
+		} catch (final IOException | RuntimeException e) {
+			document.close();
+			throw e;
+		}
+	}
+}
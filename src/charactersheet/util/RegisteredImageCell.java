@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.awt.Dimension;
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+
+import boxtable.cell.Cell;
+
+/**
+ * Like {@link boxtable.cell.ImageCell}, but embeds the image through the {@link ImageRegistry} of the document
+ */
+public class RegisteredImageCell extends Cell {
+
+	private final RenderContext context;
+	private final File file;
+
+	public RegisteredImageCell(final RenderContext context, final File file) {
+		this.context = context;
+		this.file = file;
+	}
+
+	@Override
+	public void render(final PDDocument document, final PDPageContentStream stream, final float left, final float top, final float width,
+			final float height) throws IOException {
+		final Dimension size = ImageCache.getSize(file);
+		final float maxWidth = width - (leftBorder + rightBorder) / 2 - leftPadding - rightPadding;
+		final float maxHeight = height - (topBorder + bottomBorder) / 2 - topPadding - bottomPadding;
+		final float ratio = (float) size.width / size.height;
+
+		float imageWidth = size.width;
+		float imageHeight = size.height;
+		if (imageWidth > maxWidth) {
+			imageWidth = maxWidth;
+			imageHeight = 1 / ratio * imageWidth;
+		}
+		if (imageHeight > maxHeight) {
+			imageHeight = maxHeight;
+			imageWidth = ratio * imageHeight;
+		}
+
+		super.render(document, stream, left + (width - imageWidth) * hAlign, top - (height - imageHeight) * vAlign, imageWidth, imageHeight);
+
+		stream.drawImage(context.images.getImage(file, imageWidth), left + (width - imageWidth) * hAlign + leftBorder / 2 + leftPadding,
+				top - height + (height - imageHeight) * (1 - vAlign) - topBorder / 2 - topPadding, imageWidth, imageHeight);
+	}
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import boxtable.event.TableEvent;
+import boxtable.table.Table;
+import charactersheet.util.RenderEvents.DocumentSetupEvent;
+import charactersheet.util.RenderEvents.SectionEvent;
+import charactersheet.util.RenderEvents.SheetEvent;
+import charactersheet.util.RenderEvents.TableRenderEvent;
+import charactersheet.util.SheetUtil.BottomObserver;
+import dsatool.util.Util;
+import jsonant.value.JSONObject;
+
+/**
+ * Holds the layout state of a single document, so that several documents can be created concurrently
+ */
+public class RenderContext {
+
+	/**
+	 * The time and allocation of a sheet or of a section of a sheet, summed over all times it was created in the document
+	 */
+	public static class Statistics {
+		public final String sheet;
+		public final String section;
+		public long nanos = 0;
+		public long allocated = 0;
+		public int tables = 0;
+		public int failures = 0;
+
+		private Statistics(final String sheet, final String section) {
+			this.sheet = sheet;
+			this.section = section;
+		}
+	}
+
+	public final PDDocument document;
+
+	public BottomObserver bottom = new BottomObserver(842);
+	public Consumer<TableEvent> header;
+
+	public final PDFont serif;
+	public final PDFont serifBold;
+	public final PDFont serifItalic;
+
+	public final ImageRegistry images;
+	public final ResourceSnapshot resources = new ResourceSnapshot();
+	public final HeroValueCache heroValues = new HeroValueCache();
+	public final TextMeasurer measurer = new TextMeasurer();
+
+	public final DecimalFormat threeDecimalPlacesSigned = new DecimalFormat("+#.###;-#.###", Util.decimalFormatSymbols);
+
+	public final Map<String, Long> timings = new LinkedHashMap<>();
+	public final Map<String, Statistics> statistics = new LinkedHashMap<>();
+
+	final Map<SheetUtil.RequirementKey, String> requirementStrings = new HashMap<>();
+	int requirementStringHits = 0;
+	int requirementStringMisses = 0;
+
+	private ArmorMatrix armor;
+	private SpecialSkillIndex specialSkills;
+
+	private Statistics sheetStatistics;
+	private Statistics sectionStatistics;
+
+	public RenderContext(final PDDocument document) throws IOException {
+		final DocumentSetupEvent event = new DocumentSetupEvent();
+		event.begin();
+		final long start = System.nanoTime();
+		final long startAllocated = RenderEvents.getAllocatedBytes();
+
+		this.document = document;
+		serif = FontManager.loadFont(document, FontManager.SERIF);
+		serifBold = FontManager.loadFont(document, FontManager.SERIF_BOLD);
+		serifItalic = FontManager.loadFont(document, FontManager.SERIF_ITALIC);
+		images = new ImageRegistry(document);
+
+		event.allocated = RenderEvents.getAllocatedBytes() - startAllocated;
+		event.commit();
+		addTiming("Dokument vorbereiten", System.nanoTime() - start);
+	}
+
+	/**
+	 * Adds the time spent on a named step, e.g. building an index, to the statistics of the document
+	 */
+	public void addTiming(final String name, final long nanos) {
+		timings.merge(name, nanos, Long::sum);
+	}
+
+	/**
+	 * Starts measuring a section of the current sheet. Must be followed by {@link #endSection(SectionEvent)}, also if the section fails.
+	 */
+	public SectionEvent beginSection(final String section) {
+		final SectionEvent event = new SectionEvent();
+		event.sheet = sheetStatistics != null ? sheetStatistics.sheet : null;
+		event.section = section;
+		sectionStatistics = getStatistics(event.sheet, section);
+		event.startAllocated = RenderEvents.getAllocatedBytes();
+		event.startNanos = System.nanoTime();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Starts measuring a sheet. Must be followed by {@link #endSheet(SheetEvent)}, also if the sheet fails.
+	 */
+	public SheetEvent beginSheet(final String sheet) {
+		final SheetEvent event = new SheetEvent();
+		event.sheet = sheet;
+		sheetStatistics = getStatistics(sheet, null);
+		sectionStatistics = null;
+		event.startPages = document.getNumberOfPages();
+		event.startAllocated = RenderEvents.getAllocatedBytes();
+		event.startNanos = System.nanoTime();
+		event.begin();
+		return event;
+	}
+
+	public void endSection(final SectionEvent event) {
+		event.end();
+		final long nanos = System.nanoTime() - event.startNanos;
+		event.allocated = RenderEvents.getAllocatedBytes() - event.startAllocated;
+		event.commit();
+
+		sectionStatistics.nanos += nanos;
+		sectionStatistics.allocated += event.allocated;
+		if (event.failed) {
+			++sectionStatistics.failures;
+		}
+		sectionStatistics = null;
+	}
+
+	public void endSheet(final SheetEvent event) {
+		event.end();
+		final long nanos = System.nanoTime() - event.startNanos;
+		event.allocated = RenderEvents.getAllocatedBytes() - event.startAllocated;
+		event.pages = document.getNumberOfPages() - event.startPages;
+		event.commit();
+
+		sheetStatistics.nanos += nanos;
+		sheetStatistics.allocated += event.allocated;
+		if (event.failed) {
+			++sheetStatistics.failures;
+		}
+		sheetStatistics = null;
+		sectionStatistics = null;
+	}
+
+	/**
+	 * The zone armor and encumbrance of the armor sets of the hero, which are computed once per document and hero
+	 */
+	public ArmorMatrix getArmorMatrix(final JSONObject hero) {
+		if (armor == null || armor.hero != hero) {
+			final long start = System.nanoTime();
+			armor = new ArmorMatrix(hero);
+			addTiming("Rüstungsmatrix", System.nanoTime() - start);
+		}
+		return armor;
+	}
+
+	/**
+	 * The number of requirement texts that were reused within the document
+	 */
+	public int getRequirementStringHits() {
+		return requirementStringHits;
+	}
+
+	/**
+	 * The number of requirement texts that had to be built
+	 */
+	public int getRequirementStringMisses() {
+		return requirementStringMisses;
+	}
+
+	/**
+	 * The index of the special skills of the hero, which is built once per document and hero
+	 */
+	public SpecialSkillIndex getSpecialSkillIndex(final JSONObject hero) {
+		if (specialSkills == null || specialSkills.hero != hero) {
+			final long start = System.nanoTime();
+			specialSkills = new SpecialSkillIndex(hero, resources.getSpecialSkills());
+			addTiming("Sonderfertigkeitenindex", System.nanoTime() - start);
+		}
+		return specialSkills;
+	}
+
+	private Statistics getStatistics(final String sheet, final String section) {
+		return statistics.computeIfAbsent(sheet + '\n' + (section != null ? section : ""), _ -> new Statistics(sheet, section));
+	}
+
+	/**
+	 * A table of the time and allocation of each sheet and each of its sections, with the sections indented below their sheet
+	 */
+	public String getStatisticsTable() {
+		long total = 0;
+		for (final Statistics entry : statistics.values()) {
+			if (entry.section == null) {
+				total += entry.nanos;
+			}
+		}
+
+		final StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-40s %10s %7s %12s %8s %6s%n", "Bogen/Abschnitt", "Zeit", "Anteil",
+				"Allokiert", "Tabellen", "Fehler"));
+		for (final Statistics entry : statistics.values()) {
+			final String name = entry.section == null ? String.valueOf(entry.sheet) : "  " + entry.section;
+			table.append(String.format(Locale.ROOT, "%-40s %7.2f ms %5.1f %% %9d kB %8d %6d%n", name.length() > 40 ? name.substring(0, 40) : name,
+					entry.nanos / 1e6, 100.0 * entry.nanos / Math.max(1, total), entry.allocated / 1024, entry.tables, entry.failures));
+		}
+		return table.toString();
+	}
+
+	/**
+	 * Renders the table like {@link Table#render(PDDocument, float, float, float, float, float)} and records it for the current sheet and section
+	 */
+	public float render(final Table table, final float width, final float left, final float top, final float paddingTop, final float paddingBottom)
+			throws IOException {
+		final TableRenderEvent event = new TableRenderEvent();
+		event.begin();
+		final int pages = document.getNumberOfPages();
+		try {
+			return table.render(document, width, left, top, paddingTop, paddingBottom);
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.sheet = sheetStatistics != null ? sheetStatistics.sheet : null;
+				event.section = sectionStatistics != null ? sectionStatistics.section : null;
+				event.rows = table.getNumRows();
+				event.pages = document.getNumberOfPages() - pages;
+				event.commit();
+			}
+			if (sheetStatistics != null) {
+				++sheetStatistics.tables;
+			}
+			if (sectionStatistics != null) {
+				++sectionStatistics.tables;
+			}
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The events of creating documents for the JDK Flight Recorder, which can be started e.g. with -XX:StartFlightRecording or jcmd &lt;pid&gt; JFR.start.
+ * Sections and tables carry the names of their sheet and section, so that slow parts can be found for a single hero without a profiler.
+ */
+public class RenderEvents {
+
+	@Name("charactersheet.DocumentSetup")
+	@Label("Dokument vorbereiten")
+	@Description("Laden der Schriften und Vorbereiten eines Dokuments")
+	@Category({ "DSATool", "Heldenbogen" })
+	@StackTrace(false)
+	public static class DocumentSetupEvent extends Event {
+		@Label("Allokiert")
+		@DataAmount
+		public long allocated;
+	}
+
+	@Name("charactersheet.ImageEmbedding")
+	@Label("Bild einbetten")
+	@Category({ "DSATool", "Heldenbogen" })
+	@StackTrace(false)
+	public static class ImageEmbeddingEvent extends Event {
+		@Label("Datei")
+		public String file;
+
+		@Label("Breite")
+		public float width;
+
+		@Label("Wiederverwendet")
+		public boolean reused;
+
+		@Label("Größe")
+		@DataAmount
+		public long size;
+	}
+
+	@Name("charactersheet.Section")
+	@Label("Abschnitt erstellen")
+	@Category({ "DSATool", "Heldenbogen" })
+	@StackTrace(false)
+	public static class SectionEvent extends Event {
+		@Label("Bogen")
+		public String sheet;
+
+		@Label("Abschnitt")
+		public String section;
+
+		@Label("Fehlgeschlagen")
+		public boolean failed;
+
+		@Label("Allokiert")
+		@DataAmount
+		public long allocated;
+
+		transient long startNanos;
+		transient long startAllocated;
+	}
+
+	@Name("charactersheet.Sheet")
+	@Label("Bogen erstellen")
+	@Category({ "DSATool", "Heldenbogen" })
+	@StackTrace(false)
+	public static class SheetEvent extends Event {
+		@Label("Bogen")
+		public String sheet;
+
+		@Label("Fehlgeschlagen")
+		public boolean failed;
+
+		@Label("Seiten")
+		public int pages;
+
+		@Label("Allokiert")
+		@DataAmount
+		public long allocated;
+
+		transient long startNanos;
+		transient long startAllocated;
+		transient int startPages;
+	}
+
+	@Name("charactersheet.TableRender")
+	@Label("Tabelle zeichnen")
+	@Category({ "DSATool", "Heldenbogen" })
+	@StackTrace(false)
+	public static class TableRenderEvent extends Event {
+		@Label("Bogen")
+		public String sheet;
+
+		@Label("Abschnitt")
+		public String section;
+
+		@Label("Zeilen")
+		public int rows;
+
+		@Label("Neue Seiten")
+		public int pages;
+	}
+
+	private static final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	/**
+	 * The number of bytes allocated by the current thread so far, or 0 if the virtual machine does not measure it
+	 */
+	public static long getAllocatedBytes() {
+		return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled() ? threads.getCurrentThreadAllocatedBytes() : 0;
+	}
+
+	private RenderEvents() {}
+}
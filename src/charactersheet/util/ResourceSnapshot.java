@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dsatool.resources.ResourceManager;
+import jsonant.value.JSONObject;
+
+/**
+ * Resolves each data resource only once while creating a document
+ */
+public class ResourceSnapshot {
+
+	private static final AtomicInteger generation = new AtomicInteger();
+
+	static {
+		ResourceManager.addPathListener("data/", _ -> generation.incrementAndGet());
+	}
+
+	/**
+	 * The number of times the data resources were changed so far
+	 */
+	public static int getGeneration() {
+		return generation.get();
+	}
+
+	private final Map<String, JSONObject> resources = new HashMap<>();
+	private int resourcesGeneration = generation.get();
+
+	private int hits = 0;
+	private int misses = 0;
+
+	public JSONObject get(final String path) {
+		final int currentGeneration = generation.get();
+		if (currentGeneration != resourcesGeneration) {
+			resources.clear();
+			resourcesGeneration = currentGeneration;
+		}
+
+		JSONObject resource = resources.get(path);
+		if (resource == null) {
+			++misses;
+			resource = ResourceManager.getResource(path);
+			resources.put(path, resource);
+		} else {
+			++hits;
+		}
+		return resource;
+	}
+
+	public JSONObject getAttributes() {
+		return get("data/Eigenschaften");
+	}
+
+	public JSONObject getBasicValues() {
+		return get("data/Basiswerte");
+	}
+
+	public int getHits() {
+		return hits;
+	}
+
+	public JSONObject getLiturgies() {
+		return get("data/Liturgien");
+	}
+
+	public int getMisses() {
+		return misses;
+	}
+
+	public JSONObject getProjectileTypes() {
+		return get("data/Geschosstypen");
+	}
+
+	public JSONObject getRepresentations() {
+		return get("data/Repraesentationen");
+	}
+
+	public JSONObject getRitualGroups() {
+		return get("data/Ritualgruppen");
+	}
+
+	public JSONObject getRituals() {
+		return get("data/Rituale");
+	}
+
+	public JSONObject getSpecialSkills() {
+		return get("data/Sonderfertigkeiten");
+	}
+
+	public JSONObject getSpells() {
+		return get("data/Zauber");
+	}
+
+	public JSONObject getSpontaneousModifications() {
+		return get("data/Spontane_Modifikationen");
+	}
+
+	public JSONObject getTalentGroups() {
+		return get("data/Talentgruppen");
+	}
+
+	public JSONObject getTalents() {
+		return get("data/Talente");
+	}
+
+	public JSONObject getTargetObjects() {
+		return get("data/Zielobjekte");
+	}
+
+	public JSONObject getTraits() {
+		return get("data/Merkmale");
+	}
+}
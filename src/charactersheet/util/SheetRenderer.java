@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+
+import charactersheet.sheets.Sheet;
+import charactersheet.util.RenderEvents.SheetEvent;
+import dsatool.util.ErrorLogger;
+
+public class SheetRenderer {
+
+	/**
+	 * Creates the document and returns its render context for statistics
+	 */
+	public static RenderContext create(final File file, final List<? extends Sheet> sheets, final boolean fill, final boolean fillAll, final boolean showName,
+			final boolean showDate, final boolean lowMemory) throws IOException {
+		try (final PDDocument document = createDocument(lowMemory)) {
+			final RenderContext context = new RenderContext(document);
+			createSheets(document, context, sheets, fill, fillAll, showName, showDate, null);
+			document.save(file);
+			return context;
+		}
+	}
+
+	/**
+	 * Creates an empty document. In low memory mode, the contents of the document are buffered in temporary files instead of the heap until it is saved.
+	 */
+	public static PDDocument createDocument(final boolean lowMemory) {
+		return new PDDocument(getStreamCache(lowMemory));
+	}
+
+	/**
+	 * Adds the sheets to the document and returns whether all of them could be created without errors.
+	 * The progress (if any) is notified before each sheet; interrupting the thread aborts between two sheets.
+	 */
+	public static boolean createSheets(final PDDocument document, final RenderContext context, final List<? extends Sheet> sheets, final boolean fill,
+			final boolean fillAll, final boolean showName, final boolean showDate, final Consumer<Sheet> progress) throws InterruptedIOException {
+		Logger.getLogger("org.apache").setLevel(Level.SEVERE);
+
+		boolean success = true;
+		if (document.getDocumentCatalog().getDocumentOutline() == null) {
+			document.getDocumentCatalog().setDocumentOutline(new PDDocumentOutline());
+		}
+		for (final Sheet sheet : sheets) {
+			if (Thread.currentThread().isInterrupted()) throw new InterruptedIOException("Erstellung abgebrochen");
+			if (progress != null) {
+				progress.accept(sheet);
+			}
+			sheet.setFill(fill, fillAll);
+			sheet.setShowNameAndDate(showName, showDate);
+			final SheetEvent event = context.beginSheet(sheet.toString());
+			try {
+				sheet.create(document, context);
+			} catch (final Exception e) {
+				event.failed = true;
+				ErrorLogger.logError(e);
+				success = false;
+			} finally {
+				context.endSheet(event);
+			}
+		}
+		return success;
+	}
+
+	/**
+	 * The buffer for the contents of documents, which uses temporary files instead of the heap in low memory mode
+	 */
+	public static StreamCacheCreateFunction getStreamCache(final boolean lowMemory) {
+		return lowMemory ? IOUtils.createTempFileOnlyStreamCache() : IOUtils.createMemoryOnlyStreamCache();
+	}
+
+	private SheetRenderer() {}
+}
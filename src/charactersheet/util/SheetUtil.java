@@ -17,17 +17,21 @@ package charactersheet.util;
 
 import java.awt.Color;
 import java.io.IOException;
-import java.text.Collator;
-import java.text.DecimalFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Locale;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceStream;
 
 import boxtable.cell.Cell;
 import boxtable.cell.TextCell;
@@ -37,11 +41,8 @@ import boxtable.common.HAlign;
 import boxtable.event.TableEvent;
 import boxtable.table.Column;
 import boxtable.table.Table;
-import dsa41basis.util.HeroUtil;
-import dsatool.resources.ResourceManager;
 import dsatool.util.ErrorLogger;
 import dsatool.util.StringUtil;
-import dsatool.util.Util;
 import jsonant.value.JSONArray;
 import jsonant.value.JSONObject;
 
@@ -57,14 +58,35 @@ public class SheetUtil {
 		}
 	}
 
-	public static final Collator comparator = Collator.getInstance(Locale.GERMANY);
+	static class RequirementKey {
+		private final JSONObject requirements;
+		private final String choice;
+		private final String text;
 
-	public static DecimalFormat threeDecimalPlacesSigned = new DecimalFormat("+#.###;-#.###", Util.decimalFormatSymbols);
+		private RequirementKey(final JSONObject requirements, final JSONObject base) {
+			this.requirements = requirements;
+			choice = base != null && base.getUnsafe("Auswahl") instanceof final String baseChoice ? baseChoice : null;
+			text = base != null && base.getUnsafe("Freitext") instanceof final String baseText ? baseText : null;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof final RequirementKey other && requirements == other.requirements && Objects.equals(choice, other.choice)
+					&& Objects.equals(text, other.text);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(requirements), choice, text);
+		}
+	}
+
+	public static final Comparator<String> comparator = CollationKeys.comparator;
 
 	public static PDRectangle landscape = new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth());
 
-	public static void addTitle(final Table table, final String text) {
-		table.addRow(SheetUtil.createTitleCell(text, table.getNumColumns()));
+	public static void addTitle(final RenderContext context, final Table table, final String text) {
+		table.addRow(SheetUtil.createTitleCell(context, text, table.getNumColumns()));
 	}
 
 	private static void appendModifiedRequirement(final StringBuilder result, final JSONObject skill, final String requirement) {
@@ -140,134 +162,41 @@ public class SheetUtil {
 		stream.stroke();
 	}
 
-	public static Consumer<TableEvent> createHeader(final String header, final boolean includeNameLine, final boolean includeAttributesLine,
-			final boolean includeBasicValuesLine, final JSONObject hero, final boolean fill, final boolean fillAll, final boolean showName,
-			final boolean showDate) {
+	/**
+	 * Creates a page header that is drawn once per page size into a form and then only stamped onto each page
+	 */
+	public static Consumer<TableEvent> createHeader(final RenderContext context, final String header, final boolean includeNameLine,
+			final boolean includeAttributesLine, final boolean includeBasicValuesLine, final JSONObject hero, final boolean fill, final boolean fillAll,
+			final boolean showName, final boolean showDate) {
+		final Map<String, PDFormXObject> forms = new HashMap<>();
 		return event -> {
-			final PDPageContentStream stream = event.getStream();
-			final boolean landscape = event.getWidth() == PDRectangle.A4.getHeight();
-
-			if (header != null) {
-				try {
-					final PDFont font = FontManager.serif;
-					final float fontSize = 40;
-					stream.setNonStrokingColor(Color.BLACK);
-					stream.setFont(font, fontSize);
-					final float xStart = (event.getWidth() - font.getStringWidth(header) / 1000 * fontSize) * 0.5f;
-					final float yStart = event.getHeight() - 10
-							- (font.getFontDescriptor().getAscent() + font.getFontDescriptor().getDescent()) / 1000 * fontSize;
-					stream.beginText();
-					stream.newLineAtOffset(xStart, yStart);
-					stream.showText(header);
-					stream.endText();
-				} catch (final IOException e) {
-					ErrorLogger.logError(e);
-				}
-			}
-
-			if (showName || showDate) {
-				try {
-					final PDFont font = FontManager.serif;
-					final float fontSize = 6;
-					stream.setFont(font, fontSize);
-					final float xStart = 13;
-					final float yStart = 3;
-					stream.beginText();
-					stream.newLineAtOffset(xStart, yStart);
-					if (showName) {
-						String name = "Leerer Bogen";
-						if (hero != null) {
-							name = hero.getObj("Biografie").getStringOrDefault("Vorname", "");
-						}
-						stream.showText(name);
-						if (showDate) {
-							stream.showText(" - ");
-						}
-					}
-					if (showDate) {
-						stream.showText(LocalDate.now().format(DateTimeFormatter.ofPattern("dd.MM.uuuu")));
-					}
-					stream.endText();
-				} catch (final IOException e) {
-					ErrorLogger.logError(e);
-				}
-			}
-
-			if (includeNameLine) {
-				final Table table = new Table().setBorder(0, 0, 0, 0);
-				final float lineWidth = landscape ? 245 : 571;
-				table.addColumn(new Column(lineWidth, lineWidth, FontManager.serif, 4, 10.5f, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
-				final JSONObject bio = hero != null ? hero.getObj("Biografie") : null;
-				table.addRow("Name: " + (hero != null && fill ? bio.getStringOrDefault("Vorname", "") + " " + bio.getStringOrDefault("Nachname", "") : ""));
-				try {
-					table.renderRows(event.getDocument(), stream, 0, -1, lineWidth, 12, event.getHeight() - (landscape ? 41 : 36));
+			final String size = event.getWidth() + "x" + event.getHeight();
+			PDFormXObject form = forms.get(size);
+			if (form == null) {
+				final PDFormXObject newForm = new PDFormXObject(event.getDocument());
+				newForm.setBBox(new PDRectangle(event.getWidth(), event.getHeight()));
+				newForm.setResources(new PDResources());
+				// PDPageContentStream, which the table events need, can only write forms through an appearance stream view of them
+				try (final PDPageContentStream stream = new PDPageContentStream(event.getDocument(), new PDAppearanceStream(newForm.getCOSObject()))) {
+					drawHeader(context, new TableEvent(event.getDocument(), stream, event.getLeft(), event.getTop(), event.getWidth(), event.getHeight()),
+							header, includeNameLine, includeAttributesLine, includeBasicValuesLine, hero, fill, fillAll, showName, showDate);
 				} catch (final IOException e) {
 					ErrorLogger.logError(e);
+					return;
 				}
+				form = newForm;
+				forms.put(size, form);
 			}
-			if (includeAttributesLine) {
-				final JSONObject attributes = ResourceManager.getResource("data/Eigenschaften");
-				final int numAttributes = attributes.size() + 1;
-				final Table table = new Table().setBorder(0, 0, 0, 0);
-				for (int i = 0; i < numAttributes; ++i) {
-					table.addColumn(new Column(285.5f / numAttributes, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
-					table.addColumn(new Column(285.5f / numAttributes, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
-				}
-				final JSONObject actualAttributes = hero != null && fill ? hero.getObj("Eigenschaften") : null;
-				for (final String attribute : attributes.keySet()) {
-					table.addCells(attribute, actualAttributes != null ? HeroUtil.getCurrentValue(actualAttributes.getObj(attribute), false) : " ");
-				}
-				table.addCells("BE", hero != null && fill ? HeroUtil.getBE(hero) : " ");
-				try {
-					if (landscape) {
-						table.renderRows(event.getDocument(), stream, 0, -1, 571, 259, event.getHeight() - 41);
-					} else {
-						table.renderRows(event.getDocument(), stream, 0, -1, 571, 12, event.getHeight() - (includeNameLine ? 54 : 41));
-					}
-				} catch (final IOException e) {
-					ErrorLogger.logError(e);
-				}
-			}
-			if (includeBasicValuesLine) {
-				final Table table = new Table().setBorder(0, 0, 0, 0);
-				for (int i = 0; i < 5; ++i) {
-					table.addColumn(new Column(80, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
-					table.addColumn(new Column(30, FontManager.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
-				}
-				table.addColumn(new Column(21, FontManager.serif, 7, HAlign.RIGHT).setBorder(0, 0, 0, 0));
-
-				final JSONObject baseValues = hero != null && fill ? hero.getObj("Basiswerte") : null;
-				final JSONObject derivedValues = ResourceManager.getResource("data/Basiswerte");
-				for (final String value : new String[] { "Attacke-Basis", "Parade-Basis", "Fernkampf-Basis", "Wundschwelle", "Initiative-Basis" }) {
-					table.addCells(value, baseValues != null ? HeroUtil.deriveValue(derivedValues.getObj(value), hero, baseValues.getObj(value), false) : " ");
-				}
-				table.addCells(new TextCell("+4\n+2").setPadding(0, 0, 4, -3));
-
-				final int left = landscape ? 259 : 12;
-				final int top = landscape || !includeNameLine ? 41 : 54;
-				try {
-					table.renderRows(event.getDocument(), stream, 0, -1, 571, left, event.getHeight() - top);
-					drawChoiceBox(stream, left + 553, event.getHeight() - top, 5.75f);
-					drawChoiceBox(stream, left + 553, event.getHeight() - top - 6.75f, 5.75f);
-					if (hero != null && fill) {
-						final JSONObject skills = hero.getObj("Sonderfertigkeiten");
-						if (skills.containsKey("Kampfreflexe")) {
-							checkChoiceBox(stream, left + 553, event.getHeight() - top, 5.75f);
-						}
-						if (skills.containsKey("Kampfgespür")) {
-							checkChoiceBox(stream, left + 553, event.getHeight() - top - 6.75f, 5.75f);
-						}
-					}
-				} catch (final IOException e) {
-					ErrorLogger.logError(e);
-				}
+			try {
+				event.getStream().drawForm(form);
+			} catch (final IOException e) {
+				ErrorLogger.logError(e);
 			}
 		};
-
 	}
 
-	public static Cell createTitleCell(final String text, final int colSpan) {
-		return new TextCell(text, FontManager.serifBold, 9, 9).setBackground(new Color(0.9f, 0.9f, 0.9f)).setColSpan(colSpan);
+	public static Cell createTitleCell(final RenderContext context, final String text, final int colSpan) {
+		return new TextCell(text, context.serifBold, 9, 9).setBackground(new Color(0.9f, 0.9f, 0.9f)).setColSpan(colSpan);
 	}
 
 	public static void drawChoiceBox(final PDPageContentStream stream, final float left, final float top) throws IOException {
@@ -285,6 +214,129 @@ public class SheetUtil {
 		stream.stroke();
 	}
 
+	private static void drawHeader(final RenderContext context, final TableEvent event, final String header, final boolean includeNameLine,
+			final boolean includeAttributesLine, final boolean includeBasicValuesLine, final JSONObject hero, final boolean fill, final boolean fillAll,
+			final boolean showName, final boolean showDate) {
+		final PDPageContentStream stream = event.getStream();
+		final boolean landscape = event.getWidth() == PDRectangle.A4.getHeight();
+
+		if (header != null) {
+			try {
+				final PDFont font = context.serif;
+				final float fontSize = 40;
+				stream.setNonStrokingColor(Color.BLACK);
+				stream.setFont(font, fontSize);
+				final float xStart = (event.getWidth() - context.measurer.getStringWidth(font, header, fontSize)) * 0.5f;
+				final float yStart = event.getHeight() - 10
+						- (font.getFontDescriptor().getAscent() + font.getFontDescriptor().getDescent()) / 1000 * fontSize;
+				stream.beginText();
+				stream.newLineAtOffset(xStart, yStart);
+				stream.showText(header);
+				stream.endText();
+			} catch (final IOException e) {
+				ErrorLogger.logError(e);
+			}
+		}
+
+		if (showName || showDate) {
+			try {
+				final PDFont font = context.serif;
+				final float fontSize = 6;
+				stream.setFont(font, fontSize);
+				final float xStart = 13;
+				final float yStart = 3;
+				stream.beginText();
+				stream.newLineAtOffset(xStart, yStart);
+				if (showName) {
+					String name = "Leerer Bogen";
+					if (hero != null) {
+						name = hero.getObj("Biografie").getStringOrDefault("Vorname", "");
+					}
+					stream.showText(name);
+					if (showDate) {
+						stream.showText(" - ");
+					}
+				}
+				if (showDate) {
+					stream.showText(LocalDate.now().format(DateTimeFormatter.ofPattern("dd.MM.uuuu")));
+				}
+				stream.endText();
+			} catch (final IOException e) {
+				ErrorLogger.logError(e);
+			}
+		}
+
+		if (includeNameLine) {
+			final Table table = new Table().setBorder(0, 0, 0, 0);
+			final float lineWidth = landscape ? 245 : 571;
+			table.addColumn(new Column(lineWidth, lineWidth, context.serif, 4, 10.5f, HAlign.LEFT).setBorder(0, 0, 0, 0.5f));
+			final JSONObject bio = hero != null ? hero.getObj("Biografie") : null;
+			table.addRow("Name: " + (hero != null && fill ? bio.getStringOrDefault("Vorname", "") + " " + bio.getStringOrDefault("Nachname", "") : ""));
+			try {
+				table.renderRows(event.getDocument(), stream, 0, -1, lineWidth, 12, event.getHeight() - (landscape ? 41 : 36));
+			} catch (final IOException e) {
+				ErrorLogger.logError(e);
+			}
+		}
+		if (includeAttributesLine) {
+			final JSONObject attributes = context.resources.getAttributes();
+			final int numAttributes = attributes.size() + 1;
+			final Table table = new Table().setBorder(0, 0, 0, 0);
+			for (int i = 0; i < numAttributes; ++i) {
+				table.addColumn(new Column(285.5f / numAttributes, context.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
+				table.addColumn(new Column(285.5f / numAttributes, context.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
+			}
+			final JSONObject actualAttributes = hero != null && fill ? hero.getObj("Eigenschaften") : null;
+			for (final String attribute : attributes.keySet()) {
+				table.addCells(attribute, actualAttributes != null ? context.heroValues.getCurrentValue(actualAttributes.getObj(attribute), false) : " ");
+			}
+			table.addCells("BE", hero != null && fill ? context.getArmorMatrix(hero).getBE() : " ");
+			try {
+				if (landscape) {
+					table.renderRows(event.getDocument(), stream, 0, -1, 571, 259, event.getHeight() - 41);
+				} else {
+					table.renderRows(event.getDocument(), stream, 0, -1, 571, 12, event.getHeight() - (includeNameLine ? 54 : 41));
+				}
+			} catch (final IOException e) {
+				ErrorLogger.logError(e);
+			}
+		}
+		if (includeBasicValuesLine) {
+			final Table table = new Table().setBorder(0, 0, 0, 0);
+			for (int i = 0; i < 5; ++i) {
+				table.addColumn(new Column(80, context.serif, 10.5f, HAlign.CENTER).setBorder(0, 0, 0, 0));
+				table.addColumn(new Column(30, context.serif, 10.5f, HAlign.CENTER).setBorder(0.5f, 0.5f, 0.5f, 0.5f));
+			}
+			table.addColumn(new Column(21, context.serif, 7, HAlign.RIGHT).setBorder(0, 0, 0, 0));
+
+			final JSONObject baseValues = hero != null && fill ? hero.getObj("Basiswerte") : null;
+			final JSONObject derivedValues = context.resources.getBasicValues();
+			for (final String value : new String[] { "Attacke-Basis", "Parade-Basis", "Fernkampf-Basis", "Wundschwelle", "Initiative-Basis" }) {
+				table.addCells(value, baseValues != null ? context.heroValues.deriveValue(derivedValues.getObj(value), hero, baseValues.getObj(value), false) : " ");
+			}
+			table.addCells(new TextCell("+4\n+2").setPadding(0, 0, 4, -3));
+
+			final int left = landscape ? 259 : 12;
+			final int top = landscape || !includeNameLine ? 41 : 54;
+			try {
+				table.renderRows(event.getDocument(), stream, 0, -1, 571, left, event.getHeight() - top);
+				drawChoiceBox(stream, left + 553, event.getHeight() - top, 5.75f);
+				drawChoiceBox(stream, left + 553, event.getHeight() - top - 6.75f, 5.75f);
+				if (hero != null && fill) {
+					final JSONObject skills = hero.getObj("Sonderfertigkeiten");
+					if (skills.containsKey("Kampfreflexe")) {
+						checkChoiceBox(stream, left + 553, event.getHeight() - top, 5.75f);
+					}
+					if (skills.containsKey("Kampfgespür")) {
+						checkChoiceBox(stream, left + 553, event.getHeight() - top - 6.75f, 5.75f);
+					}
+				}
+			} catch (final IOException e) {
+				ErrorLogger.logError(e);
+			}
+		}
+	}
+
 	public static String getCultureString(final JSONObject bio) {
 		final StringBuilder cultureString = new StringBuilder(bio.getStringOrDefault("Kultur", ""));
 		if (bio.containsKey("Kultur:Modifikation")) {
@@ -308,7 +360,26 @@ public class SheetUtil {
 		return raceString.toString();
 	}
 
-	public static String getRequirementString(final JSONObject requirements, final JSONObject base) {
+	/**
+	 * The requirements as text, where requirements on the choice or free text are replaced by those of the base.
+	 * The text is kept for the requirements object and the choice and free text of the base as long as the render context, i.e. for one document.
+	 */
+	public static String getRequirementString(final RenderContext context, final JSONObject requirements, final JSONObject base) {
+		if (requirements == null) return "";
+
+		final RequirementKey key = new RequirementKey(requirements, base);
+		String result = context.requirementStrings.get(key);
+		if (result == null) {
+			++context.requirementStringMisses;
+			result = getRequirementStringUncached(requirements, base);
+			context.requirementStrings.put(key, result);
+		} else {
+			++context.requirementStringHits;
+		}
+		return result;
+	}
+
+	private static String getRequirementStringUncached(final JSONObject requirements, final JSONObject base) {
 		if (requirements == null) return "";
 		if (requirements.containsKey("Ersatztext")) return requirements.getString("Ersatztext");
 		boolean first = true;
@@ -321,7 +392,7 @@ public class SheetUtil {
 				} else {
 					result.append(", ");
 				}
-				result.append(StringUtil.mkStringObj(choices.getArr(i), " o. ", choice -> getRequirementString(choice, base)));
+				result.append(StringUtil.mkStringObj(choices.getArr(i), " o. ", choice -> getRequirementStringUncached(choice, base)));
 			}
 		}
 		if (requirements.containsKey("Eigenschaften")) {
@@ -617,8 +688,8 @@ public class SheetUtil {
 		return result.toString();
 	}
 
-	public static String getTargetObjectsString(final JSONArray actualTargets) {
-		final JSONObject targets = ResourceManager.getResource("data/Zielobjekte");
+	public static String getTargetObjectsString(final RenderContext context, final JSONArray actualTargets) {
+		final JSONObject targets = context.resources.getTargetObjects();
 		if (actualTargets != null)
 			return StringUtil.mkString(targets.keySet(), " ", targetName -> StringUtil.mkStringString(actualTargets, " ",
 					actualName -> targetName.equals(actualName) ? targets.getObj(targetName).getStringOrDefault("Abkürzung", "") : ""));
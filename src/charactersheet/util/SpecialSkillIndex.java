@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jsonant.value.JSONArray;
+import jsonant.value.JSONObject;
+
+/**
+ * Indexes the special skills of a hero by name and choice, so that a cheaper skill can be matched with the learned one without scanning all of them
+ */
+public class SpecialSkillIndex {
+
+	final JSONObject hero;
+
+	private final Map<String, JSONObject> definitions = new HashMap<>();
+	private final Map<String, Map<String, JSONObject>> learned = new HashMap<>();
+
+	public SpecialSkillIndex(final JSONObject hero, final JSONObject specialSkills) {
+		this.hero = hero;
+
+		for (final String groupName : specialSkills.keySet()) {
+			final JSONObject group = specialSkills.getObj(groupName);
+			for (final String skillName : group.keySet()) {
+				definitions.put(skillName, group.getObj(skillName));
+			}
+		}
+
+		if (hero == null) return;
+
+		final JSONObject actualSkills = hero.getObj("Sonderfertigkeiten");
+		for (final String skillName : actualSkills.keySet()) {
+			if (actualSkills.getUnsafe(skillName) instanceof final JSONArray choiceSkills) {
+				final JSONObject skill = definitions.get(skillName);
+				final Map<String, JSONObject> choices = learned.computeIfAbsent(skillName, _ -> new HashMap<>());
+				for (int i = 0; i < choiceSkills.size(); ++i) {
+					final JSONObject actualSkill = choiceSkills.getObj(i);
+					final JSONObject choiceSource = skill != null ? skill : actualSkill;
+					if (choiceSource.containsKey("Auswahl")) {
+						choices.putIfAbsent("Auswahl:" + actualSkill.getString("Auswahl"), actualSkill);
+					}
+					if (choiceSource.containsKey("Freitext")) {
+						choices.putIfAbsent("Freitext:" + actualSkill.getString("Freitext"), actualSkill);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The definition of a special skill from the first group containing it, or null if it is no special skill
+	 */
+	public JSONObject getDefinition(final String skillName) {
+		return definitions.get(skillName);
+	}
+
+	/**
+	 * The learned instance of a special skill with the same choice or the same free text as the given instance, or null if there is none
+	 */
+	public JSONObject getLearned(final String skillName, final JSONObject skill, final JSONObject actualSkill) {
+		final Map<String, JSONObject> choices = learned.get(skillName);
+		if (choices == null) return null;
+
+		final JSONObject choiceSource = skill != null ? skill : actualSkill;
+		JSONObject learnedSkill = null;
+		if (choiceSource.containsKey("Auswahl")) {
+			learnedSkill = choices.get("Auswahl:" + actualSkill.getString("Auswahl"));
+		}
+		if (learnedSkill == null && choiceSource.containsKey("Freitext")) {
+			learnedSkill = choices.get("Freitext:" + actualSkill.getString("Freitext"));
+		}
+		return learnedSkill;
+	}
+}
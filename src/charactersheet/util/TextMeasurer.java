@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 DSATool team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package charactersheet.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+/**
+ * Measures text with the advance widths of the characters, which are looked up only once per font.
+ * The widths are equal to those of {@link PDFont#getStringWidth(String)}, in thousandths of the font size.
+ * Characters are only looked up when used, as looking up a character adds it to the embedded subset of the font.
+ */
+public class TextMeasurer {
+
+	private static class Advances {
+		private final float[] table = new float[TABLE_SIZE];
+		private final Map<Integer, Float> fallback = new HashMap<>();
+
+		private Advances() {
+			Arrays.fill(table, Float.NaN);
+		}
+	}
+
+	/**
+	 * Covers Latin-1 and Latin Extended-A, i.e. all letters of German texts
+	 */
+	private static final int TABLE_SIZE = 0x180;
+
+	private final Map<PDFont, Advances> fonts = new IdentityHashMap<>();
+
+	private int lookups = 0;
+
+	private float getAdvance(final PDFont font, final Advances advances, final int codePoint) throws IOException {
+		if (codePoint < TABLE_SIZE) {
+			float advance = advances.table[codePoint];
+			if (Float.isNaN(advance)) {
+				advance = lookUp(font, codePoint);
+				advances.table[codePoint] = advance;
+			}
+			return advance;
+		}
+		Float advance = advances.fallback.get(codePoint);
+		if (advance == null) {
+			advance = lookUp(font, codePoint);
+			advances.fallback.put(codePoint, advance);
+		}
+		return advance;
+	}
+
+	/**
+	 * The number of characters whose widths had to be looked up in the fonts
+	 */
+	public int getLookups() {
+		return lookups;
+	}
+
+	/**
+	 * The width of the text in thousandths of the font size
+	 */
+	public float getStringWidth(final PDFont font, final String text) throws IOException {
+		final Advances advances = fonts.computeIfAbsent(font, _ -> new Advances());
+		float width = 0;
+		for (int i = 0; i < text.length();) {
+			final int codePoint = text.codePointAt(i);
+			width += getAdvance(font, advances, codePoint);
+			i += Character.charCount(codePoint);
+		}
+		return width;
+	}
+
+	/**
+	 * The width of the text in the given font size
+	 */
+	public float getStringWidth(final PDFont font, final String text, final float fontSize) throws IOException {
+		return getStringWidth(font, text) / 1000 * fontSize;
+	}
+
+	private float lookUp(final PDFont font, final int codePoint) throws IOException {
+		++lookups;
+		return font.getStringWidth(new String(Character.toChars(codePoint)));
+	}
+}